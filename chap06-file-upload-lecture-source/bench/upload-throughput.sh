@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+#
+# 큰 파일 하나를 /multi-file (서블릿 multipart + transferTo) 과 /stream-file (스트리밍 파서 + FileChannel) 로
+# 각각 업로드해서 처리량과 애플리케이션 최대 메모리(VmHWM)를 비교한다.
+# 방식마다 애플리케이션을 새로 띄우므로 VmHWM 은 해당 업로드만의 최대값에 가깝다.
+#
+# 사용법
+#   ./gradlew bootJar && bench/upload-throughput.sh [크기(MB), 기본 1024]
+#
+# 크기와 동시 요청 수를 바꿔 가며 p99 응답 시간, 힙, 임시 디스크 사용량까지 재려면 ./gradlew uploadLoadTest 를,
+# HTTP 없이 저장 경로만 비교하려면 ./gradlew jmh 를 사용한다.
+#
+# 환경 변수
+#   PORT      애플리케이션 포트 (기본 18006)
+#   WORK_DIR  업로드 원본, 서블릿 임시 파일, 저장 파일을 둘 디렉토리 (기본 : mktemp -d)
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+SIZE_MB=${1:-1024}
+PORT=${PORT:-18006}
+WORK_DIR=${WORK_DIR:-$(mktemp -d)}
+
+JAR=$(ls build/libs/*.jar 2> /dev/null | grep -v -- '-plain.jar' | head -n 1 || true)
+if [[ -z "$JAR" ]]; then
+  echo "build/libs 에 실행 가능한 jar 가 없습니다. 먼저 ./gradlew bootJar 를 실행하세요." >&2
+  exit 1
+fi
+
+mkdir -p "$WORK_DIR/multipart-tmp" "$WORK_DIR/uploadFiles"
+SOURCE="$WORK_DIR/upload-source.bin"
+if [[ ! -f "$SOURCE" ]]; then
+  echo "${SIZE_MB}MB 업로드 원본 생성 중 ..."
+  head -c "$((SIZE_MB * 1024 * 1024))" /dev/urandom > "$SOURCE"
+fi
+
+measure() {
+  local mode=$1 path=$2 file_field=$3 desc_field=$4 log pid result hwm
+  log=$(mktemp)
+  java -jar "$JAR" --server.port="$PORT" \
+    --spring.servlet.multipart.location="$WORK_DIR/multipart-tmp" \
+    --spring.servlet.multipart.max-file-size=-1 \
+    --spring.servlet.multipart.max-request-size=-1 \
+    --file.upload.dir="$WORK_DIR/uploadFiles" > "$log" 2>&1 &
+  pid=$!
+
+  until grep -q "Started " "$log"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "애플리케이션 기동 실패:" >&2
+      cat "$log" >&2
+      return 1
+    fi
+    sleep 0.2
+  done
+
+  result=$(curl -s -o /dev/null -w '%{http_code} %{time_total} %{speed_upload}' \
+    -F "$file_field=@$SOURCE" -F "$desc_field=bench" "http://localhost:$PORT$path")
+  hwm=$(awk '/VmHWM/ { print $2 }' "/proc/$pid/status" 2> /dev/null || echo 0)
+
+  read -r code total speed <<< "$result"
+  printf '%-8s %6s %10.2f %12.1f %12.1f\n' "$mode" "$code" "$total" \
+    "$(echo "$speed / 1048576" | bc -l)" "$(echo "$hwm / 1024" | bc -l)"
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  rm -f "$log"
+  find "$WORK_DIR/uploadFiles" -mindepth 1 -delete
+}
+
+printf '%-8s %6s %10s %12s %12s\n' mode status "time(s)" "MB/s" "VmHWM(MB)"
+measure servlet /multi-file multiFile multiFileDescription
+measure stream /stream-file files fileDescription
+
+echo "작업 디렉토리 : $WORK_DIR"
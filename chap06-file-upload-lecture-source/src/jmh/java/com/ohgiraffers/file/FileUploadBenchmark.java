@@ -0,0 +1,169 @@
+package com.ohgiraffers.file;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * FileUploadController 의 /single-file, /multi-file 처리를 HTTP 없이 직접 호출해서 저장 경로만의 처리량을 잰다.
+ * 업로드 내용은 메모리의 MockMultipartFile 이라 서블릿 임시 파일 비용은 빠져 있다. 그 비용까지 보려면 UploadLoadDriver 를 쓴다.
+ * 후처리 파이프라인은 끈 상태로 만든다. 로그는 src/jmh/resources/logback.xml 에서 WARN 이상만 남겨 콘솔 출력이 측정에 섞이지 않게 한다.
+ *
+ * - bytes 보조 카운터가 초당 저장한 바이트 수이다. 1,048,576 으로 나누면 MB/s 이다.
+ * - gc 프로파일러가 켜져 있어 gc.alloc.rate.norm 으로 업로드 한 번에 할당한 바이트도 함께 출력된다.
+ * - 동시 업로드는 스레드 수로 바꾼다. 예 : ./gradlew jmh -PjmhThreads=8
+ *
+ * 실행 : ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileUploadBenchmark {
+
+    private static final int MULTI_FILE_COUNT = 4;
+
+    @Param({"1KB", "1MB", "32MB"})
+    public String size;
+
+    @Param({"local", "packed"})
+    public String backend;
+
+    private Path root;
+    private StorageBackend storageBackend;
+    private ThreadPoolTaskExecutor fileWriteExecutor;
+    private ThreadPoolTaskExecutor postUploadExecutor;
+    private FileUploadController sequentialController;
+    private FileUploadController parallelController;
+
+    private MultipartFile singleFile;
+    private List<MultipartFile> multiFile;
+    private long multiFileBytes;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        byte[] content = new byte[(int) DataSize.parse(size).toBytes()];
+        new Random(42).nextBytes(content);
+
+        singleFile = new MockMultipartFile("singleFile", "bench.jpg", "image/jpeg", content);
+        multiFile = new ArrayList<>(MULTI_FILE_COUNT);
+        for (int i = 0; i < MULTI_FILE_COUNT; i++) {
+            multiFile.add(new MockMultipartFile("multiFile", "bench-" + i + ".jpg", "image/jpeg", content));
+        }
+        multiFileBytes = (long) content.length * MULTI_FILE_COUNT;
+
+        fileWriteExecutor = executor("bench-write-");
+        postUploadExecutor = executor("bench-post-");
+    }
+
+    /* 반복(iteration)마다 빈 디렉토리에서 시작해서 앞 반복에서 쌓인 파일 수가 결과에 영향을 주지 않게 한다. */
+    @Setup(Level.Iteration)
+    public void setUpIteration() throws IOException {
+        root = Files.createTempDirectory("upload-bench-");
+        storageBackend = switch (backend) {
+            case "local" -> new LocalShardedStorageBackend(root);
+            case "packed" -> new PackedSegmentStorageBackend(root, new LocalShardedStorageBackend(root),
+                DataSize.ofMegabytes(1).toBytes(), DataSize.ofMegabytes(256).toBytes(), false);
+            default -> throw new IllegalArgumentException(backend);
+        };
+
+        FileRegistry fileRegistry = new FileRegistry(root.toString());
+        ContentAddressedStore contentAddressedStore = new ContentAddressedStore(root.toString(), fileRegistry,
+            storageBackend);
+        PostUploadPipeline postUploadPipeline = new PostUploadPipeline(List.of(), postUploadExecutor, storageBackend,
+            contentAddressedStore, new SimpleMeterRegistry(), false, 0);
+        StagedFileWriter stagedFileWriter = new StagedFileWriter(storageBackend, fileWriteExecutor);
+
+        sequentialController = new FileUploadController(storageBackend, stagedFileWriter, contentAddressedStore,
+            fileRegistry, postUploadPipeline, root.toString(), "sequential", "uuid");
+        parallelController = new FileUploadController(storageBackend, stagedFileWriter, contentAddressedStore,
+            fileRegistry, postUploadPipeline, root.toString(), "parallel", "uuid");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() throws IOException {
+        if (storageBackend instanceof PackedSegmentStorageBackend packed) {
+            packed.close();
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        fileWriteExecutor.shutdown();
+        postUploadExecutor.shutdown();
+    }
+
+    @Benchmark
+    public String singleFile(Bytes bytes) {
+        bytes.bytes += singleFile.getSize();
+        return sequentialController.singleFileUpload("bench", singleFile, new ExtendedModelMap());
+    }
+
+    @Benchmark
+    public String multiFileSequential(Bytes bytes) {
+        bytes.bytes += multiFileBytes;
+        return sequentialController.multiFileUpload("bench", multiFile, new ExtendedModelMap());
+    }
+
+    @Benchmark
+    public String multiFileParallel(Bytes bytes) {
+        bytes.bytes += multiFileBytes;
+        return parallelController.multiFileUpload("bench", multiFile, new ExtendedModelMap());
+    }
+
+    private static ThreadPoolTaskExecutor executor(String prefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(64);
+        executor.initialize();
+        return executor;
+    }
+
+    /* 저장한 바이트 수. JMH 가 측정 시간으로 나눠 초당 값으로 출력한다. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+}
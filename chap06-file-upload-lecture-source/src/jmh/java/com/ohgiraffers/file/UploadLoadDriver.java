@@ -0,0 +1,360 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 실행 중인 chap06 애플리케이션의 /single-file, /multi-file 에 실제 HTTP 업로드 부하를 주고 결과를 표로 출력한다.
+ *
+ * 파일 크기 × 엔드포인트 × 동시 요청 수의 조합마다 다음을 잰다.
+ * <pre>
+ * MB/s        전송한 업로드 바이트 / 걸린 시간
+ * p50, p99    요청 하나의 응답 시간(ms)
+ * heap(MB)    실행 중 /actuator/metrics/jvm.memory.used?tag=area:heap 의 최대값
+ * temp(MB)    실행 중 temp-dir(서블릿 multipart 임시 디렉토리) 크기의 최대값
+ * stored(MB)  실행 전후 upload-dir 크기의 차이
+ * </pre>
+ * 업로드 원본은 work-dir 에 크기별로 한 번만 만들고, 요청 본문은 그 파일에서 바로 읽어 보내므로 1GB 파일도 메모리를 거의 쓰지 않는다.
+ *
+ * <pre>
+ * java -jar build/libs/file-0.0.1-SNAPSHOT.jar \
+ *   --spring.servlet.multipart.max-file-size=-1 --spring.servlet.multipart.max-request-size=-1 \
+ *   --spring.servlet.multipart.location=/tmp/upload-bench/multipart --file.upload.dir=/tmp/upload-bench/uploads
+ *
+ * ./gradlew uploadLoadTest -PloadArgs="sizes=1KB,1MB,100MB,1GB concurrency=1,4,16 \
+ *   temp-dir=/tmp/upload-bench/multipart upload-dir=/tmp/upload-bench/uploads csv=build/upload-load.csv"
+ * </pre>
+ *
+ * 인자 (key=value)
+ * <pre>
+ * base-url           기본 http://localhost:8080
+ * sizes              기본 1KB,1MB,100MB,1GB
+ * endpoints          기본 single,multi
+ * concurrency        기본 1,4,16
+ * requests           조합마다 보낼 요청 수 (기본 32). 조합마다 max-bytes 를 넘지 않도록 줄인다 (최소 동시 요청 수만큼)
+ * max-bytes          조합 하나에서 보낼 최대 바이트 (기본 8GB)
+ * multi-files        /multi-file 요청 하나에 담을 파일 수 (기본 4, 파일마다 size 바이트)
+ * work-dir           업로드 원본을 만들 디렉토리 (기본 build/upload-load)
+ * temp-dir           서블릿 multipart 임시 디렉토리 (지정하지 않으면 temp(MB) 는 - )
+ * upload-dir         file.upload.dir (지정하지 않으면 stored(MB) 는 - )
+ * csv                결과를 CSV 로도 저장할 경로
+ * </pre>
+ */
+public class UploadLoadDriver {
+
+    private static final String SUCCESS_MESSAGE = "파일 업로드 완료";
+    private static final Pattern HEAP_VALUE =
+        Pattern.compile("\"statistic\"\\s*:\\s*\"VALUE\"\\s*,\\s*\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+    private static final long SAMPLE_INTERVAL_MILLIS = 200;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    private final URI baseUrl;
+    private final Path workDir;
+    private final Path tempDir;
+    private final Path uploadDir;
+    private final int multiFiles;
+
+    private UploadLoadDriver(Map<String, String> options) {
+        String base = options.getOrDefault("base-url", "http://localhost:8080");
+        this.baseUrl = URI.create(base.endsWith("/") ? base : base + "/");
+        this.workDir = Paths.get(options.getOrDefault("work-dir", "build/upload-load"));
+        this.tempDir = options.containsKey("temp-dir") ? Paths.get(options.get("temp-dir")) : null;
+        this.uploadDir = options.containsKey("upload-dir") ? Paths.get(options.get("upload-dir")) : null;
+        this.multiFiles = Integer.parseInt(options.getOrDefault("multi-files", "4"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("key=value 형식이 아닙니다: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        UploadLoadDriver driver = new UploadLoadDriver(options);
+        List<String> sizes = list(options.getOrDefault("sizes", "1KB,1MB,100MB,1GB"));
+        List<String> endpoints = list(options.getOrDefault("endpoints", "single,multi"));
+        List<Integer> concurrencies = list(options.getOrDefault("concurrency", "1,4,16")).stream()
+            .map(Integer::parseInt)
+            .toList();
+        int requests = Integer.parseInt(options.getOrDefault("requests", "32"));
+        long maxBytes = DataSize.parse(options.getOrDefault("max-bytes", "8GB")).toBytes();
+
+        List<Result> results = new ArrayList<>();
+        System.out.println(Result.HEADER);
+        for (String size : sizes) {
+            for (String endpoint : endpoints) {
+                for (int concurrency : concurrencies) {
+                    Result result = driver.run(endpoint, size, concurrency, requests, maxBytes);
+                    System.out.println(result.toRow());
+                    results.add(result);
+                }
+            }
+        }
+
+        if (options.containsKey("csv")) {
+            Path csv = Paths.get(options.get("csv"));
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+                out.println(Result.CSV_HEADER);
+                results.forEach(result -> out.println(result.toCsv()));
+            }
+            System.out.println("csv = " + csv.toAbsolutePath());
+        }
+    }
+
+    private Result run(String endpoint, String sizeText, int concurrency, int requests, long maxBytes)
+        throws Exception {
+        DataSize size = DataSize.parse(sizeText);
+        boolean multi = "multi".equals(endpoint);
+        int filesPerRequest = multi ? multiFiles : 1;
+        long requestBytes = size.toBytes() * filesPerRequest;
+        int total = (int) Math.max(concurrency, Math.min(requests, maxBytes / Math.max(1, requestBytes)));
+        Path source = sourceFile(size);
+
+        long storedBefore = directorySize(uploadDir);
+        AtomicLong peakHeap = new AtomicLong(-1);
+        AtomicLong peakTemp = new AtomicLong(-1);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            peakHeap.accumulateAndGet(heapUsed(), Math::max);
+            peakTemp.accumulateAndGet(directorySize(tempDir), Math::max);
+        }, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        long[] latencies = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < total) {
+                        long requestStart = System.nanoTime();
+                        if (!upload(multi, source, filesPerRequest)) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - requestStart;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        sampler.shutdown();
+        sampler.awaitTermination(5, TimeUnit.SECONDS);
+        long storedAfter = directorySize(uploadDir);
+
+        Arrays.sort(latencies);
+        return new Result(endpoint, sizeText, concurrency, total, failures.get(),
+            requestBytes * total / 1_048_576.0 / (elapsed / 1e9),
+            percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[total - 1] / 1e6,
+            peakHeap.get(), peakTemp.get(), storedBefore < 0 ? -1 : storedAfter - storedBefore);
+    }
+
+    /* multipart 본문을 헤더 + 원본 파일 + 꼬리로 이어 붙여, 파일 내용을 메모리에 올리지 않고 보낸다. */
+    private boolean upload(boolean multi, Path source, int filesPerRequest) throws IOException, InterruptedException {
+        String boundary = "----bench" + UUID.randomUUID().toString().replace("-", "");
+        String fileField = multi ? "multiFile" : "singleFile";
+        String descriptionField = multi ? "multiFileDescription" : "singleFileDescription";
+
+        List<BodyPublisher> parts = new ArrayList<>();
+        parts.add(BodyPublishers.ofString("--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"" + descriptionField + "\"\r\n\r\n"
+            + "bench\r\n", StandardCharsets.UTF_8));
+        for (int i = 0; i < filesPerRequest; i++) {
+            parts.add(BodyPublishers.ofString("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + fileField + "\"; filename=\"bench-" + i + ".bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n", StandardCharsets.UTF_8));
+            parts.add(BodyPublishers.ofFile(source));
+            parts.add(BodyPublishers.ofString("\r\n", StandardCharsets.UTF_8));
+        }
+        parts.add(BodyPublishers.ofString("--" + boundary + "--\r\n", StandardCharsets.UTF_8));
+
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(multi ? "multi-file" : "single-file"))
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(BodyPublishers.concat(parts.toArray(BodyPublisher[]::new)))
+            .build();
+
+        try {
+            var response = client.send(request, BodyHandlers.ofString(StandardCharsets.UTF_8));
+            return response.statusCode() == 200 && response.body().contains(SUCCESS_MESSAGE);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /* 크기별 업로드 원본. 압축이나 중복 제거의 영향을 받지 않도록 무작위 바이트로 채운다. */
+    private Path sourceFile(DataSize size) throws IOException {
+        Files.createDirectories(workDir);
+        Path file = workDir.resolve("upload-" + size.toBytes() + ".bin");
+        if (Files.exists(file) && Files.size(file) == size.toBytes()) {
+            return file;
+        }
+
+        byte[] buffer = new byte[1024 * 1024];
+        Random random = new Random(size.toBytes());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            long remaining = size.toBytes();
+            while (remaining > 0) {
+                random.nextBytes(buffer);
+                int count = (int) Math.min(buffer.length, remaining);
+                out.write(buffer, 0, count);
+                remaining -= count;
+            }
+        }
+        return file;
+    }
+
+    private long heapUsed() {
+        URI metric = baseUrl.resolve("actuator/metrics/jvm.memory.used?tag=area:heap");
+        HttpRequest request = HttpRequest.newBuilder(metric)
+            .timeout(Duration.ofSeconds(2))
+            .build();
+        try {
+            String body = client.send(request, BodyHandlers.ofString()).body();
+            Matcher matcher = HEAP_VALUE.matcher(body);
+            return matcher.find() ? (long) Double.parseDouble(matcher.group(1)) : -1;
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /* 디렉토리 아래 파일 크기의 합. 지정하지 않았으면 -1 */
+    private static long directorySize(Path dir) {
+        if (dir == null) {
+            return -1;
+        }
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        long total = 0;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                try {
+                    if (Files.isRegularFile(path)) {
+                        total += Files.size(path);
+                    }
+                } catch (NoSuchFileException ignored) {
+                    /* 임시 파일은 세는 도중에 지워질 수 있다. */
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return total;
+        }
+        return total;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    private static final class Result {
+
+        private static final String HEADER = String.format(
+            "%-8s %8s %6s %6s %6s %10s %10s %10s %10s %10s %10s %10s",
+            "endpoint", "size", "conc", "reqs", "fail", "MB/s", "p50(ms)", "p99(ms)", "max(ms)",
+            "heap(MB)", "temp(MB)", "stored(MB)");
+        private static final String CSV_HEADER = "endpoint,size,concurrency,requests,failures,mb_per_sec,"
+            + "p50_ms,p99_ms,max_ms,heap_bytes,temp_bytes,stored_bytes";
+
+        private final String endpoint;
+        private final String size;
+        private final int concurrency;
+        private final int requests;
+        private final int failures;
+        private final double megabytesPerSecond;
+        private final double p50;
+        private final double p99;
+        private final double max;
+        private final long heapBytes;
+        private final long tempBytes;
+        private final long storedBytes;
+
+        private Result(String endpoint, String size, int concurrency, int requests, int failures,
+            double megabytesPerSecond, double p50, double p99, double max, long heapBytes, long tempBytes,
+            long storedBytes) {
+            this.endpoint = endpoint;
+            this.size = size;
+            this.concurrency = concurrency;
+            this.requests = requests;
+            this.failures = failures;
+            this.megabytesPerSecond = megabytesPerSecond;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.heapBytes = heapBytes;
+            this.tempBytes = tempBytes;
+            this.storedBytes = storedBytes;
+        }
+
+        private String toRow() {
+            return String.format("%-8s %8s %6d %6d %6d %10.1f %10.1f %10.1f %10.1f %10s %10s %10s",
+                endpoint, size, concurrency, requests, failures, megabytesPerSecond, p50, p99, max,
+                megabytes(heapBytes), megabytes(tempBytes), megabytes(storedBytes));
+        }
+
+        private String toCsv() {
+            return String.join(",", endpoint, size, String.valueOf(concurrency), String.valueOf(requests),
+                String.valueOf(failures), String.format("%.2f", megabytesPerSecond), String.format("%.2f", p50),
+                String.format("%.2f", p99), String.format("%.2f", max), String.valueOf(heapBytes),
+                String.valueOf(tempBytes), String.valueOf(storedBytes));
+        }
+
+        private static String megabytes(long bytes) {
+            return bytes < 0 ? "-" : String.format("%.1f", bytes / 1_048_576.0);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/* 저장된 내용의 SHA-256 과 크기를 채운다. 내용 주소 저장은 저장할 때 이미 계산했으므로 건너뛴다. */
+@Component
+@Order(1)
+public class ChecksumStage implements PostUploadStage {
+
+    @Override
+    public String getName() {
+        return "hash";
+    }
+
+    @Override
+    public boolean supports(FileDTO file) {
+        return file.getContentHash() == null;
+    }
+
+    @Override
+    public void process(FileDTO file, ContentSource content) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        long size = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new DigestInputStream(content.open(), digest)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+            }
+        }
+
+        file.setFileSize(size);
+        file.setContentHash(HexFormat.of().formatHex(digest.digest()));
+    }
+}
@@ -0,0 +1,246 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 파일을 내용의 SHA-256 해시 이름으로 한 번만 저장하는 저장소 (file.upload.storage=content-addressed)
+ *
+ * 업로드 내용은 임시 파일에 쓰면서 해시를 함께 계산하고, 쓰기가 끝나면 .cas/{해시 앞 2자리}/{해시} 로 옮긴다.
+ * 같은 해시의 blob 이 이미 있으면 임시 파일을 버리고 기존 blob 을 공유한다.
+ * 업로드마다 fileId 가 다른 FileDTO 기록이 생기고, 삭제는 {@link FileRegistry} 의 참조 수로 관리한다.
+ *
+ * 기동할 때 FileRegistry 가 복원한 기록과 디스크의 blob 을 맞춘다.
+ * blob 파일이 없는 기록은 지우고, 기록이 가리키지 않는 blob 과 남은 임시 파일은 삭제한다.
+ */
+@Component
+public class ContentAddressedStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentAddressedStore.class);
+
+    private static final String CAS_DIR = ".cas";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final Path blobDir;
+    private final Path tempDir;
+    private final FileRegistry fileRegistry;
+    private final StorageBackend storageBackend;
+
+    public ContentAddressedStore(
+        @Value("${file.upload.dir:./data/uploads}") String uploadDir,
+        FileRegistry fileRegistry,
+        StorageBackend storageBackend) throws IOException {
+        this.blobDir = Paths.get(uploadDir).resolve(CAS_DIR);
+        this.tempDir = blobDir.resolve("tmp");
+        this.fileRegistry = fileRegistry;
+        this.storageBackend = storageBackend;
+        reconcile();
+    }
+
+    /**
+     * 스트림의 내용을 저장한다.
+     *
+     * @return 저장된 파일 기록 (savedName 은 blob 의 해시)
+     */
+    public FileDTO store(InputStream in, String originFileName, String fileDescription) throws IOException {
+        return store(channel -> {
+            byte[] buf = new byte[COPY_BUFFER_SIZE];
+            ByteBuffer view = ByteBuffer.wrap(buf);
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                view.clear().limit(read);
+                while (view.hasRemaining()) {
+                    channel.write(view);
+                }
+            }
+        }, originFileName, fileDescription);
+    }
+
+    /**
+     * writer 가 채널에 쓰는 내용을 저장한다. 예: {@code store(parser::transferTo, ...)}
+     *
+     * @return 저장된 파일 기록 (savedName 은 blob 의 해시)
+     */
+    public FileDTO store(ContentWriter writer, String originFileName, String fileDescription) throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = tempDir.resolve(UUID.randomUUID() + ".tmp");
+        MessageDigest digest = sha256();
+        long size;
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writer.writeTo(new HashingChannel(channel, digest));
+            size = channel.size();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        return register(temp, HexFormat.of().formatHex(digest.digest()), size, originFileName, fileDescription);
+    }
+
+    /**
+     * 해시를 이미 알고 있는 파일(예: 체크섬 검증을 마친 이어 올리기 파일)을 다시 읽지 않고 저장소로 옮긴다.
+     * 파일은 blob 디렉토리와 같은 파일 시스템에 있어야 한다.
+     */
+    public FileDTO adopt(Path file, String sha256, String originFileName, String fileDescription)
+        throws IOException {
+        return register(file, sha256, Files.size(file), originFileName, fileDescription);
+    }
+
+    /**
+     * 파일 기록을 지운다. 같은 blob 을 가리키는 기록이 더 없으면 blob 과 후처리에서 만든 썸네일도 지운다.
+     *
+     * @return 지운 파일 기록, 없으면 null
+     */
+    public FileDTO delete(String fileId) throws IOException {
+        FileDTO file = fileRegistry.find(fileId);
+        if (file == null) {
+            return null;
+        }
+        Path blob = blobPath(file.getContentHash());
+        return fileRegistry.unregister(fileId, () -> {
+            deleteThumbnail(file.getContentHash());
+            Files.deleteIfExists(blob);
+        });
+    }
+
+    /** 이 저장소에 저장한 파일 기록인지 여부 (savedName 이 내용의 해시) */
+    public static boolean isBlob(FileDTO file) {
+        return file.getContentHash() != null && file.getContentHash().equals(file.getSavedName());
+    }
+
+    /** 파일 기록이 가리키는 blob 의 경로 */
+    public Path resolve(FileDTO file) {
+        return blobPath(file.getContentHash());
+    }
+
+    private FileDTO register(Path source, String hash, long size, String originFileName, String fileDescription)
+        throws IOException {
+        FileDTO file = new FileDTO(originFileName, hash, blobDir.toString(), fileDescription);
+        file.setFileId(UUID.randomUUID().toString());
+        file.setContentHash(hash);
+        file.setFileSize(size);
+
+        Path blob = blobPath(hash);
+        try {
+            fileRegistry.register(file,
+                () -> {
+                    Files.createDirectories(blob.getParent());
+                    Files.move(source, blob, StandardCopyOption.ATOMIC_MOVE);
+                },
+                () -> Files.deleteIfExists(source));
+        } catch (IOException e) {
+            Files.deleteIfExists(source);
+            throw e;
+        }
+        return file;
+    }
+
+    private void reconcile() throws IOException {
+        for (String hash : fileRegistry.getContentHashes()) {
+            if (!Files.exists(blobPath(hash))) {
+                log.warn("blob 파일이 없어 기록 {}개를 지웁니다: {}", fileRegistry.dropBlob(hash), hash);
+                deleteThumbnail(hash);
+            }
+        }
+
+        if (!Files.isDirectory(blobDir)) {
+            return;
+        }
+        int orphans = 0;
+        try (Stream<Path> shards = Files.list(blobDir)) {
+            for (Path shard : shards.filter(ContentAddressedStore::isShardDirectory).toList()) {
+                try (Stream<Path> blobs = Files.list(shard)) {
+                    for (Path blob : blobs.toList()) {
+                        String hash = blob.getFileName().toString();
+                        if (fileRegistry.getReferences(hash) == 0) {
+                            deleteThumbnail(hash);
+                            Files.deleteIfExists(blob);
+                            orphans++;
+                        }
+                    }
+                }
+            }
+        }
+        if (Files.isDirectory(tempDir)) {
+            try (Stream<Path> temps = Files.list(tempDir)) {
+                for (Path temp : temps.toList()) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+        if (orphans > 0) {
+            log.info("기록이 없는 blob {}개를 삭제했습니다.", orphans);
+        }
+    }
+
+    /* ThumbnailStage 는 blob 마다 저장소에 {해시}-thumb.png 를 하나 만든다. */
+    private void deleteThumbnail(String hash) throws IOException {
+        storageBackend.delete(ThumbnailStage.thumbnailName(hash));
+    }
+
+    /* blob 은 해시 앞 2자리(16진수) 디렉토리 아래에 있다. tmp 등 다른 디렉토리는 건너뛴다. */
+    private static boolean isShardDirectory(Path path) {
+        return Files.isDirectory(path) && path.getFileName().toString().matches("[0-9a-f]{2}");
+    }
+
+    private Path blobPath(String hash) {
+        return blobDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /* 쓰인 바이트만큼 해시를 함께 계산하는 채널 */
+    private static final class HashingChannel implements WritableByteChannel {
+
+        private final WritableByteChannel delegate;
+        private final MessageDigest digest;
+
+        private HashingChannel(WritableByteChannel delegate, MessageDigest digest) {
+            this.delegate = delegate;
+            this.digest = digest;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            ByteBuffer written = src.duplicate();
+            int count = delegate.write(src);
+            written.limit(written.position() + count);
+            digest.update(written);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/* 저장할 내용을 채널에 직접 쓰는 작업. 예: {@code parser::transferTo} */
+@FunctionalInterface
+public interface ContentWriter {
+
+    void writeTo(WritableByteChannel channel) throws IOException;
+}
@@ -7,6 +7,21 @@ public class FileDTO {
     private String savedName;
     private String filePath;
     private String fileDescription;
+    private double writeMillis;
+
+    /* 파일 기록(FileRegistry) 의 ID. contentHash, fileSize 는 내용 주소 저장(file.upload.storage=content-addressed) 에서만 채워진다. */
+    private String fileId;
+    private String contentHash;
+    private long fileSize;
+
+    /*
+     * 업로드 후처리(PostUploadPipeline) 결과. 작업 스레드가 채우고 요청 스레드가 읽으므로
+     * 상태는 volatile 로 두고 다른 결과를 모두 채운 뒤 마지막에 바꾼다.
+     */
+    private volatile String processingStatus;
+    private int imageWidth;
+    private int imageHeight;
+    private String thumbnailName;
 
     public FileDTO() {
     }
@@ -51,6 +66,70 @@ public class FileDTO {
         this.fileDescription = fileDescription;
     }
 
+    public double getWriteMillis() {
+        return writeMillis;
+    }
+
+    public void setWriteMillis(double writeMillis) {
+        this.writeMillis = writeMillis;
+    }
+
+    public String getFileId() {
+        return fileId;
+    }
+
+    public void setFileId(String fileId) {
+        this.fileId = fileId;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getProcessingStatus() {
+        return processingStatus;
+    }
+
+    public void setProcessingStatus(String processingStatus) {
+        this.processingStatus = processingStatus;
+    }
+
+    public int getImageWidth() {
+        return imageWidth;
+    }
+
+    public void setImageWidth(int imageWidth) {
+        this.imageWidth = imageWidth;
+    }
+
+    public int getImageHeight() {
+        return imageHeight;
+    }
+
+    public void setImageHeight(int imageHeight) {
+        this.imageHeight = imageHeight;
+    }
+
+    public String getThumbnailName() {
+        return thumbnailName;
+    }
+
+    public void setThumbnailName(String thumbnailName) {
+        this.thumbnailName = thumbnailName;
+    }
+
     @Override
     public String toString() {
         return "FileDTO{" +
@@ -58,6 +137,14 @@ public class FileDTO {
             ", savedName='" + savedName + '\'' +
             ", filePath='" + filePath + '\'' +
             ", fileDescription='" + fileDescription + '\'' +
+            ", writeMillis=" + writeMillis +
+            ", fileId='" + fileId + '\'' +
+            ", contentHash='" + contentHash + '\'' +
+            ", fileSize=" + fileSize +
+            ", processingStatus='" + processingStatus + '\'' +
+            ", imageWidth=" + imageWidth +
+            ", imageHeight=" + imageHeight +
+            ", thumbnailName='" + thumbnailName + '\'' +
             '}';
     }
 }
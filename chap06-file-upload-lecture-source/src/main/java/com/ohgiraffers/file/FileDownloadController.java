@@ -0,0 +1,477 @@
+package com.ohgiraffers.file;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 업로드된 파일을 savedName 으로 내려받는 컨트롤러
+ *
+ * - 로컬 파일이면 FileChannel.transferTo 로 보낸다. Tomcat NIO 커넥터처럼 sendfile 을 지원하면
+ *   전체 파일과 단일 구간 응답은 컨테이너에 넘겨서 커널이 직접 소켓으로 복사한다.
+ * - 로컬 파일이 아닌 저장소(StorageBackend.localPath 가 null)는 스트림으로 필요한 구간만 복사한다.
+ * - Range 요청은 단일 구간(206 + Content-Range)과 다중 구간(multipart/byteranges)을 모두 지원한다.
+ * - ETag / Last-Modified 로 조건부 요청(304, 412)과 If-Range 를 처리한다.
+ * - Content-Disposition 에는 원본 파일명을 RFC 5987 형식(filename*)으로 넣는다.
+ * - /download/bundle 은 여러 파일을 ZIP 하나로 묶어, 파일을 읽는 대로 바로 응답에 쓴다.
+ */
+@Controller
+public class FileDownloadController {
+
+    /* Tomcat 이 sendfile 을 쓸 수 있을 때 요청에 넣어 주는 속성과, 서블릿이 sendfile 을 요청할 때 쓰는 속성 */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /* 이미 압축된 형식이라 다시 deflate 해도 줄지 않고 CPU 만 쓰는 확장자 */
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+        "jpg", "jpeg", "png", "gif", "webp", "heic", "avif",
+        "mp3", "aac", "m4a", "ogg", "mp4", "m4v", "mov", "webm", "mkv",
+        "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "jar", "docx", "xlsx", "pptx", "hwpx");
+
+    private static final int BUNDLE_BUFFER_SIZE = 64 * 1024;
+
+    private final StorageBackend storageBackend;
+    private final FileRegistry fileRegistry;
+    private final ContentAddressedStore contentAddressedStore;
+    private final long sendfileThreshold;
+    private final int bundleMaxFiles;
+    private final int bundleDeflateLevel;
+
+    public FileDownloadController(StorageBackend storageBackend, FileRegistry fileRegistry,
+        ContentAddressedStore contentAddressedStore,
+        @Value("${file.download.sendfile-threshold:48KB}") DataSize sendfileThreshold,
+        @Value("${file.download.bundle.max-files:1000}") int bundleMaxFiles,
+        @Value("${file.download.bundle.deflate-level:1}") int bundleDeflateLevel) {
+        this.storageBackend = storageBackend;
+        this.fileRegistry = fileRegistry;
+        this.contentAddressedStore = contentAddressedStore;
+        this.sendfileThreshold = sendfileThreshold.toBytes();
+        this.bundleMaxFiles = bundleMaxFiles;
+        this.bundleDeflateLevel = bundleDeflateLevel;
+    }
+
+    /**
+     * 여러 파일을 ZIP 하나로 내려받는다.
+     *
+     * 압축 파일을 미리 만들지 않고, 항목마다 파일을 읽는 대로 ZipOutputStream 으로 응답에 바로 쓴다.
+     * 메모리는 복사 버퍼 하나만 쓰므로 묶음 전체 크기와 상관없이 일정하고, 4GB 가 넘으면 ZIP64 로 기록된다.
+     * 전체 크기를 미리 알 수 없으므로 응답은 chunked 로 나간다.
+     *
+     * - 이미 압축된 형식(jpg, mp4, zip 등)은 STORED 로 그대로 담는다. STORED 항목은 헤더에 CRC 를 먼저 적어야 하므로
+     *   파일을 한 번 읽어 CRC 를 계산한 뒤 다시 읽어서 보낸다.
+     * - 그 밖의 파일은 deflate-level(기본 1, 가장 빠른 압축)로 압축한다.
+     * - 항목 이름은 업로드할 때 남긴 원래 파일명이고, 같은 이름이 있으면 a-1.txt, a-2.txt 처럼 번호를 붙인다.
+     *
+     * @param names    저장된 파일명 목록 (names=a&amp;names=b 또는 names=a,b)
+     * @param fileName 내려받을 ZIP 파일 이름
+     */
+    @GetMapping("/download/bundle")
+    public void downloadBundle(@RequestParam List<String> names,
+        @RequestParam(defaultValue = "files.zip") String fileName,
+        HttpServletResponse response) throws IOException {
+
+        if (names.isEmpty() || names.size() > bundleMaxFiles) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                "파일은 1개 이상 " + bundleMaxFiles + "개 이하로 요청해야 합니다.");
+            return;
+        }
+
+        /* 응답을 시작한 뒤에는 404 로 바꿀 수 없으므로 모든 파일을 먼저 확인한다. */
+        List<DownloadTarget> targets = new ArrayList<>(names.size());
+        for (String name : names) {
+            DownloadTarget target = resolve(name);
+            if (target == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND, "파일을 찾을 수 없습니다: " + name);
+                return;
+            }
+            targets.add(target);
+        }
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(fileName, StandardCharsets.UTF_8)
+            .build()
+            .toString());
+
+        byte[] buffer = new byte[BUNDLE_BUFFER_SIZE];
+        Set<String> entryNames = new HashSet<>();
+        ZipOutputStream zip = new ZipOutputStream(response.getOutputStream(), StandardCharsets.UTF_8);
+        zip.setLevel(bundleDeflateLevel);
+
+        for (DownloadTarget target : targets) {
+            ZipEntry entry = new ZipEntry(entryName(target.originalName, entryNames));
+            entry.setTime(target.lastModified);
+            if (isCompressed(target.originalName)) {
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(target.length);
+                entry.setCompressedSize(target.length);
+                entry.setCrc(crc32(target, buffer));
+            } else {
+                entry.setMethod(ZipEntry.DEFLATED);
+            }
+
+            zip.putNextEntry(entry);
+            try (InputStream in = openContent(target)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    zip.write(buffer, 0, read);
+                }
+            }
+            zip.closeEntry();
+        }
+
+        /* 중앙 디렉토리까지 쓰고, 응답 스트림은 컨테이너가 닫도록 둔다. */
+        zip.finish();
+    }
+
+    /**
+     * @param savedName   저장된 파일명 (내용 주소 저장이면 SHA-256 해시)
+     * @param disposition attachment(기본) 또는 inline. 동영상을 브라우저에서 바로 재생하려면 inline
+     */
+    @GetMapping("/download/{savedName}")
+    public void download(@PathVariable String savedName,
+        @RequestParam(defaultValue = "attachment") String disposition,
+        HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        DownloadTarget target = resolve(savedName);
+        if (target == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = target.length;
+        long lastModified = target.lastModified;
+
+        /* If-None-Match / If-Modified-Since 면 304, If-Match / If-Unmodified-Since 가 맞지 않으면 412 */
+        if (new ServletWebRequest(request, response).checkNotModified(target.etag, lastModified)) {
+            return;
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(target.originalName)
+            .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ("inline".equals(disposition) ? ContentDisposition.inline() : ContentDisposition.attachment())
+                .filename(target.originalName, StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        List<long[]> ranges = requestedRanges(request, target.etag, lastModified, length);
+        if (ranges == null) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        boolean head = "HEAD".equals(request.getMethod());
+
+        if (ranges.isEmpty()) {
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(length);
+            if (!head) {
+                send(target, 0, length, request, response);
+            }
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        if (ranges.size() == 1) {
+            long start = ranges.get(0)[0];
+            long end = ranges.get(0)[1];
+            response.setContentType(contentType.toString());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            response.setContentLengthLong(end - start + 1);
+            if (!head) {
+                send(target, start, end - start + 1, request, response);
+            }
+            return;
+        }
+
+        sendMultipleRanges(target, ranges, length, contentType, head, response);
+    }
+
+    /*
+     * Range 헤더를 해석한다.
+     * 빈 목록이면 전체 응답, null 이면 만족할 수 없는 범위(416)이다.
+     * 형식이 잘못되었거나, If-Range 가 현재 파일과 맞지 않거나, 구간 합이 파일보다 크면 Range 를 무시하고 전체를 보낸다.
+     */
+    private static List<long[]> requestedRanges(HttpServletRequest request, String etag, long lastModified,
+        long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request, etag, lastModified)) {
+            return List.of();
+        }
+
+        List<HttpRange> httpRanges;
+        try {
+            httpRanges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+
+        List<long[]> ranges = new ArrayList<>(httpRanges.size());
+        long total = 0;
+        for (HttpRange httpRange : httpRanges) {
+            long start;
+            long end;
+            try {
+                start = httpRange.getRangeStart(length);
+                end = httpRange.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (start >= length || start > end) {
+                continue;
+            }
+            ranges.add(new long[]{start, end});
+            total += end - start + 1;
+        }
+
+        if (ranges.isEmpty()) {
+            return length == 0 ? List.of() : null;
+        }
+        return total > length ? List.of() : ranges;
+    }
+
+    /* If-Range 는 강한 ETag 가 같거나, 날짜가 마지막 수정 시각과 같을 때만 Range 를 적용한다. */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /*
+     * 파일의 [start, start + count) 구간을 보낸다.
+     * 로컬 파일이고 컨테이너가 sendfile 을 지원하면 응답이 끝난 뒤 컨테이너가 보내도록 넘기고,
+     * 아니면 응답 스트림에 복사한다.
+     */
+    private void send(DownloadTarget target, long start, long count, HttpServletRequest request,
+        HttpServletResponse response) throws IOException {
+        if (target.path == null) {
+            copyRange(target.key, start, count, response.getOutputStream());
+            return;
+        }
+
+        if (count >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, target.path.toAbsolutePath().normalize().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(target.path, StandardOpenOption.READ)) {
+            transfer(file, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private void sendMultipleRanges(DownloadTarget target, List<long[]> ranges, long length, MediaType contentType,
+        boolean head, HttpServletResponse response) throws IOException {
+
+        String boundary = UUID.randomUUID().toString();
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                + HttpHeaders.CONTENT_RANGE + ": bytes " + range[0] + "-" + range[1] + "/" + length + "\r\n"
+                + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+            partHeaders.add(header);
+            contentLength += header.length + (range[1] - range[0] + 1);
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        contentLength += closing.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return;
+        }
+
+        ServletOutputStream out = response.getOutputStream();
+
+        /* 로컬 파일이 아니면 구간마다 스트림을 새로 열어 필요한 부분만 읽는다. */
+        if (target.path == null) {
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+                out.write(partHeaders.get(i));
+                copyRange(target.key, range[0], range[1] - range[0] + 1, out);
+            }
+            out.write(closing);
+            return;
+        }
+
+        WritableByteChannel channel = Channels.newChannel(out);
+        try (FileChannel file = FileChannel.open(target.path, StandardOpenOption.READ)) {
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+                out.write(partHeaders.get(i));
+                transfer(file, range[0], range[1] - range[0] + 1, channel);
+            }
+        }
+        out.write(closing);
+    }
+
+    private static void transfer(FileChannel file, long position, long count, WritableByteChannel target)
+        throws IOException {
+        while (count > 0) {
+            long sent = file.transferTo(position, count, target);
+            if (sent <= 0) {
+                throw new EOFException("파일이 전송 중에 줄어들었습니다.");
+            }
+            position += sent;
+            count -= sent;
+        }
+    }
+
+    private long crc32(DownloadTarget target, byte[] buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = openContent(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private InputStream openContent(DownloadTarget target) throws IOException {
+        return target.path != null ? Files.newInputStream(target.path) : storageBackend.open(target.key);
+    }
+
+    /* 경로 구분자는 풀 때 다른 디렉토리에 써지지 않도록 바꾸고, 같은 이름은 -1, -2 를 붙여 구분한다. */
+    private static String entryName(String originalName, Set<String> used) {
+        String name = originalName.replace('/', '_').replace('\\', '_');
+        if (name.isEmpty() || name.startsWith(".")) {
+            name = "_" + name;
+        }
+        String candidate = name;
+        int dot = name.lastIndexOf('.');
+        for (int i = 1; !used.add(candidate); i++) {
+            candidate = dot <= 0
+                ? name + "-" + i
+                : name.substring(0, dot) + "-" + i + name.substring(dot);
+        }
+        return candidate;
+    }
+
+    private static boolean isCompressed(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private void copyRange(String key, long start, long count, OutputStream out) throws IOException {
+        try (InputStream in = storageBackend.open(key)) {
+            long copied = StreamUtils.copyRange(in, out, start, start + count - 1);
+            if (copied < count) {
+                throw new EOFException("파일이 전송 중에 줄어들었습니다.");
+            }
+        }
+    }
+
+    /* 내용 주소 저장소의 기록이 있으면 blob 을, 없으면 저장소(StorageBackend)의 객체를 찾는다. */
+    private DownloadTarget resolve(String savedName) throws IOException {
+        if (!StorageBackend.KEY_PATTERN.matcher(savedName).matches()) {
+            return null;
+        }
+
+        FileDTO stored = fileRegistry.findBySavedName(savedName);
+        if (stored != null) {
+            Path blob = contentAddressedStore.resolve(stored);
+            if (!Files.isRegularFile(blob)) {
+                return null;
+            }
+            return new DownloadTarget(null, blob, originalName(savedName),
+                "\"" + stored.getContentHash() + "\"", Files.size(blob), Files.getLastModifiedTime(blob).toMillis());
+        }
+
+        StoredObject object = storageBackend.stat(savedName);
+        if (object == null) {
+            return null;
+        }
+        /* UUID 이름으로 저장한 파일은 덮어쓰지 않으므로 크기와 수정 시각으로 강한 ETag 를 만든다. */
+        String etag = "\"" + Long.toHexString(object.getSize()) + "-"
+            + Long.toHexString(object.getLastModified()) + "\"";
+        return new DownloadTarget(savedName, storageBackend.localPath(savedName), originalName(savedName), etag,
+            object.getSize(), object.getLastModified());
+    }
+
+    /*
+     * 업로드할 때 남긴 기록(StorageBackend 에 저장한 파일, 없으면 내용 주소 저장의 기록)의 원래 파일명.
+     * 기록 없이 저장된 예전 파일이나 옮겨 온 파일은 저장 이름을 그대로 쓴다.
+     */
+    private String originalName(String savedName) {
+        FileDTO recorded = fileRegistry.findStoredFile(savedName);
+        if (recorded == null) {
+            recorded = fileRegistry.findBySavedName(savedName);
+        }
+        return recorded == null || recorded.getOriginalFileName() == null
+            ? savedName
+            : recorded.getOriginalFileName();
+    }
+
+    /* path 가 null 이면 key 로 StorageBackend.open 해서 읽는다. */
+    private static final class DownloadTarget {
+
+        private final String key;
+        private final Path path;
+        private final String originalName;
+        private final String etag;
+        private final long length;
+        private final long lastModified;
+
+        private DownloadTarget(String key, Path path, String originalName, String etag, long length,
+            long lastModified) {
+            this.key = key;
+            this.path = path;
+            this.originalName = originalName;
+            this.etag = etag;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+    }
+}
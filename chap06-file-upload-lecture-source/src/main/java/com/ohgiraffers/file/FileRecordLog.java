@@ -0,0 +1,151 @@
+package com.ohgiraffers.file;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link FileRegistry} 의 파일 기록을 남기는 추가 전용(append-only) 로그
+ *
+ * 한 줄이 레코드 하나이다. 기록을 추가하면 PUT, 지우면 DEL 줄을 덧붙이고 줄마다 flush 한다.
+ * 필드는 URL 인코딩해서 탭으로 구분하고, 끝까지 쓰인 줄인지 알 수 있도록 마지막에 END 표시를 붙인다.
+ * 기동할 때 처음부터 다시 읽어서 살아 있는 기록만 남긴 새 파일로 바꿔 끼우므로 DEL 줄은 쌓이지 않는다.
+ *
+ * flush 는 운영체제 버퍼까지만 보장한다. 프로세스가 죽은 경우는 마지막 줄까지 남지만,
+ * 전원이 나가면 마지막 몇 줄을 잃을 수 있다. 끝이 잘린 줄은 읽을 때 건너뛴다.
+ */
+final class FileRecordLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileRecordLog.class);
+
+    private static final String PUT = "PUT";
+    private static final String DEL = "DEL";
+    private static final String END = "END";
+    private static final String NULL = "~";
+    private static final int PUT_FIELDS = 9;
+    private static final int DEL_FIELDS = 3;
+
+    private final Path path;
+    private BufferedWriter writer;
+
+    FileRecordLog(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * 로그를 읽어 살아 있는 기록을 추가된 순서대로 반환하고, 그 기록만 남긴 로그에 이어 쓸 준비를 한다.
+     *
+     * @return fileId 를 키로 하는 기록
+     */
+    synchronized Map<String, FileDTO> open() throws IOException {
+        Map<String, FileDTO> live = new LinkedHashMap<>();
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (!apply(line, live)) {
+                        log.warn("파일 기록 로그의 손상된 줄을 건너뜁니다 {}:{}", path, lineNumber);
+                    }
+                }
+            }
+        }
+
+        Files.createDirectories(path.getParent());
+        Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (FileDTO file : live.values()) {
+                out.write(put(file));
+                out.newLine();
+            }
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return live;
+    }
+
+    synchronized void appendPut(FileDTO file) throws IOException {
+        append(put(file));
+    }
+
+    synchronized void appendDelete(String fileId) throws IOException {
+        append(String.join("\t", DEL, encode(fileId), END));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void append(String line) throws IOException {
+        if (writer == null) {
+            throw new IllegalStateException("open() 을 먼저 호출해야 합니다.");
+        }
+        writer.write(line);
+        writer.newLine();
+        writer.flush();
+    }
+
+    /* 한 줄을 live 에 반영한다. 형식이 맞지 않으면 false */
+    private static boolean apply(String line, Map<String, FileDTO> live) {
+        String[] fields = line.split("\t", -1);
+        if (!END.equals(fields[fields.length - 1])) {
+            return false;
+        }
+        try {
+            if (PUT.equals(fields[0]) && fields.length == PUT_FIELDS) {
+                FileDTO file = new FileDTO(decode(fields[5]), decode(fields[2]), decode(fields[6]), decode(fields[7]));
+                file.setFileId(decode(fields[1]));
+                file.setContentHash(decode(fields[3]));
+                file.setFileSize(Long.parseLong(fields[4]));
+                live.put(file.getFileId(), file);
+                return true;
+            }
+            if (DEL.equals(fields[0]) && fields.length == DEL_FIELDS) {
+                live.remove(decode(fields[1]));
+                return true;
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private static String put(FileDTO file) {
+        return String.join("\t", PUT,
+            encode(file.getFileId()),
+            encode(file.getSavedName()),
+            encode(file.getContentHash()),
+            Long.toString(file.getFileSize()),
+            encode(file.getOriginalFileName()),
+            encode(file.getFilePath()),
+            encode(file.getFileDescription()),
+            END);
+    }
+
+    /* URLEncoder 는 '~' 도 인코딩하므로 '~' 하나는 null 표시로 쓸 수 있다. */
+    private static String encode(String value) {
+        return value == null ? NULL : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return NULL.equals(value) ? null : URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
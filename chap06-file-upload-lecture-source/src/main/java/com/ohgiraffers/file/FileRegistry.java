@@ -0,0 +1,344 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 내용 주소 저장소(content-addressed store)의 파일 기록과 blob 참조 수를 관리한다.
+ *
+ * 같은 내용의 파일을 여러 번 올리면 FileDTO 기록은 업로드마다 하나씩 생기지만 blob 은 하나만 저장되고,
+ * blob 의 참조 수가 0 이 될 때 실제 파일을 지운다.
+ * 같은 해시에 대한 추가/삭제는 해시별 잠금(스트라이프)으로 순서를 맞추고, blob 파일 I/O 도 이 잠금 안에서 한다.
+ * 맵 자체는 잠그지 않으므로 다른 해시의 추가/삭제나 조회는 디스크 I/O 를 기다리지 않는다.
+ *
+ * 내용 주소 저장을 쓰지 않을 때 StorageBackend 에 UUID 이름으로 저장한 파일도 {@link #record(List)} 로 기록해 두고,
+ * 다운로드할 때 저장 이름으로 원래 파일명을 찾는다. 이 기록에는 contentHash 가 없고 blob 참조 수와 상관없다.
+ *
+ * 기록은 {uploadDir}/.cas/registry.log 에 추가 전용 로그({@link FileRecordLog})로 남기고, 기동할 때 다시 읽어서 복원한다.
+ * 디스크의 blob 과 맞추는 작업(없는 blob 을 가리키는 기록 삭제, 기록 없는 blob 정리)은 {@link ContentAddressedStore} 가 한다.
+ */
+@Component
+public class FileRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(FileRegistry.class);
+
+    private static final String RECORD_LOG = ".cas/registry.log";
+    private static final int LOCK_STRIPES = 64;
+
+    private final Map<String, FileDTO> files = new ConcurrentHashMap<>();
+    private final Map<String, Blob> blobs = new ConcurrentHashMap<>();
+    /* savedName → StorageBackend 에 저장한 파일의 기록 */
+    private final Map<String, FileDTO> storedFiles = new ConcurrentHashMap<>();
+    private final AtomicLong logicalBytes = new AtomicLong();
+    private final AtomicLong physicalBytes = new AtomicLong();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final FileRecordLog recordLog;
+
+    public FileRegistry(@Value("${file.upload.dir:./data/uploads}") String uploadDir) throws IOException {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.recordLog = new FileRecordLog(Paths.get(uploadDir).resolve(RECORD_LOG));
+
+        for (FileDTO file : recordLog.open().values()) {
+            if (file.getContentHash() == null) {
+                storedFiles.put(file.getSavedName(), file);
+                continue;
+            }
+            files.put(file.getFileId(), file);
+            logicalBytes.addAndGet(file.getFileSize());
+            Blob blob = blobs.get(file.getContentHash());
+            if (blob == null) {
+                blobs.put(file.getContentHash(), new Blob(file.getFileSize(), 1, file));
+                physicalBytes.addAndGet(file.getFileSize());
+            } else {
+                blobs.put(file.getContentHash(), new Blob(blob.size, blob.references + 1, blob.representative));
+            }
+        }
+        log.info("파일 기록 복원 : files={}, blobs={}, stored files={}", files.size(), blobs.size(),
+            storedFiles.size());
+    }
+
+    /**
+     * 파일 기록을 추가하고 blob 참조 수를 늘린다.
+     * 로그에 기록을 남기지 못하면 예외를 던지고 메모리에도 추가하지 않는다.
+     * 이때 새로 저장한 blob 은 참조하는 기록이 없으므로 다음 기동 때 정리된다.
+     *
+     * @param file        contentHash, fileSize 가 채워진 파일 기록
+     * @param publishBlob 이 해시의 blob 이 아직 없을 때 한 번만 실행되는 저장 작업
+     * @param discardBlob 이미 같은 blob 이 있을 때 실행되는 작업 (예: 임시 파일 삭제)
+     * @return 새 blob 을 저장했으면 true, 기존 blob 을 공유했으면 false
+     */
+    public boolean register(FileDTO file, BlobAction publishBlob, BlobAction discardBlob) throws IOException {
+        String hash = file.getContentHash();
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            Blob blob = blobs.get(hash);
+            if (blob == null) {
+                publishBlob.run();
+            } else {
+                discardBlob.run();
+            }
+            recordLog.appendPut(file);
+
+            if (blob == null) {
+                blobs.put(hash, new Blob(file.getFileSize(), 1, file));
+                physicalBytes.addAndGet(file.getFileSize());
+            } else {
+                blobs.put(hash, new Blob(blob.size, blob.references + 1, blob.representative));
+            }
+            files.put(file.getFileId(), file);
+            logicalBytes.addAndGet(file.getFileSize());
+            return blob == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 파일 기록을 지우고 blob 참조 수를 줄인다. 참조 수가 0 이 되면 기록을 지우기 전에 deleteBlob 을 실행하고,
+     * blob 을 지우지 못하면 기록도 그대로 둔다.
+     *
+     * @return 지운 파일 기록, 없으면 null
+     */
+    public FileDTO unregister(String fileId, BlobAction deleteBlob) throws IOException {
+        FileDTO file = files.get(fileId);
+        if (file == null) {
+            return null;
+        }
+        String hash = file.getContentHash();
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            /* 잠금을 기다리는 동안 다른 요청이 먼저 지웠을 수 있다. */
+            if (files.get(fileId) != file) {
+                return null;
+            }
+            Blob blob = blobs.get(hash);
+            boolean lastReference = blob == null || blob.references <= 1;
+            if (lastReference) {
+                deleteBlob.run();
+            }
+
+            files.remove(fileId);
+            logicalBytes.addAndGet(-file.getFileSize());
+            if (lastReference) {
+                if (blob != null) {
+                    blobs.remove(hash);
+                    physicalBytes.addAndGet(-blob.size);
+                }
+            } else {
+                FileDTO representative = blob.representative == file ? anotherRecordOf(hash) : blob.representative;
+                blobs.put(hash, new Blob(blob.size, blob.references - 1, representative));
+            }
+            recordLog.appendDelete(fileId);
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 해당 blob 을 가리키는 기록을 모두 지운다. 기동할 때 blob 파일이 없어진 기록을 정리하는 데 쓴다.
+     *
+     * @return 지운 기록 수
+     */
+    int dropBlob(String contentHash) throws IOException {
+        ReentrantLock lock = lockFor(contentHash);
+        lock.lock();
+        try {
+            List<FileDTO> dropped = new ArrayList<>();
+            for (FileDTO file : files.values()) {
+                if (contentHash.equals(file.getContentHash())) {
+                    dropped.add(file);
+                }
+            }
+            for (FileDTO file : dropped) {
+                files.remove(file.getFileId());
+                logicalBytes.addAndGet(-file.getFileSize());
+                recordLog.appendDelete(file.getFileId());
+            }
+            Blob blob = blobs.remove(contentHash);
+            if (blob != null) {
+                physicalBytes.addAndGet(-blob.size);
+            }
+            return dropped.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이미 등록한 파일 기록의 설명을 바꾸고 바뀐 기록을 로그에 다시 남긴다.
+     * 설명이 파일 파트 뒤에 오는 스트리밍 업로드처럼 등록한 뒤에야 설명을 알 수 있을 때 쓴다.
+     * 로그에 남기지 못하면 예외를 던지고 메모리의 설명도 바꾸지 않는다.
+     */
+    public void describe(FileDTO file, String description) throws IOException {
+        ReentrantLock lock = lockFor(file.getContentHash());
+        lock.lock();
+        try {
+            /* 그 사이에 지워진 기록을 로그에 되살리지 않는다. */
+            if (files.get(file.getFileId()) != file) {
+                return;
+            }
+            String previous = file.getFileDescription();
+            file.setFileDescription(description);
+            try {
+                recordLog.appendPut(file);
+            } catch (IOException e) {
+                file.setFileDescription(previous);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * StorageBackend 에 저장을 마친 파일들의 기록(원래 파일명, 설명)을 남긴다. fileId 가 없으면 새로 발급한다.
+     * 하나라도 남기지 못하면 이번에 남긴 기록을 모두 지우고 예외를 던진다. 저장한 파일의 삭제는 호출한 쪽이 한다.
+     */
+    public void record(List<FileDTO> stored) throws IOException {
+        List<FileDTO> recorded = new ArrayList<>(stored.size());
+        try {
+            for (FileDTO file : stored) {
+                if (file.getFileId() == null) {
+                    file.setFileId(UUID.randomUUID().toString());
+                }
+                recordLog.appendPut(file);
+                storedFiles.put(file.getSavedName(), file);
+                recorded.add(file);
+            }
+        } catch (IOException e) {
+            for (FileDTO file : recorded) {
+                forget(file.getSavedName(), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * StorageBackend 에서 지운 파일의 기록을 지운다.
+     *
+     * @return 지운 기록, 없으면 null
+     */
+    public FileDTO forget(String savedName) throws IOException {
+        FileDTO file = storedFiles.remove(savedName);
+        if (file != null) {
+            recordLog.appendDelete(file.getFileId());
+        }
+        return file;
+    }
+
+    /** StorageBackend 에 저장한 파일의 기록을 저장 이름으로 찾는다. 기록 없이 저장된 예전 파일이면 null */
+    public FileDTO findStoredFile(String savedName) {
+        return storedFiles.get(savedName);
+    }
+
+    /* record 를 되돌리는 중에 난 오류는 원래 예외에 덧붙인다. */
+    private void forget(String savedName, IOException cause) {
+        try {
+            forget(savedName);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /** 기록이 가리키는 blob 해시 목록 */
+    Set<String> getContentHashes() {
+        return Set.copyOf(blobs.keySet());
+    }
+
+    public FileDTO find(String fileId) {
+        return files.get(fileId);
+    }
+
+    /**
+     * savedName(= blob 해시) 으로 기록 하나를 찾는다.
+     * 같은 내용을 여러 이름으로 올렸다면 어느 기록이든 같은 blob 을 가리키므로 blob 에 붙여 둔 대표 기록을 돌려준다.
+     */
+    public FileDTO findBySavedName(String savedName) {
+        Blob blob = blobs.get(savedName);
+        return blob == null ? null : blob.representative;
+    }
+
+    public Collection<FileDTO> findAll() {
+        return files.values();
+    }
+
+    public int getReferences(String contentHash) {
+        Blob blob = blobs.get(contentHash);
+        return blob == null ? 0 : blob.references;
+    }
+
+    /** 업로드된 파일 크기의 합 (중복 포함) */
+    public long getLogicalBytes() {
+        return logicalBytes.get();
+    }
+
+    /** 실제로 저장된 blob 크기의 합 */
+    public long getPhysicalBytes() {
+        return physicalBytes.get();
+    }
+
+    /** 중복 제거 비율 = 논리 크기 / 물리 크기. 저장된 것이 없으면 1 */
+    public double getDedupRatio() {
+        long physical = physicalBytes.get();
+        return physical == 0 ? 1.0 : (double) logicalBytes.get() / physical;
+    }
+
+    public int getBlobCount() {
+        return blobs.size();
+    }
+
+    /*
+     * 대표 기록을 지울 때 같은 blob 을 가리키는 다른 기록을 찾는다. 호출하는 쪽이 해시 잠금을 잡고 있고,
+     * 지울 기록은 이미 files 에서 빠져 있어야 한다. 기록을 훑는 것은 대표 기록이 지워질 때뿐이다.
+     */
+    private FileDTO anotherRecordOf(String contentHash) {
+        for (FileDTO file : files.values()) {
+            if (contentHash.equals(file.getContentHash())) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private ReentrantLock lockFor(String contentHash) {
+        return locks[Math.floorMod(contentHash.hashCode(), locks.length)];
+    }
+
+    @FunctionalInterface
+    public interface BlobAction {
+
+        void run() throws IOException;
+    }
+
+    private static final class Blob {
+
+        private final long size;
+        private final int references;
+        /* savedName 으로 찾을 때 돌려줄 기록. 이 blob 을 가리키는 기록 중 하나 */
+        private final FileDTO representative;
+
+        private Blob(long size, int references, FileDTO representative) {
+            this.size = size;
+            this.references = references;
+            this.representative = representative;
+        }
+    }
+}
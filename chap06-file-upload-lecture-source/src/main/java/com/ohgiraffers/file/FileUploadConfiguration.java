@@ -0,0 +1,111 @@
+package com.ohgiraffers.file;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+@EnableScheduling
+public class FileUploadConfiguration {
+
+    /*
+     * 업로드 파일을 보관할 저장소.
+     * local : file.upload.dir 아래에 해시 앞자리로 나눈 하위 디렉토리에 저장, memory : 테스트용 메모리 오브젝트 저장소
+     * packed : 작은 파일은 세그먼트 파일에 이어 붙이고, max-object-size 보다 큰 파일은 local 과 같이 저장
+     */
+    @Bean
+    public StorageBackend storageBackend(@Value("${file.storage.backend:local}") String backend,
+        @Value("${file.upload.dir:./data/uploads}") String uploadDir,
+        @Value("${file.storage.packed.max-object-size:1MB}") DataSize maxObjectSize,
+        @Value("${file.storage.packed.segment-size:256MB}") DataSize segmentSize,
+        @Value("${file.storage.packed.sync-on-write:false}") boolean syncOnWrite) throws IOException {
+        return switch (backend) {
+            case "local" -> new LocalShardedStorageBackend(Paths.get(uploadDir));
+            case "memory" -> new InMemoryObjectStorageBackend();
+            case "packed" -> new PackedSegmentStorageBackend(Paths.get(uploadDir),
+                new LocalShardedStorageBackend(Paths.get(uploadDir)), maxObjectSize.toBytes(), segmentSize.toBytes(),
+                syncOnWrite);
+            default -> throw new IllegalArgumentException("알 수 없는 저장소입니다: " + backend);
+        };
+    }
+
+    /*
+     * 다중 파일을 동시에 디스크에 쓸 때 사용하는 스레드 풀.
+     * 대기열까지 가득 차면 요청 스레드가 직접 쓰도록 해서 동시에 쓰는 파일 수가 무한히 늘지 않게 한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor fileWriteExecutor(
+        @Value("${file.upload.parallel.threads:4}") int threads,
+        @Value("${file.upload.parallel.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("file-write-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /*
+     * 업로드 후처리(해시, 메타데이터, 썸네일)를 실행하는 스레드 풀.
+     * 대기열이 가득 차면 업로드 요청 스레드가 submit-timeout 만큼 자리가 나기를 기다리고(backpressure),
+     * 그래도 자리가 없으면 RejectedExecutionException 으로 후처리를 포기한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor postUploadExecutor(
+        @Value("${file.upload.post-processing.threads:2}") int threads,
+        @Value("${file.upload.post-processing.queue-capacity:100}") int queueCapacity,
+        @Value("${file.upload.post-processing.submit-timeout:2s}") Duration submitTimeout) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("post-upload-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("후처리 스레드 풀이 종료되었습니다.");
+            }
+            try {
+                if (!pool.getQueue().offer(task, submitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException("후처리 대기열이 가득 찼습니다.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException(e);
+            }
+        });
+        return executor;
+    }
+
+    /* 내용 주소 저장소의 중복 제거 효과. ratio 가 3 이면 같은 내용을 평균 3번씩 올렸다는 뜻이다. */
+    @Bean
+    public MeterBinder fileStoreMetrics(FileRegistry fileRegistry) {
+        return registry -> {
+            Gauge.builder("file.store.dedup.ratio", fileRegistry, FileRegistry::getDedupRatio)
+                .description("논리 크기 / 물리 크기")
+                .register(registry);
+            Gauge.builder("file.store.logical.bytes", fileRegistry, FileRegistry::getLogicalBytes)
+                .description("업로드된 파일 크기의 합 (중복 포함)")
+                .baseUnit("bytes")
+                .register(registry);
+            Gauge.builder("file.store.physical.bytes", fileRegistry, FileRegistry::getPhysicalBytes)
+                .description("실제로 저장된 blob 크기의 합")
+                .baseUnit("bytes")
+                .register(registry);
+            Gauge.builder("file.store.blobs", fileRegistry, FileRegistry::getBlobCount)
+                .description("저장된 blob 수")
+                .register(registry);
+        };
+    }
+}
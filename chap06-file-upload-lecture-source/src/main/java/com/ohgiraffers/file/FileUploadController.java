@@ -1,16 +1,19 @@
 package com.ohgiraffers.file;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * 파일 업로드 기능을 담당하는 컨트롤러
@@ -19,6 +22,35 @@ import java.util.UUID;
 @Controller
 public class FileUploadController {
 
+    private static final Logger log = LoggerFactory.getLogger(FileUploadController.class);
+
+    private final StorageBackend storageBackend;
+    private final StagedFileWriter stagedFileWriter;
+    private final ContentAddressedStore contentAddressedStore;
+    private final FileRegistry fileRegistry;
+    private final PostUploadPipeline postUploadPipeline;
+    private final String uploadDir;
+    private final String multiFileMode;
+    private final boolean contentAddressed;
+
+    public FileUploadController(StorageBackend storageBackend,
+        StagedFileWriter stagedFileWriter,
+        ContentAddressedStore contentAddressedStore,
+        FileRegistry fileRegistry,
+        PostUploadPipeline postUploadPipeline,
+        @Value("${file.upload.dir:./data/uploads}") String uploadDir,
+        @Value("${file.upload.multi-file.mode:sequential}") String multiFileMode,
+        @Value("${file.upload.storage:uuid}") String storage) {
+        this.storageBackend = storageBackend;
+        this.stagedFileWriter = stagedFileWriter;
+        this.contentAddressedStore = contentAddressedStore;
+        this.fileRegistry = fileRegistry;
+        this.postUploadPipeline = postUploadPipeline;
+        this.uploadDir = uploadDir;
+        this.multiFileMode = multiFileMode;
+        this.contentAddressed = "content-addressed".equals(storage);
+    }
+
     /**
      * 단일 파일 업로드를 처리하는 메서드
      *
@@ -35,35 +67,41 @@ public class FileUploadController {
 //        System.out.println("singleFileDescription = " + singleFileDescription);
 //        System.out.println("singleFileDescription = " + singleFileDescription);
 
-        /* 업로드된 파일을 서버의 지정된 경로에 저장하기 위한 디렉토리 설정 */
-        String root = "src/main/resources/static";
-        String filePath = root + "/uploadFiles";
-        File dir = new File(filePath);
-        System.out.println(dir.getAbsolutePath());
-
-        /* 업로드 디렉토리가 존재하지 않으면 새로 생성 */
-        if(!dir.exists()) {
-            dir.mkdirs();
+        if (contentAddressed) {
+            contentAddressedUpload(singleFileDescription, List.of(singleFile), model);
+            return "result";
         }
 
-        /* 업로드된 파일의 원본 파일명 추출 및 확장자 분리 */
+        /* 업로드된 파일의 원본 파일명 추출 */
         String originFileName = singleFile.getOriginalFilename();
 
-        // 파일명에서 확장자(.jpg, .png 등) 추출
-        String ext = originFileName.substring(originFileName.lastIndexOf("."));
-        System.out.println("ext = " + ext);
+        /* 파일명 중복 방지를 위해 UUID를 사용하여 고유한 파일명 생성 (키로 쓸 수 없는 확장자는 붙이지 않는다) */
+        String savedName = StorageBackend.newKey(originFileName);
+        log.debug("savedName = {}", savedName);
 
-        /* 파일명 중복 방지를 위해 UUID를 사용하여 고유한 파일명 생성 */
-        String savedName = UUID.randomUUID() + ext;
-        System.out.println("savedName = " + savedName);
+        /* 실제 파일을 저장소(file.storage.backend)에 저장하는 처리 */
+        try (InputStream in = singleFile.getInputStream()) {
+            // 저장소가 디렉토리 생성과 하위 디렉토리 분산을 처리한다.
+            storageBackend.write(savedName, in);
+
+            /* 다운로드할 때 원래 파일명을 쓸 수 있도록 기록을 남긴다. */
+            FileDTO fileDTO = new FileDTO(originFileName, savedName, storageBackend.location(savedName),
+                singleFileDescription);
+            log.debug("location = {}", fileDTO.getFilePath());
+            fileRegistry.record(List.of(fileDTO));
+
+            /* 해시, 이미지 크기, 썸네일은 응답을 보낸 뒤 백그라운드에서 처리한다. */
+            postUploadPipeline.submit(List.of(fileDTO));
 
-        /* 실제 파일을 서버 디렉토리에 저장하는 처리 */
-        try {
-            // MultipartFile의 transferTo 메서드로 파일 저장
-            singleFile.transferTo(new File(filePath + "/" + savedName));
             model.addAttribute("message", "파일 업로드 완료!");
-        } catch (IOException e) {
-            // 파일 저장 실패 시 에러 메시지 설정
+            model.addAttribute("files", List.of(fileDTO));
+        } catch (IOException | IllegalArgumentException e) {
+            // 저장했거나 쓰는 중이던 파일을 지우고 에러 메시지 설정
+            log.warn("파일 업로드 실패: {}", e.getMessage());
+            try {
+                storageBackend.delete(savedName);
+            } catch (IOException | IllegalArgumentException ignored) {
+            }
             model.addAttribute("message", "파일 업로드 실패!");
         }
 
@@ -83,15 +121,21 @@ public class FileUploadController {
         @RequestParam List<MultipartFile> multiFile,
         Model model) {
 
-        System.out.println("multiFileDescription = " + multiFileDescription);
-        System.out.println("multiFile = " + multiFile);
+        log.debug("multiFileDescription = {}", multiFileDescription);
+        log.debug("multiFile = {}", multiFile);
 
-        String root = "src/main/resources/static";
-        String filePath = root + "/uploadFiles";
-        File dir = new File(filePath);
+        long start = System.nanoTime();
 
-        if(!dir.exists()) {
-            dir.mkdirs();
+        if (contentAddressed) {
+            contentAddressedUpload(multiFileDescription, multiFile, model);
+            model.addAttribute("elapsedMillis", (System.nanoTime() - start) / 1_000_000.0);
+            return "result";
+        }
+
+        if ("parallel".equals(multiFileMode)) {
+            parallelMultiFileUpload(multiFileDescription, multiFile, model);
+            model.addAttribute("elapsedMillis", (System.nanoTime() - start) / 1_000_000.0);
+            return "result";
         }
 
         /* 업로드된 파일 정보를 저장할 리스트 (실패 시 롤백용) */
@@ -105,35 +149,131 @@ public class FileUploadController {
 
                 /* 각 파일의 원본 파일명 추출 */
                 String originFileName = file.getOriginalFilename();
-                System.out.println("originFileName = " + originFileName);
-
-                /* 파일 확장자 추출 */
-                String ext = originFileName.substring(originFileName.lastIndexOf("."));
+                log.debug("originFileName = {}", originFileName);
 
-                /* UUID를 사용하여 고유한 저장용 파일명 생성 */
-                String savedName = UUID.randomUUID() + ext;
+                /* UUID와 원본 확장자로 고유한 저장용 파일명 생성 */
+                String savedName = StorageBackend.newKey(originFileName);
 
                 /* 파일 정보를 DTO 객체로 생성하여 리스트에 추가 (실패 시 롤백을 위한 정보 보관) */
-                files.add(new FileDTO(originFileName, savedName, filePath, multiFileDescription));
+                FileDTO fileDTO = new FileDTO(originFileName, savedName, storageBackend.location(savedName),
+                    multiFileDescription);
+                files.add(fileDTO);
 
-                /* 실제 파일을 서버 디렉토리에 저장 */
-                file.transferTo(new File(filePath + "/" + savedName));
+                /* 실제 파일을 저장소에 저장 */
+                long fileStart = System.nanoTime();
+                try (InputStream in = file.getInputStream()) {
+                    storageBackend.write(savedName, in);
+                }
+                fileDTO.setWriteMillis((System.nanoTime() - fileStart) / 1_000_000.0);
             }
 
-            /* 모든 파일 업로드 성공 시 성공 메시지 설정 */
+            /* 모든 파일 업로드 성공 시 기록을 남기고 후처리를 맡긴 뒤 성공 메시지 설정 */
+            fileRegistry.record(files);
+            postUploadPipeline.submit(files);
             model.addAttribute("message", "파일 업로드 완료!");
+            model.addAttribute("files", files);
 
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
 
             /* 파일 저장 중 오류 발생 시 이미 저장된 파일들을 삭제하여 데이터 정합성 유지 */
+            log.warn("다중 파일 업로드 실패: {}", e.getMessage());
             for(FileDTO file : files) {
-                new File(filePath + "/" + file.getSavedName()).delete();
+                try {
+                    storageBackend.delete(file.getSavedName());
+                } catch (IOException | IllegalArgumentException ignored) {
+                }
             }
 
             /* 업로드 실패 메시지 설정 */
             model.addAttribute("message", "파일 업로드 실패");
         }
 
+        model.addAttribute("elapsedMillis", (System.nanoTime() - start) / 1_000_000.0);
         return "result";
     }
-}
\ No newline at end of file
+
+    /**
+     * file.upload.multi-file.mode 가 parallel 일 때의 다중 파일 저장
+     * 파일들을 스테이징 디렉토리에 동시에 쓴 뒤, 모두 성공하면 저장소로 옮긴다.
+     * 하나라도 실패하면 저장소에는 아무 파일도 남지 않는다.
+     *
+     * @param multiFileDescription 파일들에 대한 공통 설명
+     * @param multiFile 업로드할 파일 목록
+     * @param model 뷰로 전달할 데이터를 담는 모델 객체
+     */
+    private void parallelMultiFileUpload(String multiFileDescription, List<MultipartFile> multiFile,
+        Model model) {
+
+        /* 저장용 파일명은 쓰기를 시작하기 전에 모두 정해 둔다. */
+        List<FileDTO> files = new ArrayList<>();
+        for(MultipartFile file : multiFile) {
+            String originFileName = file.getOriginalFilename();
+            String savedName = StorageBackend.newKey(originFileName);
+            files.add(new FileDTO(originFileName, savedName, storageBackend.location(savedName),
+                multiFileDescription));
+        }
+
+        try {
+            stagedFileWriter.writeAll(files, multiFile, Paths.get(uploadDir));
+            recordOrDelete(files);
+            postUploadPipeline.submit(files);
+            model.addAttribute("message", "파일 업로드 완료!");
+            model.addAttribute("files", files);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("병렬 업로드 실패: {}", e.getMessage());
+            model.addAttribute("message", "파일 업로드 실패");
+        }
+    }
+
+    /**
+     * file.upload.storage 가 content-addressed 일 때의 파일 저장
+     * 각 파일을 해시를 계산하며 저장하고, 같은 내용이 이미 있으면 기존 blob 을 공유한다.
+     * 하나라도 실패하면 이번 요청에서 추가한 기록을 모두 지운다 (공유 중인 blob 은 참조 수만 줄어든다).
+     *
+     * @param description 파일들에 대한 공통 설명
+     * @param multiFile 업로드할 파일 목록
+     * @param model 뷰로 전달할 데이터를 담는 모델 객체
+     */
+    private void contentAddressedUpload(String description, List<MultipartFile> multiFile, Model model) {
+
+        List<FileDTO> files = new ArrayList<>();
+        try {
+            for(MultipartFile file : multiFile) {
+                long fileStart = System.nanoTime();
+                FileDTO fileDTO;
+                try (InputStream in = file.getInputStream()) {
+                    fileDTO = contentAddressedStore.store(in, file.getOriginalFilename(), description);
+                }
+                fileDTO.setWriteMillis((System.nanoTime() - fileStart) / 1_000_000.0);
+                files.add(fileDTO);
+            }
+            postUploadPipeline.submit(files);
+            model.addAttribute("message", "파일 업로드 완료!");
+            model.addAttribute("files", files);
+        } catch (IOException e) {
+            for(FileDTO file : files) {
+                try {
+                    contentAddressedStore.delete(file.getFileId());
+                } catch (IOException ignored) {
+                }
+            }
+            model.addAttribute("message", "파일 업로드 실패");
+        }
+    }
+
+    /* 병렬 저장은 writeAll 이 끝나면 이미 저장소에 옮겨져 있으므로, 기록을 남기지 못하면 여기서 지운다. */
+    private void recordOrDelete(List<FileDTO> files) throws IOException {
+        try {
+            fileRegistry.record(files);
+        } catch (IOException e) {
+            for (FileDTO file : files) {
+                try {
+                    storageBackend.delete(file.getSavedName());
+                } catch (IOException cleanupError) {
+                    e.addSuppressed(cleanupError);
+                }
+            }
+            throw e;
+        }
+    }
+}
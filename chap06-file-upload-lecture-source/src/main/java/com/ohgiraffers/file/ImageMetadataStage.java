@@ -0,0 +1,54 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+/* 이미지의 가로/세로 크기를 읽는다. 헤더만 읽으므로 이미지 전체를 디코딩하지 않는다. */
+@Component
+@Order(2)
+public class ImageMetadataStage implements PostUploadStage {
+
+    @Override
+    public String getName() {
+        return "metadata";
+    }
+
+    @Override
+    public boolean supports(FileDTO file) {
+        return isImage(file);
+    }
+
+    @Override
+    public void process(FileDTO file, ContentSource content) throws IOException {
+        try (InputStream in = content.open();
+            ImageInputStream image = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = image == null ? null : ImageIO.getImageReaders(image);
+            if (readers == null || !readers.hasNext()) {
+                /* 확장자만 이미지이고 읽을 수 없는 형식이면 크기 없이 넘어간다. */
+                return;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(image, true, true);
+                file.setImageWidth(reader.getWidth(0));
+                file.setImageHeight(reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static boolean isImage(FileDTO file) {
+        return file.getOriginalFileName() != null
+            && MediaTypeFactory.getMediaType(file.getOriginalFileName())
+                .map(type -> "image".equals(type.getType()))
+                .orElse(false);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ohgiraffers.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 오브젝트 스토리지(S3 등)를 흉내 내는 메모리 저장소 (file.storage.backend=memory)
+ *
+ * 객체는 쓰기가 끝났을 때 통째로 한 번에 보이고, 로컬 파일 경로가 없어서 내려받기는 스트림으로 복사된다.
+ * 디스크 없이 저장 흐름을 확인하거나 원격 저장소에서의 동작을 미리 볼 때 사용한다. 재시작하면 내용이 사라진다.
+ */
+public class InMemoryObjectStorageBackend implements StorageBackend {
+
+    private final Map<String, StoredBytes> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public void write(String key, ContentWriter writer) throws IOException {
+        StorageBackend.checkKey(key);
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        writer.writeTo(Channels.newChannel(content));
+        objects.put(key, new StoredBytes(content.toByteArray(), System.currentTimeMillis()));
+    }
+
+    @Override
+    public void store(String key, Path source) throws IOException {
+        StorageBackend.checkKey(key);
+        objects.put(key, new StoredBytes(Files.readAllBytes(source), System.currentTimeMillis()));
+        Files.delete(source);
+    }
+
+    @Override
+    public StoredObject stat(String key) {
+        StoredBytes stored = objects.get(key);
+        return stored == null ? null : new StoredObject(key, stored.content.length, stored.lastModified);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        StoredBytes stored = objects.get(key);
+        if (stored == null) {
+            throw new IOException("객체가 없습니다: " + key);
+        }
+        return new ByteArrayInputStream(stored.content);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return objects.remove(key) != null;
+    }
+
+    @Override
+    public Path localPath(String key) {
+        return null;
+    }
+
+    @Override
+    public String location(String key) {
+        return "memory://" + key;
+    }
+
+    private static final class StoredBytes {
+
+        private final byte[] content;
+        private final long lastModified;
+
+        private StoredBytes(byte[] content, long lastModified) {
+            this.content = content;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 키의 해시 앞 4자리로 두 단계 하위 디렉토리를 만들어 파일을 나눠 저장하는 로컬 저장소
+ *
+ * <pre>
+ * {root}/3f/a2/0c6e7d1a-....jpg
+ * </pre>
+ *
+ * 디렉토리 하나에 파일이 수백만 개 쌓이면 생성/조회가 느려지므로 65,536 개의 디렉토리로 고르게 나눈다.
+ * UUID 가 아닌 이름도 고르게 나뉘도록 키 문자열 자체가 아니라 키의 SHA-256 으로 위치를 정한다.
+ * 쓰기는 {root}/.tmp 에 한 뒤 같은 파일 시스템 안의 원자적 rename 으로 공개한다.
+ */
+public class LocalShardedStorageBackend implements StorageBackend {
+
+    private static final String TEMP_DIR = ".tmp";
+
+    private final Path root;
+    private final Path tempDir;
+
+    public LocalShardedStorageBackend(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.tempDir = this.root.resolve(TEMP_DIR);
+    }
+
+    @Override
+    public void write(String key, ContentWriter writer) throws IOException {
+        Path target = path(key);
+        Path temp = newTempFile();
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE)) {
+                writer.writeTo(channel);
+            }
+            publish(temp, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public void store(String key, Path source) throws IOException {
+        Path target = path(key);
+        try {
+            publish(source, target);
+        } catch (AtomicMoveNotSupportedException e) {
+            /* 다른 파일 시스템에 있는 파일은 임시 파일로 복사한 뒤 옮긴다. */
+            Path temp = newTempFile();
+            try {
+                Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+                publish(temp, target);
+            } catch (IOException | RuntimeException copyFailure) {
+                Files.deleteIfExists(temp);
+                throw copyFailure;
+            }
+            Files.delete(source);
+        }
+    }
+
+    @Override
+    public StoredObject stat(String key) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path(key), BasicFileAttributes.class);
+            return attributes.isRegularFile()
+                ? new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toMillis())
+                : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(path(key));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(path(key));
+    }
+
+    @Override
+    public Path localPath(String key) {
+        return path(key);
+    }
+
+    @Override
+    public String location(String key) {
+        return path(key).getParent().toString();
+    }
+
+    Path path(String key) {
+        byte[] hash = sha256(StorageBackend.checkKey(key));
+        String shard = HexFormat.of().formatHex(hash, 0, 2);
+        return root.resolve(shard.substring(0, 2)).resolve(shard.substring(2, 4)).resolve(key);
+    }
+
+    private Path newTempFile() throws IOException {
+        Files.createDirectories(tempDir);
+        return tempDir.resolve(UUID.randomUUID() + ".tmp");
+    }
+
+    private static void publish(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] sha256(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
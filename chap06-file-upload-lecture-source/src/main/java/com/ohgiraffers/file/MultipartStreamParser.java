@@ -0,0 +1,348 @@
+package com.ohgiraffers.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartException;
+
+/**
+ * multipart/form-data 요청 본문을 도착하는 순서대로 한 파트씩 읽는 파서
+ * 파트 전체를 메모리나 임시 파일에 모으지 않고, 고정 크기 버퍼 하나로 경계를 찾으면서 내용을 바로 넘겨준다.
+ *
+ * <pre>
+ * MultipartStreamParser parser = new MultipartStreamParser(in, boundary, 64 * 1024, maxRequestSize);
+ * MultipartStreamParser.Part part;
+ * while ((part = parser.nextPart()) != null) {
+ *     if (part.isFile()) {
+ *         parser.transferTo(fileChannel);
+ *     } else {
+ *         String value = parser.readString(8192, StandardCharsets.UTF_8);
+ *     }
+ * }
+ * </pre>
+ */
+public class MultipartStreamParser {
+
+    private static final int MAX_HEADER_SIZE = 8 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buf;
+    private final ByteBuffer view;
+    private final long maxRequestSize;
+
+    private int pos;
+    private int limit;
+    private long totalRead;
+    private boolean bodyPending = true;
+    private boolean finished;
+
+    /**
+     * @param in             요청 본문 스트림
+     * @param boundary       Content-Type 의 boundary 값
+     * @param bufferSize     파싱 버퍼 크기. 요청 하나가 쓰는 메모리는 이 크기로 고정된다.
+     * @param maxRequestSize 읽을 수 있는 최대 본문 크기(바이트), 음수이면 제한 없음
+     */
+    public MultipartStreamParser(InputStream in, String boundary, int bufferSize, long maxRequestSize) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        if (bufferSize < Math.max(MAX_HEADER_SIZE, delimiter.length * 2)) {
+            throw new IllegalArgumentException("버퍼 크기가 너무 작습니다: " + bufferSize);
+        }
+        this.buf = new byte[bufferSize];
+        this.view = ByteBuffer.wrap(buf);
+        this.maxRequestSize = maxRequestSize;
+
+        /* 첫 경계 앞에는 CRLF 가 없으므로 하나 붙여 두고, 이후 모든 경계를 같은 구분자로 찾는다. */
+        buf[0] = '\r';
+        buf[1] = '\n';
+        limit = 2;
+    }
+
+    /**
+     * Content-Type 헤더에서 boundary 값을 꺼낸다.
+     *
+     * @param contentType 요청의 Content-Type
+     * @return boundary 값, multipart/form-data 가 아니거나 boundary 가 없으면 null
+     */
+    public static String extractBoundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase().startsWith("multipart/form-data")) {
+            return null;
+        }
+        String boundary = parameter(contentType, "boundary");
+        return boundary == null || boundary.isEmpty() || boundary.length() > 70 ? null : boundary;
+    }
+
+    /**
+     * 다음 파트의 헤더까지 읽는다. 현재 파트의 내용을 아직 읽지 않았으면 건너뛴다.
+     *
+     * @return 다음 파트, 더 이상 파트가 없으면 null
+     */
+    public Part nextPart() throws IOException {
+        if (bodyPending) {
+            skip();
+        }
+        if (finished) {
+            return null;
+        }
+
+        String disposition = null;
+        String contentType = null;
+        int headerSize = 0;
+        String line;
+        while (!(line = readHeaderLine()).isEmpty()) {
+            headerSize += line.length() + 2;
+            if (headerSize > MAX_HEADER_SIZE) {
+                throw new MultipartException("파트 헤더가 너무 큽니다.");
+            }
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (name.equalsIgnoreCase("Content-Disposition")) {
+                disposition = value;
+            } else if (name.equalsIgnoreCase("Content-Type")) {
+                contentType = value;
+            }
+        }
+
+        if (disposition == null) {
+            throw new MultipartException("Content-Disposition 헤더가 없는 파트입니다.");
+        }
+        bodyPending = true;
+        return new Part(parameter(disposition, "name"), parameter(disposition, "filename"), contentType);
+    }
+
+    /**
+     * 현재 파트의 내용을 채널에 그대로 쓴다.
+     *
+     * @param channel 내용을 쓸 채널 (예: FileChannel)
+     * @return 쓴 바이트 수
+     */
+    public long transferTo(WritableByteChannel channel) throws IOException {
+        return readBody((off, len) -> {
+            view.limit(off + len).position(off);
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+        });
+    }
+
+    /**
+     * 현재 파트의 내용을 문자열로 읽는다. 일반 입력 필드에 사용한다.
+     *
+     * @param maxBytes 허용할 최대 크기, 넘으면 MultipartException
+     */
+    public String readString(int maxBytes, Charset charset) throws IOException {
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        readBody((off, len) -> {
+            if (value.size() + len > maxBytes) {
+                throw new MultipartException("입력 값이 " + maxBytes + " 바이트를 넘습니다.");
+            }
+            value.write(buf, off, len);
+        });
+        return value.toString(charset);
+    }
+
+    /** 현재 파트의 내용을 읽어서 버린다. */
+    public void skip() throws IOException {
+        readBody((off, len) -> {
+        });
+    }
+
+    /*
+     * 다음 구분자 앞까지의 내용을 consumer 로 넘긴다.
+     * 구분자가 버퍼 끝에 걸쳐 있을 수 있으므로 구분자 길이 - 1 바이트는 다음 읽기까지 남겨 둔다.
+     */
+    private long readBody(BodyConsumer consumer) throws IOException {
+        if (!bodyPending) {
+            throw new IllegalStateException("nextPart() 를 먼저 호출해야 합니다.");
+        }
+        long written = 0;
+        while (true) {
+            int idx = indexOfDelimiter(pos, limit);
+            if (idx >= 0) {
+                if (idx > pos) {
+                    consumer.accept(pos, idx - pos);
+                    written += idx - pos;
+                }
+                pos = idx + delimiter.length;
+                break;
+            }
+            int safe = Math.max(pos, limit - delimiter.length + 1);
+            if (safe > pos) {
+                consumer.accept(pos, safe - pos);
+                written += safe - pos;
+                pos = safe;
+            }
+            if (!fill()) {
+                throw new MultipartException("마지막 경계 없이 요청 본문이 끝났습니다.");
+            }
+        }
+
+        bodyPending = false;
+        require(2);
+        if (buf[pos] == '-' && buf[pos + 1] == '-') {
+            finished = true;
+        } else if (buf[pos] == '\r' && buf[pos + 1] == '\n') {
+            pos += 2;
+        } else {
+            throw new MultipartException("경계 뒤에 잘못된 문자가 있습니다.");
+        }
+        return written;
+    }
+
+    private String readHeaderLine() throws IOException {
+        while (true) {
+            for (int i = pos; i < limit - 1; i++) {
+                if (buf[i] == '\r' && buf[i + 1] == '\n') {
+                    String line = new String(buf, pos, i - pos, StandardCharsets.UTF_8);
+                    pos = i + 2;
+                    return line;
+                }
+            }
+            if (limit - pos >= MAX_HEADER_SIZE) {
+                throw new MultipartException("파트 헤더가 너무 큽니다.");
+            }
+            if (!fill()) {
+                throw new MultipartException("파트 헤더를 읽는 중에 요청 본문이 끝났습니다.");
+            }
+        }
+    }
+
+    private int indexOfDelimiter(int from, int to) {
+        byte first = delimiter[0];
+        int last = to - delimiter.length;
+        outer:
+        for (int i = from; i <= last; i++) {
+            if (buf[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buf[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private void require(int length) throws IOException {
+        while (limit - pos < length) {
+            if (!fill()) {
+                throw new MultipartException("요청 본문이 예상보다 일찍 끝났습니다.");
+            }
+        }
+    }
+
+    /* 남은 내용을 버퍼 앞으로 옮기고 빈 자리를 채운다. 더 읽을 내용이 없으면 false */
+    private boolean fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        int read = in.read(buf, limit, buf.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        totalRead += read;
+        if (maxRequestSize >= 0 && totalRead > maxRequestSize) {
+            throw new MaxUploadSizeExceededException(maxRequestSize);
+        }
+        return true;
+    }
+
+    /* 헤더 값에서 name=value 또는 name="value" 형태의 파라미터를 찾는다. */
+    private static String parameter(String header, String name) {
+        int i = header.indexOf(';');
+        while (i >= 0 && i < header.length()) {
+            int start = i + 1;
+            int eq = header.indexOf('=', start);
+            if (eq < 0) {
+                return null;
+            }
+            String key = header.substring(start, eq).trim();
+            int valueStart = eq + 1;
+            String value;
+            int next;
+            if (valueStart < header.length() && header.charAt(valueStart) == '"') {
+                StringBuilder sb = new StringBuilder();
+                int j = valueStart + 1;
+                while (j < header.length() && header.charAt(j) != '"') {
+                    char c = header.charAt(j);
+                    if (c == '\\' && j + 1 < header.length()) {
+                        c = header.charAt(++j);
+                    }
+                    sb.append(c);
+                    j++;
+                }
+                value = sb.toString();
+                next = header.indexOf(';', j);
+            } else {
+                next = header.indexOf(';', valueStart);
+                value = header.substring(valueStart, next < 0 ? header.length() : next).trim();
+            }
+            if (key.equalsIgnoreCase(name)) {
+                return value;
+            }
+            i = next;
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface BodyConsumer {
+
+        void accept(int off, int len) throws IOException;
+    }
+
+    /* 파트 헤더에서 꺼낸 정보 */
+    public static final class Part {
+
+        private final String name;
+        private final String fileName;
+        private final String contentType;
+
+        private Part(String name, String fileName, String contentType) {
+            this.name = name;
+            this.fileName = fileName;
+            this.contentType = contentType;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /* filename 파라미터가 있으면 파일 파트이다. 파일을 고르지 않은 input 은 빈 filename 으로 온다. */
+        public boolean isFile() {
+            return fileName != null;
+        }
+
+        @Override
+        public String toString() {
+            return "Part{" +
+                "name='" + name + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", contentType='" + contentType + '\'' +
+                '}';
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/* packed 저장소를 쓸 때 삭제된 내용이 많이 쌓인 세그먼트를 주기적으로 정리한다. */
+@Component
+@ConditionalOnProperty(name = "file.storage.backend", havingValue = "packed")
+public class PackedSegmentCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(PackedSegmentCompactor.class);
+
+    private final PackedSegmentStorageBackend storageBackend;
+    private final double threshold;
+
+    public PackedSegmentCompactor(StorageBackend storageBackend,
+        @Value("${file.storage.packed.compaction-threshold:0.5}") double threshold) {
+        this.storageBackend = (PackedSegmentStorageBackend) storageBackend;
+        this.threshold = threshold;
+    }
+
+    @Scheduled(fixedDelayString = "${file.storage.packed.compaction-interval:10m}")
+    public void compact() {
+        try {
+            int compacted = storageBackend.compact(threshold);
+            if (compacted > 0) {
+                log.info("세그먼트 {}개 압축, 남은 세그먼트 {}개", compacted, storageBackend.getSegmentCount());
+            }
+        } catch (IOException e) {
+            log.warn("세그먼트 압축 실패: {}", e.getMessage());
+        }
+    }
+}
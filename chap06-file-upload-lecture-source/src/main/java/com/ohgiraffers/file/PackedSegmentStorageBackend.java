@@ -0,0 +1,699 @@
+package com.ohgiraffers.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 작은 파일을 큰 세그먼트 파일 몇 개에 이어 붙여 저장하는 저장소 (file.storage.backend=packed)
+ *
+ * 업로드 하나마다 파일을 만들면 작은 이미지가 많을 때 inode 와 디렉토리 조회(seek)가 파일 수만큼 늘어난다.
+ * 여기서는 Haystack 처럼 max-object-size 이하의 객체를 {root}/.segments/segment-000001.dat 에 차례로 덧붙이고,
+ * 메모리의 인덱스(savedName → 세그먼트, 오프셋, 길이)로 한 번의 위치 지정 읽기만 해서 내용을 찾는다.
+ * 그보다 큰 객체는 largeObjects 저장소(기본은 로컬 샤딩 디렉토리)에 그대로 맡긴다.
+ *
+ * <pre>
+ * 레코드 = magic(4) type(1) keyLength(2) length(8) lastModified(8) ref(4) crc(4) key data
+ * </pre>
+ *
+ * - 쓰기는 한 번에 하나씩, 활성 세그먼트 끝에만 덧붙인다. 세그먼트가 segment-size 를 넘으면 새 세그먼트를 연다.
+ * - 삭제는 삭제 표시(DELETE 레코드, ref = 지운 내용이 있던 세그먼트)를 덧붙이고 인덱스에서 뺀다.
+ * - 기동할 때 세그먼트를 처음부터 읽어 인덱스를 다시 만든다. 중간에 죽어서 끝이 잘렸거나 CRC 가 맞지 않는
+ *   레코드를 만나면 그 지점에서 세그먼트를 잘라 마지막으로 온전하게 쓴 레코드까지만 남긴다.
+ * - compact() 는 삭제된 비율이 높은 세그먼트의 살아 있는 레코드를 활성 세그먼트로 옮기고 세그먼트를 지운다.
+ *
+ * 세그먼트 안의 객체는 독립된 파일이 아니므로 localPath 는 null 이고, 내려받기는 스트림으로 복사된다.
+ */
+public class PackedSegmentStorageBackend implements StorageBackend, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PackedSegmentStorageBackend.class);
+
+    private static final String SEGMENT_DIR = ".segments";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.dat");
+
+    private static final int MAGIC = 0x50414B31;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_SIZE = 4 + 1 + 2 + 8 + 8 + 4 + 4;
+
+    private final Path segmentDir;
+    private final StorageBackend largeObjects;
+    private final long maxObjectSize;
+    private final long segmentSize;
+    private final boolean syncOnWrite;
+
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+
+    /* 세그먼트 목록과 세그먼트 안의 크기 정보는 appendLock 을 잡고 바꾼다. */
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    /* 압축이 세그먼트 파일을 지우는 동안 읽기가 그 파일을 새로 열지 못하게 한다. */
+    private final ReentrantReadWriteLock segmentFileLock = new ReentrantReadWriteLock();
+
+    public PackedSegmentStorageBackend(Path root, StorageBackend largeObjects, long maxObjectSize,
+        long segmentSize, boolean syncOnWrite) throws IOException {
+        this.segmentDir = root.toAbsolutePath().normalize().resolve(SEGMENT_DIR);
+        this.largeObjects = largeObjects;
+        this.maxObjectSize = maxObjectSize;
+        this.segmentSize = segmentSize;
+        this.syncOnWrite = syncOnWrite;
+        recover();
+    }
+
+    @Override
+    public void write(String key, ContentWriter writer) throws IOException {
+        byte[] keyBytes = StorageBackend.checkKey(key).getBytes(StandardCharsets.UTF_8);
+        SpillingChannel channel = new SpillingChannel(keyBytes);
+        try {
+            writer.writeTo(channel);
+            channel.close();
+            if (channel.temp != null) {
+                largeObjects.store(key, channel.temp);
+                return;
+            }
+            put(key, keyBytes, ByteBuffer.wrap(channel.memory.toByteArray()), channel.crc);
+        } finally {
+            channel.close();
+            if (channel.temp != null) {
+                Files.deleteIfExists(channel.temp);
+            }
+        }
+    }
+
+    @Override
+    public void store(String key, Path source) throws IOException {
+        byte[] keyBytes = StorageBackend.checkKey(key).getBytes(StandardCharsets.UTF_8);
+        if (Files.size(source) > maxObjectSize) {
+            largeObjects.store(key, source);
+            return;
+        }
+
+        byte[] content = Files.readAllBytes(source);
+        CRC32 crc = new CRC32();
+        crc.update(keyBytes);
+        crc.update(content);
+        put(key, keyBytes, ByteBuffer.wrap(content), crc);
+        Files.delete(source);
+    }
+
+    @Override
+    public StoredObject stat(String key) throws IOException {
+        Entry entry = index.get(key);
+        return entry != null ? new StoredObject(key, entry.length, entry.lastModified) : largeObjects.stat(key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        segmentFileLock.readLock().lock();
+        try {
+            Entry entry = index.get(key);
+            if (entry == null) {
+                return largeObjects.open(key);
+            }
+            /* 열어 둔 채널은 압축이 세그먼트 파일을 지운 뒤에도 끝까지 읽을 수 있다. */
+            FileChannel channel = FileChannel.open(segmentPath(entry.segment), StandardOpenOption.READ);
+            return new SegmentInputStream(channel, entry.dataOffset(), entry.length);
+        } finally {
+            segmentFileLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        appendLock.lock();
+        try {
+            Entry entry = index.get(key);
+            if (entry == null) {
+                return largeObjects.delete(key);
+            }
+
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            CRC32 crc = new CRC32();
+            crc.update(keyBytes);
+            Entry tombstone = append(DELETE, keyBytes, ByteBuffer.allocate(0), System.currentTimeMillis(),
+                entry.segment, crc);
+            index.remove(key);
+            segments.get(entry.segment).dead += entry.recordLength();
+            segments.get(tombstone.segment).dead += tombstone.recordLength();
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public Path localPath(String key) {
+        return index.containsKey(key) ? null : largeObjects.localPath(key);
+    }
+
+    @Override
+    public String location(String key) {
+        Entry entry = index.get(key);
+        return entry != null
+            ? segmentPath(entry.segment) + "@" + entry.offset
+            : largeObjects.location(key);
+    }
+
+    /**
+     * 삭제된 바이트 비율이 threshold 이상인 세그먼트(활성 세그먼트 제외)를 정리한다.
+     * 살아 있는 레코드와 아직 필요한 삭제 표시만 활성 세그먼트 끝으로 옮긴 뒤 세그먼트 파일을 지운다.
+     * 옮기는 동안에는 새 업로드의 세그먼트 쓰기가 기다린다.
+     *
+     * @param threshold 0 ~ 1 사이의 삭제 비율
+     * @return 지운 세그먼트 수
+     */
+    public int compact(double threshold) throws IOException {
+        List<Integer> candidates = new ArrayList<>();
+        appendLock.lock();
+        try {
+            int active = segments.isEmpty() ? -1 : segments.lastKey();
+            for (Segment segment : segments.values()) {
+                if (segment.id != active
+                    && (segment.size == 0 || (double) segment.dead / segment.size >= threshold)) {
+                    candidates.add(segment.id);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+
+        int compacted = 0;
+        for (int id : candidates) {
+            appendLock.lock();
+            try {
+                Segment segment = segments.get(id);
+                if (segment == null) {
+                    continue;
+                }
+                compactSegment(segment);
+                compacted++;
+            } finally {
+                appendLock.unlock();
+            }
+        }
+        return compacted;
+    }
+
+    public int getSegmentCount() {
+        appendLock.lock();
+        try {
+            return segments.size();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long getDeadBytes() {
+        appendLock.lock();
+        try {
+            return segments.values().stream().mapToLong(segment -> segment.dead).sum();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public int getObjectCount() {
+        return index.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void put(String key, byte[] keyBytes, ByteBuffer content, CRC32 crc) throws IOException {
+        appendLock.lock();
+        try {
+            Entry entry = append(PUT, keyBytes, content, System.currentTimeMillis(), 0, crc);
+            Entry previous = index.put(key, entry);
+            if (previous != null) {
+                segments.get(previous.segment).dead += previous.recordLength();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /* appendLock 을 잡은 상태에서 레코드 하나를 활성 세그먼트 끝에 쓴다. */
+    private Entry append(byte type, byte[] keyBytes, ByteBuffer content, long lastModified, int ref, CRC32 crc)
+        throws IOException {
+        if (keyBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("키가 너무 깁니다: " + keyBytes.length + " bytes");
+        }
+        long length = content.remaining();
+        Segment segment = activeSegment(HEADER_SIZE + keyBytes.length + length);
+        long offset = segment.size;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length)
+            .putInt(MAGIC)
+            .put(type)
+            .putShort((short) keyBytes.length)
+            .putLong(length)
+            .putLong(lastModified)
+            .putInt(ref)
+            .putInt((int) crc.getValue())
+            .put(keyBytes)
+            .flip();
+
+        try {
+            long position = writeFully(segment.channel, header, offset);
+            writeFully(segment.channel, content, position);
+            if (syncOnWrite) {
+                segment.channel.force(false);
+            }
+        } catch (IOException e) {
+            /* 쓰다 만 레코드는 지워서 다음 레코드가 그 뒤에 붙지 않도록 한다. */
+            segment.channel.truncate(offset);
+            throw e;
+        }
+
+        Entry entry = new Entry(segment.id, offset, keyBytes.length, length, lastModified);
+        segment.size += entry.recordLength();
+        return entry;
+    }
+
+    private Segment activeSegment(long recordLength) throws IOException {
+        if (!segments.isEmpty()) {
+            Segment active = segments.lastEntry().getValue();
+            if (active.size == 0 || active.size + recordLength <= segmentSize) {
+                return active;
+            }
+        }
+        int id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Segment segment = new Segment(id, FileChannel.open(segmentPath(id), StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void compactSegment(Segment source) throws IOException {
+        Map<String, Entry> moved = new HashMap<>();
+        Map<Integer, Segment> targets = new HashMap<>();
+        long position = 0;
+        while (position < source.size) {
+            RecordHeader record = RecordHeader.read(source.channel, position);
+            String key = record.key;
+            Entry current = index.get(key);
+
+            boolean livePut = record.type == PUT && current != null
+                && current.segment == source.id && current.offset == position;
+            /* 지운 내용이 아직 다른 세그먼트에 남아 있으면 재기동 때 되살아나지 않도록 삭제 표시를 유지한다. */
+            boolean neededDelete = record.type == DELETE && record.ref != source.id
+                && segments.containsKey(record.ref);
+
+            if (livePut || neededDelete) {
+                Segment target = activeSegment(record.recordLength());
+                targets.put(target.id, target);
+                long targetOffset = target.size;
+                target.channel.position(targetOffset);
+                transferFully(source.channel, position, record.recordLength(), target.channel);
+                target.size += record.recordLength();
+                if (livePut) {
+                    moved.put(key, new Entry(target.id, targetOffset, record.keyLength, record.length,
+                        record.lastModified));
+                } else {
+                    target.dead += record.recordLength();
+                }
+            }
+            position += record.recordLength();
+        }
+
+        /*
+         * 원본 세그먼트를 지우면 옮긴 레코드는 대상 세그먼트에만 남는다.
+         * sync-on-write 설정과 상관없이 대상 세그먼트를 디스크에 내린 뒤에 지워야 전원이 나가도 잃지 않는다.
+         */
+        for (Segment target : targets.values()) {
+            target.channel.force(true);
+        }
+
+        segmentFileLock.writeLock().lock();
+        try {
+            index.putAll(moved);
+            segments.remove(source.id);
+            source.channel.close();
+            Files.delete(segmentPath(source.id));
+        } finally {
+            segmentFileLock.writeLock().unlock();
+        }
+        log.info("세그먼트 {} 압축 완료: 옮긴 객체 {}개, 회수한 바이트 {}", source.id, moved.size(),
+            source.size - moved.values().stream().mapToLong(Entry::recordLength).sum());
+    }
+
+    /*
+     * 세그먼트를 순서대로 읽어 인덱스를 다시 만든다.
+     * 같은 키가 여러 번 나오면 뒤에 쓴 레코드가 이긴다.
+     */
+    private void recover() throws IOException {
+        Files.createDirectories(segmentDir);
+        try (Stream<Path> files = Files.list(segmentDir)) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                    continue;
+                }
+                Matcher matcher = SEGMENT_NAME.matcher(name);
+                if (matcher.matches()) {
+                    int id = Integer.parseInt(matcher.group(1));
+                    segments.put(id, new Segment(id, FileChannel.open(file, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)));
+                }
+            }
+        }
+
+        for (Segment segment : segments.values()) {
+            long fileSize = segment.channel.size();
+            long position = 0;
+            while (position < fileSize) {
+                RecordHeader record = RecordHeader.readValid(segment.channel, position, fileSize);
+                if (record == null) {
+                    break;
+                }
+                segment.size = position + record.recordLength();
+                if (record.type == PUT) {
+                    Entry previous = index.put(record.key, new Entry(segment.id, position, record.keyLength,
+                        record.length, record.lastModified));
+                    if (previous != null) {
+                        segments.get(previous.segment).dead += previous.recordLength();
+                    }
+                } else {
+                    Entry removed = index.remove(record.key);
+                    if (removed != null) {
+                        segments.get(removed.segment).dead += removed.recordLength();
+                    }
+                    segment.dead += record.recordLength();
+                }
+                position += record.recordLength();
+            }
+
+            if (position < fileSize) {
+                log.warn("세그먼트 {} 의 끝이 손상되어 {} 바이트 위치에서 잘라냅니다 ({} 바이트 버림)",
+                    segment.id, position, fileSize - position);
+                segment.channel.truncate(position);
+                segment.channel.force(true);
+            }
+        }
+
+        log.info("packed 저장소 복구 완료: segments={}, objects={}, dead bytes={}",
+            segments.size(), index.size(), getDeadBytes());
+    }
+
+    private Path segmentPath(int id) {
+        return segmentDir.resolve(String.format("segment-%06d.dat", id));
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return position;
+    }
+
+    private static void transferFully(FileChannel source, long position, long count, FileChannel target)
+        throws IOException {
+        while (count > 0) {
+            long sent = source.transferTo(position, count, target);
+            if (sent <= 0) {
+                throw new EOFException("세그먼트가 예상보다 짧습니다.");
+            }
+            position += sent;
+            count -= sent;
+        }
+    }
+
+    /* 인덱스 한 칸. offset 은 레코드 헤더의 시작 위치이다. */
+    private static final class Entry {
+
+        private final int segment;
+        private final long offset;
+        private final int keyLength;
+        private final long length;
+        private final long lastModified;
+
+        private Entry(int segment, long offset, int keyLength, long length, long lastModified) {
+            this.segment = segment;
+            this.offset = offset;
+            this.keyLength = keyLength;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        private long dataOffset() {
+            return offset + HEADER_SIZE + keyLength;
+        }
+
+        private long recordLength() {
+            return HEADER_SIZE + keyLength + length;
+        }
+    }
+
+    private static final class Segment {
+
+        private final int id;
+        private final FileChannel channel;
+        private long size;
+        private long dead;
+
+        private Segment(int id, FileChannel channel) {
+            this.id = id;
+            this.channel = channel;
+        }
+    }
+
+    private static final class RecordHeader {
+
+        private byte type;
+        private int keyLength;
+        private long length;
+        private long lastModified;
+        private int ref;
+        private int crc;
+        private String key;
+
+        private long recordLength() {
+            return HEADER_SIZE + keyLength + length;
+        }
+
+        /* 이미 검증된 레코드를 읽는다. */
+        private static RecordHeader read(FileChannel channel, long position) throws IOException {
+            RecordHeader record = readHeader(channel, position);
+            if (record == null) {
+                throw new IOException("손상된 세그먼트 레코드입니다: " + position);
+            }
+            ByteBuffer key = ByteBuffer.allocate(record.keyLength);
+            readFully(channel, key, position + HEADER_SIZE);
+            record.key = new String(key.array(), StandardCharsets.UTF_8);
+            return record;
+        }
+
+        /*
+         * 레코드를 읽고 길이와 CRC 를 검증한다.
+         * 파일 끝을 넘거나 내용이 맞지 않으면(쓰는 도중 죽은 레코드) null 을 반환한다.
+         */
+        private static RecordHeader readValid(FileChannel channel, long position, long fileSize)
+            throws IOException {
+            if (fileSize - position < HEADER_SIZE) {
+                return null;
+            }
+            RecordHeader record = readHeader(channel, position);
+            if (record == null || record.length > fileSize || record.recordLength() > fileSize - position) {
+                return null;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(64 * 1024, Math.max(record.keyLength,
+                record.length)));
+            CRC32 crc = new CRC32();
+
+            ByteBuffer key = ByteBuffer.allocate(record.keyLength);
+            readFully(channel, key, position + HEADER_SIZE);
+            crc.update(key.array());
+
+            long dataPosition = position + HEADER_SIZE + record.keyLength;
+            long remaining = record.length;
+            while (remaining > 0) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+                readFully(channel, buffer, dataPosition);
+                crc.update(buffer.flip());
+                dataPosition += buffer.limit();
+                remaining -= buffer.limit();
+            }
+
+            if ((int) crc.getValue() != record.crc) {
+                return null;
+            }
+            record.key = new String(key.array(), StandardCharsets.UTF_8);
+            return record;
+        }
+
+        private static RecordHeader readHeader(FileChannel channel, long position) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, position);
+            header.flip();
+
+            RecordHeader record = new RecordHeader();
+            int magic = header.getInt();
+            record.type = header.get();
+            record.keyLength = Short.toUnsignedInt(header.getShort());
+            record.length = header.getLong();
+            record.lastModified = header.getLong();
+            record.ref = header.getInt();
+            record.crc = header.getInt();
+
+            boolean valid = magic == MAGIC && (record.type == PUT || record.type == DELETE)
+                && record.keyLength > 0 && record.length >= 0;
+            return valid ? record : null;
+        }
+
+        private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("세그먼트가 예상보다 짧습니다.");
+                }
+                position += read;
+            }
+        }
+    }
+
+    /*
+     * max-object-size 까지는 메모리에 모으고, 넘으면 임시 파일로 옮겨서 계속 쓰는 채널.
+     * 메모리에 모인 내용으로는 키와 내용의 CRC 도 함께 계산한다.
+     */
+    private final class SpillingChannel implements WritableByteChannel {
+
+        private final ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private final CRC32 crc = new CRC32();
+        private Path temp;
+        private FileChannel file;
+        private boolean open = true;
+
+        private SpillingChannel(byte[] keyBytes) {
+            crc.update(keyBytes);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int count = src.remaining();
+            if (file == null && memory.size() + (long) count > maxObjectSize) {
+                temp = segmentDir.resolve(UUID.randomUUID() + ".tmp");
+                file = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                writeFully(file, ByteBuffer.wrap(memory.toByteArray()), 0);
+                file.position(memory.size());
+                memory.reset();
+            }
+
+            if (file != null) {
+                return file.write(src);
+            }
+
+            ByteBuffer slice = src.duplicate();
+            crc.update(slice);
+            if (src.hasArray()) {
+                memory.write(src.array(), src.arrayOffset() + src.position(), count);
+            } else {
+                byte[] copy = new byte[count];
+                src.duplicate().get(copy);
+                memory.write(copy, 0, count);
+            }
+            src.position(src.limit());
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            open = false;
+            if (file != null) {
+                file.close();
+            }
+        }
+    }
+
+    /* 세그먼트의 [offset, offset + length) 구간만 읽는 스트림 */
+    private static final class SegmentInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+
+        private SegmentInputStream(FileChannel channel, long position, long remaining) {
+            this.channel = channel;
+            this.position = position;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (read < 0) {
+                throw new EOFException("세그먼트가 예상보다 짧습니다.");
+            }
+            position += read;
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, remaining));
+            position += skipped;
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, remaining);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
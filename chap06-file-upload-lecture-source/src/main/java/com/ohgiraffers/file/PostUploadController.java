@@ -0,0 +1,30 @@
+package com.ohgiraffers.file;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/*
+ * 업로드 후처리 진행 상태를 조회한다. 썸네일은 /download/{thumbnailName} 으로 받을 수 있다.
+ * 업로드 결과의 fileId 로 조회하고, 기록 없이 저장된 파일은 savedName 으로 조회한다.
+ */
+@RestController
+public class PostUploadController {
+
+    private final PostUploadPipeline postUploadPipeline;
+
+    public PostUploadController(PostUploadPipeline postUploadPipeline) {
+        this.postUploadPipeline = postUploadPipeline;
+    }
+
+    @GetMapping("/processing/{id}")
+    public FileDTO findProcessing(@PathVariable String id) {
+        FileDTO file = postUploadPipeline.find(id);
+        if (file == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "후처리 기록이 없습니다: " + id);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,187 @@
+package com.ohgiraffers.file;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장이 끝난 파일을 받아 후처리 단계(PostUploadStage)를 백그라운드에서 실행한다.
+ *
+ * 요청 스레드는 파일을 대기열에 넣기만 하고 바로 응답하므로, 해시 계산이나 썸네일 생성 시간이 업로드 응답 시간에 더해지지 않는다.
+ * 대기열은 크기가 정해져 있어서 후처리가 밀리면 업로드 요청이 잠시 기다리고(postUploadExecutor 참고),
+ * 그래도 자리가 나지 않으면 그 파일의 후처리는 REJECTED 로 남긴다.
+ *
+ * 진행 상태는 FileDTO.processingStatus 로 확인한다.
+ * PENDING(대기) → PROCESSING(실행 중) → DONE / FAILED, 대기열에 넣지 못했으면 REJECTED
+ * 썸네일 단계가 실패하면 쓰다 만 썸네일을 지운다.
+ */
+@Component
+public class PostUploadPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(PostUploadPipeline.class);
+
+    public static final String PENDING = "PENDING";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+    public static final String REJECTED = "REJECTED";
+
+    private final List<PostUploadStage> stages;
+    private final ThreadPoolTaskExecutor executor;
+    private final StorageBackend storageBackend;
+    private final ContentAddressedStore contentAddressedStore;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    /*
+     * 상태 조회용으로 최근에 접수한 파일만 보관한다.
+     * 내용 주소 저장은 같은 내용이면 savedName(해시)이 같으므로 기록마다 다른 fileId 를 키로 쓴다.
+     */
+    private final Map<String, FileDTO> recentFiles;
+
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public PostUploadPipeline(List<PostUploadStage> stages,
+        @Qualifier("postUploadExecutor") ThreadPoolTaskExecutor executor,
+        StorageBackend storageBackend,
+        ContentAddressedStore contentAddressedStore,
+        MeterRegistry meterRegistry,
+        @Value("${file.upload.post-processing.enabled:true}") boolean enabled,
+        @Value("${file.upload.post-processing.tracked-files:10000}") int trackedFiles) {
+        this.stages = stages;
+        this.executor = executor;
+        this.storageBackend = storageBackend;
+        this.contentAddressedStore = contentAddressedStore;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.recentFiles = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FileDTO> eldest) {
+                return size() > trackedFiles;
+            }
+        });
+
+        this.queueWait = Timer.builder("file.postprocess.queue.wait")
+            .description("후처리 대기열에서 기다린 시간")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("file.postprocess.rejected")
+            .description("대기열이 가득 차서 후처리하지 못한 파일 수")
+            .register(meterRegistry);
+        Gauge.builder("file.postprocess.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+            .description("후처리를 기다리는 파일 수")
+            .register(meterRegistry);
+        Gauge.builder("file.postprocess.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("후처리 중인 파일 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 저장을 마친 파일들의 후처리를 대기열에 넣는다.
+     * 대기열이 가득 차 있으면 자리가 날 때까지 호출한 스레드가 잠시 기다린다.
+     *
+     * @param files 저장에 성공한 파일 목록
+     */
+    public void submit(List<FileDTO> files) {
+        if (!enabled) {
+            return;
+        }
+        for (FileDTO file : files) {
+            file.setProcessingStatus(PENDING);
+            recentFiles.put(trackingKey(file), file);
+
+            long queuedAt = System.nanoTime();
+            try {
+                executor.execute(() -> process(file, queuedAt));
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                file.setProcessingStatus(REJECTED);
+                log.warn("후처리 대기열이 가득 차 건너뜁니다 {}: {}", file.getSavedName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @param id fileId, 기록이 없는 파일이면 savedName ({@link #trackingKey(FileDTO)})
+     * @return 최근에 접수한 파일의 후처리 상태, 없으면 null
+     */
+    public FileDTO find(String id) {
+        return recentFiles.get(id);
+    }
+
+    /** 후처리 상태를 조회할 때 쓰는 파일의 키 */
+    public static String trackingKey(FileDTO file) {
+        return file.getFileId() != null ? file.getFileId() : file.getSavedName();
+    }
+
+    private void process(FileDTO file, long queuedAt) {
+        queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+        file.setProcessingStatus(PROCESSING);
+
+        for (PostUploadStage stage : stages) {
+            if (!stage.supports(file)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            String outcome = "success";
+            try {
+                stage.process(file, () -> openContent(file));
+            } catch (IOException | RuntimeException e) {
+                outcome = "failure";
+                log.warn("후처리 {} 단계 실패 {}: {}", stage.getName(), file.getSavedName(), e.getMessage());
+            } finally {
+                Timer.builder("file.postprocess.stage")
+                    .description("후처리 단계별 실행 시간")
+                    .tag("stage", stage.getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+
+            /* 한 단계가 실패하면 뒤 단계는 앞 단계의 결과를 믿을 수 없으므로 멈춘다. */
+            if ("failure".equals(outcome)) {
+                if (stage instanceof ThumbnailStage) {
+                    discardThumbnail(file);
+                }
+                file.setProcessingStatus(FAILED);
+                return;
+            }
+        }
+        file.setProcessingStatus(DONE);
+    }
+
+    /* 썸네일 단계가 쓰다 만 파일이 남지 않도록 지운다. */
+    private void discardThumbnail(FileDTO file) {
+        String thumbnailName = ThumbnailStage.thumbnailName(file.getSavedName());
+        try {
+            storageBackend.delete(thumbnailName);
+            file.setThumbnailName(null);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("썸네일 삭제 실패 {}: {}", thumbnailName, e.getMessage());
+        }
+    }
+
+    /* 내용 주소 저장이면 blob 을, 아니면 저장소의 객체를 연다. */
+    private InputStream openContent(FileDTO file) throws IOException {
+        if (ContentAddressedStore.isBlob(file)) {
+            return Files.newInputStream(contentAddressedStore.resolve(file));
+        }
+        return storageBackend.open(file.getSavedName());
+    }
+}
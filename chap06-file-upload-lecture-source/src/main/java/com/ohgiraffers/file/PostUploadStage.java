@@ -0,0 +1,31 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 저장이 끝난 파일에 대해 PostUploadPipeline 이 차례로 실행하는 후처리 단계
+ *
+ * 빈으로 등록하면 파이프라인에 추가되고, @Order 순서대로 실행된다.
+ * 앞 단계에서 FileDTO 에 채운 값(예: 이미지 크기)을 뒤 단계에서 사용할 수 있다.
+ */
+public interface PostUploadStage {
+
+    /** 메트릭 태그와 로그에 쓰는 단계 이름 */
+    String getName();
+
+    /** 이 파일에 대해 실행할 단계인지 여부 */
+    boolean supports(FileDTO file);
+
+    /**
+     * @param file    저장된 파일 정보. 단계의 결과를 여기에 채운다.
+     * @param content 저장된 내용을 여는 방법. 필요할 때마다 새로 열고 직접 닫는다.
+     */
+    void process(FileDTO file, ContentSource content) throws IOException;
+
+    @FunctionalInterface
+    interface ContentSource {
+
+        InputStream open() throws IOException;
+    }
+}
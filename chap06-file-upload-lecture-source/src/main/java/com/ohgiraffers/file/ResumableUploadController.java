@@ -0,0 +1,104 @@
+package com.ohgiraffers.file;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 큰 파일을 여러 조각으로 나눠 올리고, 끊긴 지점부터 다시 올릴 수 있는 업로드 API
+ *
+ * <pre>
+ * POST   /uploads?fileName=a.zip&amp;length=3221225472&amp;sha256=...   업로드 시작 (201, Location)
+ * HEAD   /uploads/{id}                                   현재 오프셋 조회 (Upload-Offset 헤더)
+ * PATCH  /uploads/{id}   Upload-Offset: 0                조각 전송 (본문 = 조각 내용, 204)
+ * POST   /uploads/{id}/complete                          체크섬 검증 후 저장
+ * DELETE /uploads/{id}                                   업로드 취소
+ * </pre>
+ */
+@RestController
+@RequestMapping("/uploads")
+public class ResumableUploadController {
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+
+    private final ResumableUploadService resumableUploadService;
+    private final PostUploadPipeline postUploadPipeline;
+
+    public ResumableUploadController(ResumableUploadService resumableUploadService,
+        PostUploadPipeline postUploadPipeline) {
+        this.resumableUploadService = resumableUploadService;
+        this.postUploadPipeline = postUploadPipeline;
+    }
+
+    @PostMapping
+    public ResponseEntity<UploadSessionDTO> createUpload(@RequestParam String fileName,
+        @RequestParam long length,
+        @RequestParam(required = false) String sha256,
+        @RequestParam(required = false) String fileDescription) throws IOException {
+
+        UploadSessionDTO upload = resumableUploadService.create(fileName, length, sha256, fileDescription);
+        return ResponseEntity.created(URI.create("/uploads/" + upload.getId()))
+            .header(UPLOAD_OFFSET, "0")
+            .header(UPLOAD_LENGTH, String.valueOf(upload.getLength()))
+            .body(upload);
+    }
+
+    /* 클라이언트는 연결이 끊긴 뒤 이 값을 확인하고 그 위치부터 다시 보낸다. */
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> findOffset(@PathVariable String id) {
+        UploadSessionDTO upload = resumableUploadService.find(id);
+        return ResponseEntity.ok()
+            .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+            .header(UPLOAD_LENGTH, String.valueOf(upload.getLength()))
+            .header("Cache-Control", "no-store")
+            .build();
+    }
+
+    @GetMapping("/{id}")
+    public UploadSessionDTO findUpload(@PathVariable String id) {
+        return resumableUploadService.find(id);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> appendChunk(@PathVariable String id,
+        @RequestHeader(UPLOAD_OFFSET) long offset,
+        @RequestHeader(value = "Upload-Checksum", required = false) String checksum,
+        HttpServletRequest request) throws IOException {
+
+        long newOffset;
+        try (InputStream in = request.getInputStream()) {
+            newOffset = resumableUploadService.append(id, offset, checksum, in);
+        }
+        return ResponseEntity.noContent()
+            .header(UPLOAD_OFFSET, String.valueOf(newOffset))
+            .build();
+    }
+
+    @PostMapping("/{id}/complete")
+    public FileDTO completeUpload(@PathVariable String id,
+        @RequestParam(required = false) String sha256) throws IOException {
+        FileDTO file = resumableUploadService.complete(id, sha256);
+        postUploadPipeline.submit(List.of(file));
+        return file;
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String id) throws IOException {
+        resumableUploadService.abort(id);
+        return ResponseEntity.noContent().build();
+    }
+}
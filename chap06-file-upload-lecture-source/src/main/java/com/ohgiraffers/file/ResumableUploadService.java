@@ -0,0 +1,366 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 이어 올리기(resumable) 업로드를 처리하는 서비스
+ *
+ * 업로드를 시작하면 전체 크기로 늘려 둔 .part 파일을 만들고,
+ * 이후 조각(chunk)을 받을 때마다 FileChannel 의 위치 지정 쓰기로 해당 오프셋에 바로 기록한다.
+ * 조각은 현재 오프셋부터 순서대로만 받으며, 그 덕분에 SHA-256 을 받는 즉시 누적 계산해서
+ * 완료 시 파일을 다시 읽지 않고 체크섬을 검증한다.
+ *
+ * 늘려 둔 .part 파일은 대부분의 파일 시스템(ext4, xfs 등)에서 빈 곳(sparse)으로 남아 디스크 공간을 잡아 두지 않는다.
+ * 그래서 시작할 때 진행 중인 업로드들이 아직 받지 않은 크기의 합과 새 업로드의 크기를
+ * 파일 시스템의 남은 공간과 비교하고, 동시에 진행할 수 있는 업로드 수도 max-sessions 로 제한한다.
+ *
+ * 업로드 상태는 메모리에만 보관하므로 서버를 재시작하면 진행 중인 업로드는 처음부터 다시 해야 한다.
+ */
+@Service
+public class ResumableUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+
+    private static final String SESSION_DIR = ".uploads";
+
+    private final Path sessionDir;
+    private final long maxLength;
+    private final int maxSessions;
+    private final long expireAfterMillis;
+    private final int bufferSize;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    /* 남은 공간 확인과 세션 추가 사이에 다른 업로드가 끼어들지 않도록 create 끼리만 잠근다. */
+    private final ReentrantLock admissionLock = new ReentrantLock();
+    private final StorageBackend storageBackend;
+    private final ContentAddressedStore contentAddressedStore;
+    private final FileRegistry fileRegistry;
+    private final boolean contentAddressed;
+
+    public ResumableUploadService(StorageBackend storageBackend, ContentAddressedStore contentAddressedStore,
+        FileRegistry fileRegistry,
+        @Value("${file.upload.storage:uuid}") String storage,
+        @Value("${file.upload.dir:./data/uploads}") String uploadDir,
+        @Value("${file.upload.resumable.max-length:10GB}") DataSize maxLength,
+        @Value("${file.upload.resumable.max-sessions:100}") int maxSessions,
+        @Value("${file.upload.resumable.expire-after:24h}") Duration expireAfter,
+        @Value("${file.upload.stream.buffer-size:64KB}") DataSize bufferSize) {
+        this.sessionDir = Paths.get(uploadDir).resolve(SESSION_DIR);
+        this.maxLength = maxLength.toBytes();
+        this.maxSessions = maxSessions;
+        this.expireAfterMillis = expireAfter.toMillis();
+        this.bufferSize = (int) bufferSize.toBytes();
+        this.storageBackend = storageBackend;
+        this.contentAddressedStore = contentAddressedStore;
+        this.fileRegistry = fileRegistry;
+        this.contentAddressed = "content-addressed".equals(storage);
+    }
+
+    /**
+     * 새 업로드를 시작하고 전체 크기로 늘린 .part 파일을 만든다.
+     * 진행 중인 업로드가 max-sessions 개면 503, 남은 공간이 모자라면 507 로 거절한다.
+     *
+     * @param fileName        원본 파일명
+     * @param length          전체 크기(바이트)
+     * @param sha256          완료 시 검증할 전체 파일의 SHA-256 (hex, 생략 가능)
+     * @param fileDescription 파일 설명
+     * @return 생성된 업로드
+     */
+    public UploadSessionDTO create(String fileName, long length, String sha256, String fileDescription)
+        throws IOException {
+        if (length <= 0 || length > maxLength) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "업로드 크기는 1 ~ " + maxLength + " 바이트여야 합니다.");
+        }
+        if (sha256 != null && !sha256.matches("[0-9a-fA-F]{64}")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sha256 은 64자리 16진수여야 합니다.");
+        }
+
+        Files.createDirectories(sessionDir);
+        String id = UUID.randomUUID().toString();
+        Path partFile = sessionDir.resolve(id + ".part");
+
+        admissionLock.lock();
+        try {
+            if (sessions.size() >= maxSessions) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "진행 중인 업로드가 너무 많습니다. 잠시 후 다시 시도하세요.");
+            }
+            /* 이미 받은 부분은 남은 공간에 반영되어 있으므로 아직 받지 않은 크기만 더한다. */
+            long required = length + pendingBytes();
+            FileStore store = Files.getFileStore(sessionDir);
+            if (required > store.getUsableSpace()) {
+                throw new ResponseStatusException(HttpStatus.INSUFFICIENT_STORAGE,
+                    "업로드를 받을 디스크 공간이 부족합니다.");
+            }
+
+            /*
+             * setLength 는 파일 크기만 늘리고 공간을 할당하지 않는다(ext4, xfs 에서는 sparse 파일).
+             * 공간 부족은 위에서 남은 공간과 비교해 시작할 때 알린다.
+             */
+            try (RandomAccessFile file = new RandomAccessFile(partFile.toFile(), "rw")) {
+                file.setLength(length);
+            } catch (IOException e) {
+                Files.deleteIfExists(partFile);
+                throw e;
+            }
+
+            UploadSession session = new UploadSession(id, fileName, length,
+                sha256 == null ? null : sha256.toLowerCase(), fileDescription, partFile, sha256());
+            sessions.put(id, session);
+            return session.toDTO();
+        } finally {
+            admissionLock.unlock();
+        }
+    }
+
+    public UploadSessionDTO find(String id) {
+        UploadSession session = get(id);
+        session.touch();
+        return session.toDTO();
+    }
+
+    /**
+     * 현재 오프셋부터 이어지는 조각 하나를 받는다.
+     *
+     * 연결이 중간에 끊기면 그때까지 기록한 만큼 오프셋이 늘어난 상태로 남아, 클라이언트는 그 위치부터 다시 보내면 된다.
+     * 조각 체크섬(Upload-Checksum: sha256 {base64})을 함께 보낸 경우에는 검증에 실패하거나 중간에 끊기면
+     * 조각 전체를 받지 않은 것으로 되돌린다.
+     *
+     * @param id       업로드 ID
+     * @param offset   클라이언트가 알고 있는 현재 오프셋. 서버의 오프셋과 다르면 409
+     * @param checksum Upload-Checksum 헤더 값 (생략 가능)
+     * @param in       조각 내용
+     * @return 조각을 기록한 뒤의 오프셋
+     */
+    public long append(String id, long offset, String checksum, InputStream in) throws IOException {
+        UploadSession session = get(id);
+        MessageDigest chunkDigest = checksum == null ? null : sha256();
+        byte[] expectedChunkHash = checksum == null ? null : parseChecksum(checksum);
+
+        if (!session.getLock().tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 요청이 이 업로드에 쓰는 중입니다.");
+        }
+        try {
+            if (offset != session.getOffset()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "오프셋이 맞지 않습니다. 현재 오프셋 : " + session.getOffset());
+            }
+
+            long chunkStart = session.getOffset();
+            MessageDigest digestAtChunkStart = copy(session.getDigest());
+            try {
+                write(session, in, chunkDigest);
+                if (chunkDigest != null && !MessageDigest.isEqual(chunkDigest.digest(), expectedChunkHash)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조각 체크섬이 일치하지 않습니다.");
+                }
+            } catch (IOException | RuntimeException e) {
+                if (chunkDigest != null || e instanceof ResponseStatusException) {
+                    session.setOffset(chunkStart);
+                    session.setDigest(digestAtChunkStart);
+                }
+                throw e;
+            }
+            return session.getOffset();
+        } finally {
+            session.touch();
+            session.getLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 내용을 받은 업로드의 체크섬을 검증하고 업로드 디렉토리로 옮긴다.
+     *
+     * @param id     업로드 ID
+     * @param sha256 시작할 때 주지 않았다면 여기서 검증할 SHA-256 (hex, 생략 가능)
+     * @return 저장된 파일 정보
+     */
+    public FileDTO complete(String id, String sha256) throws IOException {
+        UploadSession session = get(id);
+        if (!session.getLock().tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 요청이 이 업로드에 쓰는 중입니다.");
+        }
+        try {
+            if (session.getOffset() != session.getLength()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "아직 받지 않은 내용이 있습니다. 현재 오프셋 : " + session.getOffset());
+            }
+
+            String actual = HexFormat.of().formatHex(copy(session.getDigest()).digest());
+            String expected = sha256 != null ? sha256.toLowerCase() : session.getExpectedSha256();
+            if (expected != null && !expected.equals(actual)) {
+                sessions.remove(id);
+                Files.deleteIfExists(session.getPartFile());
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "체크섬이 일치하지 않아 업로드를 폐기했습니다. 받은 내용의 sha256 : " + actual);
+            }
+
+            String originFileName = session.getFileName();
+
+            try (FileChannel channel = FileChannel.open(session.getPartFile(), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+
+            /* 내용 주소 저장이면 이미 계산한 해시로 .part 파일을 그대로 blob 으로 옮긴다. */
+            if (contentAddressed) {
+                FileDTO file = contentAddressedStore.adopt(session.getPartFile(), actual, originFileName,
+                    session.getFileDescription());
+                sessions.remove(id);
+                return file;
+            }
+
+            String savedName = StorageBackend.newKey(originFileName);
+
+            FileDTO file;
+            try {
+                storageBackend.store(savedName, session.getPartFile());
+                sessions.remove(id);
+                file = new FileDTO(originFileName, savedName, storageBackend.location(savedName),
+                    session.getFileDescription());
+                fileRegistry.record(List.of(file));
+            } catch (IOException | IllegalArgumentException e) {
+                try {
+                    storageBackend.delete(savedName);
+                } catch (IOException | IllegalArgumentException cleanupError) {
+                    e.addSuppressed(cleanupError);
+                }
+                throw e;
+            }
+            return file;
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    public void abort(String id) throws IOException {
+        UploadSession session = sessions.remove(id);
+        if (session == null) {
+            throw notFound(id);
+        }
+        session.getLock().lock();
+        try {
+            Files.deleteIfExists(session.getPartFile());
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    /* expire-after 동안 아무 요청도 없던 업로드를 정리한다. */
+    @Scheduled(fixedDelayString = "${file.upload.resumable.sweep-interval:10m}")
+    public void expireIdleSessions() {
+        long threshold = System.currentTimeMillis() - expireAfterMillis;
+        for (UploadSession session : sessions.values()) {
+            if (session.getLastAccess() < threshold && session.getLock().tryLock()) {
+                try {
+                    sessions.remove(session.getId());
+                    Files.deleteIfExists(session.getPartFile());
+                } catch (IOException e) {
+                    log.warn("만료된 업로드 정리 실패 {}: {}", session.getId(), e.getMessage());
+                } finally {
+                    session.getLock().unlock();
+                }
+            }
+        }
+    }
+
+    private void write(UploadSession session, InputStream in, MessageDigest chunkDigest) throws IOException {
+        byte[] buf = new byte[bufferSize];
+        ByteBuffer view = ByteBuffer.wrap(buf);
+        try (FileChannel channel = FileChannel.open(session.getPartFile(), StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                long position = session.getOffset();
+                if (read > session.getLength() - position) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "업로드 크기를 넘는 내용을 받았습니다.");
+                }
+
+                view.clear().limit(read);
+                while (view.hasRemaining()) {
+                    position += channel.write(view, position);
+                }
+
+                session.getDigest().update(buf, 0, read);
+                if (chunkDigest != null) {
+                    chunkDigest.update(buf, 0, read);
+                }
+                session.setOffset(position);
+            }
+        }
+    }
+
+    /* 진행 중인 업로드들이 앞으로 더 쓸 크기의 합 */
+    private long pendingBytes() {
+        long pending = 0;
+        for (UploadSession session : sessions.values()) {
+            pending += session.getLength() - session.getOffset();
+        }
+        return pending;
+    }
+
+    private UploadSession get(String id) {
+        UploadSession session = sessions.get(id);
+        if (session == null) {
+            throw notFound(id);
+        }
+        return session;
+    }
+
+    private static ResponseStatusException notFound(String id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드를 찾을 수 없습니다: " + id);
+    }
+
+    private static byte[] parseChecksum(String header) {
+        String[] parts = header.trim().split("\\s+");
+        if (parts.length != 2 || !parts[0].equalsIgnoreCase("sha256")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Upload-Checksum 은 'sha256 {base64}' 형식이어야 합니다.");
+        }
+        try {
+            return Base64.getDecoder().decode(parts[1]);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Upload-Checksum 의 base64 값이 잘못되었습니다.");
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MessageDigest copy(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
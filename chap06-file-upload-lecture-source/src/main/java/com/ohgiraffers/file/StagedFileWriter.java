@@ -0,0 +1,116 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 여러 업로드 파일을 스레드 풀에서 동시에 저장하되, 전부 성공했을 때만 저장소에 나타나게 한다.
+ *
+ * 1. 업로드 디렉토리 아래 .staging/{요청별 ID} 에 각 파일을 동시에 쓴다.
+ * 2. 하나라도 실패하면 스테이징 디렉토리를 통째로 지우고, 저장소에는 아무것도 남지 않는다.
+ * 3. 모두 성공하면 파일마다 StorageBackend.store 로 옮긴다. 로컬 저장소는 같은 파일 시스템 안의 원자적 rename 이다.
+ *    옮기는 도중 실패하면 이미 옮긴 파일도 삭제한다.
+ */
+@Component
+public class StagedFileWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(StagedFileWriter.class);
+
+    private static final String STAGING_DIR = ".staging";
+
+    private final StorageBackend storageBackend;
+    private final ThreadPoolTaskExecutor fileWriteExecutor;
+
+    public StagedFileWriter(StorageBackend storageBackend,
+        @Qualifier("fileWriteExecutor") ThreadPoolTaskExecutor fileWriteExecutor) {
+        this.storageBackend = storageBackend;
+        this.fileWriteExecutor = fileWriteExecutor;
+    }
+
+    /**
+     * @param files       저장할 파일 정보 (savedName 이 미리 정해져 있어야 한다)
+     * @param parts       files 와 같은 순서의 업로드 파일
+     * @param uploadDir   스테이징 디렉토리를 만들 업로드 디렉토리
+     * @throws IOException 하나라도 저장하지 못한 경우. 이때 저장소에는 이번 요청의 파일이 남지 않는다.
+     */
+    public void writeAll(List<FileDTO> files, List<MultipartFile> parts, Path uploadDir) throws IOException {
+        Path staging = uploadDir.resolve(STAGING_DIR).resolve(UUID.randomUUID().toString()).toAbsolutePath();
+        Files.createDirectories(staging);
+
+        try {
+            List<CompletableFuture<Void>> writes = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                FileDTO file = files.get(i);
+                MultipartFile part = parts.get(i);
+                writes.add(CompletableFuture.runAsync(() -> write(part, staging.resolve(file.getSavedName()), file),
+                    fileWriteExecutor));
+            }
+
+            /* allOf 는 모든 쓰기가 끝난 뒤에 완료되므로, 실패해도 아직 쓰는 중인 파일이 남지 않는다. */
+            try {
+                CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof UncheckedIOException io ? io.getCause()
+                    : new IOException("파일 저장 실패", e.getCause());
+            }
+
+            publish(files, staging);
+        } finally {
+            deleteRecursively(staging);
+        }
+    }
+
+    private static void write(MultipartFile part, Path target, FileDTO file) {
+        long start = System.nanoTime();
+        try {
+            part.transferTo(target.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        file.setWriteMillis((System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private void publish(List<FileDTO> files, Path staging) throws IOException {
+        List<String> published = new ArrayList<>(files.size());
+        try {
+            for (FileDTO file : files) {
+                storageBackend.store(file.getSavedName(), staging.resolve(file.getSavedName()));
+                published.add(file.getSavedName());
+            }
+        } catch (IOException e) {
+            for (String key : published) {
+                storageBackend.delete(key);
+            }
+            throw e;
+        }
+    }
+
+    /* 정리 실패가 원래 예외를 가리지 않도록 여기서 난 오류는 로그만 남긴다. */
+    private static void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("스테이징 디렉토리 정리 실패 {}: {}", dir, e.getMessage());
+        }
+    }
+}
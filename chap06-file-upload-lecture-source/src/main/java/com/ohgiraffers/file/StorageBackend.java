@@ -0,0 +1,84 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 파일(UUID 이름으로 저장하는 기본 방식)을 실제로 보관하는 저장소
+ *
+ * 키는 FileDTO.savedName 이다. 구현체는 쓰기가 모두 끝난 뒤에만 키가 보이도록 해야 하며,
+ * 쓰는 도중 실패하면 아무것도 남기지 않아야 한다.
+ */
+public interface StorageBackend {
+
+    /* 숨김 디렉토리(.cas, .staging 등)나 상위 경로를 가리키지 못하도록 키 형식을 제한한다. */
+    Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]*(\\.[A-Za-z0-9]+)*");
+
+    /* 새 키에 붙일 수 있는 확장자 형식 */
+    Pattern EXTENSION_PATTERN = Pattern.compile("\\.[A-Za-z0-9]{1,16}");
+
+    /** writer 가 쓰는 내용을 key 로 저장한다. */
+    void write(String key, ContentWriter writer) throws IOException;
+
+    /** 스트림의 내용을 key 로 저장한다. */
+    default void write(String key, InputStream in) throws IOException {
+        write(key, channel -> {
+            byte[] buf = new byte[64 * 1024];
+            ByteBuffer view = ByteBuffer.wrap(buf);
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                view.clear().limit(read);
+                while (view.hasRemaining()) {
+                    channel.write(view);
+                }
+            }
+        });
+    }
+
+    /**
+     * 이미 로컬 디스크에 다 쓴 파일(스테이징 파일, 이어 올리기 파일 등)을 key 로 옮긴다.
+     * 성공하면 source 는 남지 않는다.
+     */
+    void store(String key, Path source) throws IOException;
+
+    /** @return 저장된 객체 정보, 없으면 null */
+    StoredObject stat(String key) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /** @return 지웠으면 true, 없었으면 false */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * 객체가 로컬 파일이면 그 경로. sendfile / transferTo 로 바로 보낼 수 있다.
+     *
+     * @return 로컬 파일 경로, 로컬 파일이 아니면 null
+     */
+    Path localPath(String key);
+
+    /** FileDTO.filePath 에 남길 저장 위치 설명 */
+    String location(String key);
+
+    /**
+     * 업로드 파일의 새 키(UUID + 원본 파일명의 확장자)를 만든다.
+     * 확장자가 없거나 키로 쓸 수 없는 문자(공백, 한글, 특수문자 등)가 있으면 확장자 없이 만든다.
+     */
+    static String newKey(String originalFileName) {
+        String ext = "";
+        if (originalFileName != null && originalFileName.lastIndexOf('.') >= 0) {
+            ext = originalFileName.substring(originalFileName.lastIndexOf('.'));
+        }
+        return UUID.randomUUID() + (EXTENSION_PATTERN.matcher(ext).matches() ? ext : "");
+    }
+
+    static String checkKey(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("사용할 수 없는 저장 키입니다: " + key);
+        }
+        return key;
+    }
+}
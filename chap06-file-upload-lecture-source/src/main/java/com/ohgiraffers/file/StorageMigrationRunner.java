@@ -0,0 +1,106 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예전처럼 한 디렉토리에 모여 있는 업로드 파일을 현재 StorageBackend 로 옮긴다.
+ *
+ * file.storage.migration.source 를 지정하고 애플리케이션을 실행하면 기동할 때 한 번 실행된다.
+ * <pre>
+ * java -jar app.jar --file.storage.migration.source=src/main/resources/static/uploadFiles
+ * </pre>
+ *
+ * 이미 같은 크기로 옮겨진 파일은 건너뛰므로 중간에 멈춰도 다시 실행하면 이어서 진행된다.
+ * delete-source 가 false(기본)이면 원본을 복사만 하고, true 이면 옮긴 뒤 원본을 지운다.
+ * 저장 키로 쓸 수 없는 이름의 파일은 옮기지 않고 경고 로그를 남긴 뒤 원본 그대로 둔다.
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.migration.source")
+public class StorageMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageMigrationRunner.class);
+
+    private final StorageBackend storageBackend;
+    private final Path source;
+    private final boolean deleteSource;
+
+    public StorageMigrationRunner(StorageBackend storageBackend,
+        @Value("${file.storage.migration.source}") String source,
+        @Value("${file.storage.migration.delete-source:false}") boolean deleteSource) {
+        this.storageBackend = storageBackend;
+        this.source = Paths.get(source);
+        this.deleteSource = deleteSource;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!Files.isDirectory(source)) {
+            log.warn("옮길 업로드 디렉토리가 없습니다: {}", source.toAbsolutePath());
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(source)) {
+            files = entries.filter(Files::isRegularFile).toList();
+        }
+
+        int migrated = 0;
+        int skipped = 0;
+        int invalid = 0;
+        int failed = 0;
+        for (Path file : files) {
+            String key = file.getFileName().toString();
+            if (!StorageBackend.KEY_PATTERN.matcher(key).matches()) {
+                invalid++;
+                log.warn("저장 키로 쓸 수 없는 파일명이라 옮기지 않습니다: {}", file);
+                continue;
+            }
+            try {
+                if (migrate(file, key)) {
+                    migrated++;
+                } else {
+                    skipped++;
+                }
+            } catch (IOException e) {
+                failed++;
+                log.warn("파일 이전 실패 {}: {}", key, e.getMessage());
+            }
+        }
+
+        log.info("저장소 이전 완료: total={}, migrated={}, skipped={}, invalid={}, failed={}",
+            files.size(), migrated, skipped, invalid, failed);
+    }
+
+    /* @return 옮겼으면 true, 이미 옮겨져 있어서 건너뛰었으면 false */
+    private boolean migrate(Path file, String key) throws IOException {
+        StoredObject existing = storageBackend.stat(key);
+        if (existing != null && existing.getSize() == Files.size(file)) {
+            if (deleteSource) {
+                Files.delete(file);
+            }
+            return false;
+        }
+
+        if (deleteSource) {
+            storageBackend.store(key, file);
+        } else {
+            try (InputStream in = Files.newInputStream(file)) {
+                storageBackend.write(key, in);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ohgiraffers.file;
+
+import java.io.IOException;
+import java.util.Collection;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 내용 주소 저장소에 기록된 파일을 조회하고 삭제한다.
+ * 삭제는 기록만 지우고, 같은 내용을 가리키는 다른 기록이 없을 때만 실제 blob 을 지운다.
+ */
+@RestController
+@RequestMapping("/files")
+public class StoredFileController {
+
+    private final FileRegistry fileRegistry;
+    private final ContentAddressedStore contentAddressedStore;
+
+    public StoredFileController(FileRegistry fileRegistry, ContentAddressedStore contentAddressedStore) {
+        this.fileRegistry = fileRegistry;
+        this.contentAddressedStore = contentAddressedStore;
+    }
+
+    @GetMapping
+    public Collection<FileDTO> findAllFiles() {
+        return fileRegistry.findAll();
+    }
+
+    @GetMapping("/{fileId}")
+    public FileDTO findFile(@PathVariable String fileId) {
+        FileDTO file = fileRegistry.find(fileId);
+        if (file == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "파일을 찾을 수 없습니다: " + fileId);
+        }
+        return file;
+    }
+
+    @DeleteMapping("/{fileId}")
+    public ResponseEntity<Void> deleteFile(@PathVariable String fileId) throws IOException {
+        if (contentAddressedStore.delete(fileId) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "파일을 찾을 수 없습니다: " + fileId);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ohgiraffers.file;
+
+/* StorageBackend 에 저장된 객체 하나의 메타데이터 */
+public class StoredObject {
+
+    private final String key;
+    private final long size;
+    private final long lastModified;
+
+    public StoredObject(String key, long size, long lastModified) {
+        this.key = key;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredObject{" +
+            "key='" + key + '\'' +
+            ", size=" + size +
+            ", lastModified=" + lastModified +
+            '}';
+    }
+}
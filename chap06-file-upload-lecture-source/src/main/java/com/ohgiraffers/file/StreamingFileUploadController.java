@@ -0,0 +1,163 @@
+package com.ohgiraffers.file;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.multipart.MultipartException;
+
+/**
+ * 서블릿 multipart 처리를 거치지 않고 요청 본문을 직접 읽어서 파일을 저장하는 컨트롤러
+ *
+ * 기본 방식은 파트를 spring.servlet.multipart.location 에 임시 파일로 먼저 쓰고 transferTo 로 한 번 더 복사한다.
+ * 이 컨트롤러는 파트가 도착하는 대로 경계를 찾아서 저장소(로컬이면 FileChannel)에 바로 쓰므로
+ * 디스크 쓰기가 한 번으로 줄고, 요청 하나가 쓰는 메모리는 파싱 버퍼 크기로 고정된다.
+ *
+ * 서블릿 컨테이너가 본문을 먼저 읽지 않도록 spring.servlet.multipart.resolve-lazily 가 true 여야 하고,
+ * 이 메서드에서는 @RequestParam 처럼 요청 파라미터를 읽는 기능을 쓰면 안 된다.
+ */
+@Controller
+public class StreamingFileUploadController {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingFileUploadController.class);
+
+    private static final int MAX_FIELD_SIZE = 8 * 1024;
+
+    private final StorageBackend storageBackend;
+    private final ContentAddressedStore contentAddressedStore;
+    private final FileRegistry fileRegistry;
+    private final PostUploadPipeline postUploadPipeline;
+    private final int bufferSize;
+    private final long maxRequestSize;
+    private final boolean contentAddressed;
+
+    public StreamingFileUploadController(StorageBackend storageBackend,
+        ContentAddressedStore contentAddressedStore,
+        FileRegistry fileRegistry,
+        PostUploadPipeline postUploadPipeline,
+        @Value("${file.upload.stream.buffer-size:64KB}") DataSize bufferSize,
+        @Value("${file.upload.stream.max-request-size:2GB}") DataSize maxRequestSize,
+        @Value("${file.upload.storage:uuid}") String storage) {
+        this.storageBackend = storageBackend;
+        this.contentAddressedStore = contentAddressedStore;
+        this.fileRegistry = fileRegistry;
+        this.postUploadPipeline = postUploadPipeline;
+        this.bufferSize = (int) bufferSize.toBytes();
+        this.maxRequestSize = maxRequestSize.toBytes();
+        this.contentAddressed = "content-addressed".equals(storage);
+    }
+
+    /**
+     * 파일 파트 개수와 상관없이 요청에 담긴 모든 파일을 저장한다.
+     * 설명(fileDescription)은 파일 뒤에 올 수도 있으므로 본문을 끝까지 읽은 뒤에 각 파일 정보에 채운다.
+     *
+     * @param request 원본 요청 (본문을 직접 읽는다)
+     * @param model   뷰로 전달할 데이터를 담는 모델 객체
+     * @return 결과 페이지 뷰 이름
+     */
+    @PostMapping("/stream-file")
+    public String streamFileUpload(HttpServletRequest request, Model model) {
+
+        String boundary = MultipartStreamParser.extractBoundary(request.getContentType());
+        if (boundary == null) {
+            model.addAttribute("message", "multipart/form-data 요청이 아닙니다.");
+            return "result";
+        }
+        if (request.getContentLengthLong() > maxRequestSize) {
+            model.addAttribute("message", "파일 업로드 실패! (요청 크기 초과)");
+            return "result";
+        }
+
+        List<FileDTO> files = new ArrayList<>();
+        String description = null;
+
+        try (InputStream in = request.getInputStream()) {
+            MultipartStreamParser parser = new MultipartStreamParser(in, boundary, bufferSize, maxRequestSize);
+
+            MultipartStreamParser.Part part;
+            while ((part = parser.nextPart()) != null) {
+
+                if (!part.isFile()) {
+                    String value = parser.readString(MAX_FIELD_SIZE, StandardCharsets.UTF_8);
+                    if ("fileDescription".equals(part.getName())) {
+                        description = value;
+                    }
+                    continue;
+                }
+
+                /* 파일을 고르지 않은 input 은 빈 파일명의 파트로 온다. */
+                if (part.getFileName().isEmpty()) {
+                    parser.skip();
+                    continue;
+                }
+
+                /* 일부 브라우저는 전체 경로를 보내므로 마지막 경로 구분자 뒤의 이름만 사용한다. */
+                String originFileName = part.getFileName();
+                originFileName = originFileName.substring(
+                    Math.max(originFileName.lastIndexOf('/'), originFileName.lastIndexOf('\\')) + 1);
+
+                /*
+                 * 내용 주소 저장이면 해시를 계산하며 임시 파일에 쓰고, 같은 내용의 blob 이 있으면 공유한다.
+                 * 기록은 이때 로그에 남으므로 설명이 파일보다 먼저 왔으면 함께 넘긴다.
+                 */
+                if (contentAddressed) {
+                    files.add(contentAddressedStore.store(parser::transferTo, originFileName, description));
+                    continue;
+                }
+
+                String savedName = StorageBackend.newKey(originFileName);
+
+                /* 실패 시 롤백할 수 있도록 파일을 만들기 전에 먼저 목록에 추가한다. */
+                files.add(new FileDTO(originFileName, savedName, storageBackend.location(savedName), null));
+
+                storageBackend.write(savedName, parser::transferTo);
+            }
+
+            if (contentAddressed) {
+                /* 설명이 파일 뒤에 왔으면 이미 로그에 남은 기록을 설명을 채운 기록으로 다시 남긴다. */
+                for (FileDTO file : files) {
+                    if (!Objects.equals(file.getFileDescription(), description)) {
+                        fileRegistry.describe(file, description);
+                    }
+                }
+            } else {
+                for (FileDTO file : files) {
+                    file.setFileDescription(description);
+                }
+                fileRegistry.record(files);
+            }
+            postUploadPipeline.submit(files);
+            model.addAttribute("message", "파일 업로드 완료!");
+            model.addAttribute("files", files);
+
+        } catch (IOException | MultipartException | IllegalArgumentException e) {
+
+            /* 저장 중 오류가 나면 이미 저장했거나 쓰는 중이던 파일을 모두 삭제한다. */
+            for (FileDTO file : files) {
+                try {
+                    if (contentAddressed) {
+                        contentAddressedStore.delete(file.getFileId());
+                    } else {
+                        storageBackend.delete(file.getSavedName());
+                    }
+                } catch (IOException | IllegalArgumentException cleanupError) {
+                    log.warn("업로드 실패 후 파일 삭제 실패 {}: {}", file.getSavedName(), cleanupError.getMessage());
+                }
+            }
+            log.warn("스트리밍 업로드 실패: {}", e.getMessage());
+            model.addAttribute("message", "파일 업로드 실패!");
+        }
+
+        return "result";
+    }
+}
@@ -0,0 +1,105 @@
+package com.ohgiraffers.file;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이미지의 썸네일(PNG)을 만들어 저장소에 {저장 파일명}-thumb.png 로 저장한다.
+ *
+ * 원본을 다 읽은 뒤 줄이지 않고, 읽을 때부터 썸네일 크기의 두 배 정도가 되도록 픽셀을 건너뛰며(subsampling)
+ * 디코딩해서 큰 사진도 메모리를 적게 쓴다. max-pixels 를 넘는 이미지는 만들지 않는다.
+ */
+@Component
+@Order(3)
+public class ThumbnailStage implements PostUploadStage {
+
+    private final StorageBackend storageBackend;
+    private final int size;
+    private final long maxPixels;
+
+    public ThumbnailStage(StorageBackend storageBackend,
+        @Value("${file.upload.post-processing.thumbnail.size:200}") int size,
+        @Value("${file.upload.post-processing.thumbnail.max-pixels:50000000}") long maxPixels) {
+        this.storageBackend = storageBackend;
+        this.size = size;
+        this.maxPixels = maxPixels;
+    }
+
+    @Override
+    public String getName() {
+        return "thumbnail";
+    }
+
+    /* 앞 단계(metadata)에서 크기를 읽을 수 있었던 이미지만 처리한다. */
+    @Override
+    public boolean supports(FileDTO file) {
+        return file.getImageWidth() > 0 && file.getImageHeight() > 0
+            && (long) file.getImageWidth() * file.getImageHeight() <= maxPixels;
+    }
+
+    @Override
+    public void process(FileDTO file, ContentSource content) throws IOException {
+        BufferedImage source = read(file, content);
+        if (source == null) {
+            return;
+        }
+
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, "png", png);
+
+        String thumbnailName = thumbnailName(file.getSavedName());
+        storageBackend.write(thumbnailName, new ByteArrayInputStream(png.toByteArray()));
+        file.setThumbnailName(thumbnailName);
+    }
+
+    private BufferedImage read(FileDTO file, ContentSource content) throws IOException {
+        try (InputStream in = content.open();
+            ImageInputStream image = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = image == null ? null : ImageIO.getImageReaders(image);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(image, true, true);
+                int step = Math.max(1, Math.max(file.getImageWidth(), file.getImageHeight()) / (size * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static String thumbnailName(String savedName) {
+        int dot = savedName.indexOf('.');
+        return (dot < 0 ? savedName : savedName.substring(0, dot)) + "-thumb.png";
+    }
+}
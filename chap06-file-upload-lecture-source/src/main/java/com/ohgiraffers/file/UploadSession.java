@@ -0,0 +1,92 @@
+package com.ohgiraffers.file;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.concurrent.locks.ReentrantLock;
+
+/* 이어 올리기(resumable) 업로드 한 건의 서버 쪽 상태 */
+class UploadSession {
+
+    private final String id;
+    private final String fileName;
+    private final long length;
+    private final String expectedSha256;
+    private final String fileDescription;
+    private final Path partFile;
+
+    /* 한 번에 한 요청만 이 업로드에 쓸 수 있다. offset, digest 는 이 락을 잡은 상태에서만 바꾼다. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /* offset 까지 받은 내용의 SHA-256. 순서대로만 받으므로 완료 시 파일을 다시 읽지 않아도 된다. */
+    private MessageDigest digest;
+    private volatile long offset;
+    private volatile long lastAccess;
+
+    UploadSession(String id, String fileName, long length, String expectedSha256, String fileDescription,
+        Path partFile, MessageDigest digest) {
+        this.id = id;
+        this.fileName = fileName;
+        this.length = length;
+        this.expectedSha256 = expectedSha256;
+        this.fileDescription = fileDescription;
+        this.partFile = partFile;
+        this.digest = digest;
+        this.lastAccess = System.currentTimeMillis();
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getFileName() {
+        return fileName;
+    }
+
+    long getLength() {
+        return length;
+    }
+
+    String getExpectedSha256() {
+        return expectedSha256;
+    }
+
+    String getFileDescription() {
+        return fileDescription;
+    }
+
+    Path getPartFile() {
+        return partFile;
+    }
+
+    ReentrantLock getLock() {
+        return lock;
+    }
+
+    MessageDigest getDigest() {
+        return digest;
+    }
+
+    void setDigest(MessageDigest digest) {
+        this.digest = digest;
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch() {
+        this.lastAccess = System.currentTimeMillis();
+    }
+
+    UploadSessionDTO toDTO() {
+        return new UploadSessionDTO(id, fileName, length, offset);
+    }
+}
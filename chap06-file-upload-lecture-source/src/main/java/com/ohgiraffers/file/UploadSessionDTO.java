@@ -0,0 +1,62 @@
+package com.ohgiraffers.file;
+
+/* 이어 올리기 업로드의 진행 상태를 클라이언트에 알려 주는 DTO */
+public class UploadSessionDTO {
+
+    private String id;
+    private String fileName;
+    private long length;
+    private long offset;
+
+    public UploadSessionDTO() {
+    }
+
+    public UploadSessionDTO(String id, String fileName, long length, long offset) {
+        this.id = id;
+        this.fileName = fileName;
+        this.length = length;
+        this.offset = offset;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public void setLength(long length) {
+        this.length = length;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    @Override
+    public String toString() {
+        return "UploadSessionDTO{" +
+            "id='" + id + '\'' +
+            ", fileName='" + fileName + '\'' +
+            ", length=" + length +
+            ", offset=" + offset +
+            '}';
+    }
+}
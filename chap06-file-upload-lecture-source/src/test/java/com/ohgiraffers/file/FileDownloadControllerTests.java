@@ -0,0 +1,159 @@
+package com.ohgiraffers.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+/* 로컬 저장소에 실제 파일을 두고 /download/{savedName} 의 Range, 조건부 요청, 파일명 처리를 확인한다. */
+class FileDownloadControllerTests {
+
+    private static final String ORIGINAL_NAME = "강의 자료.txt";
+
+    @TempDir
+    Path root;
+
+    private MockMvc mockMvc;
+    private StorageBackend storageBackend;
+    private FileRegistry fileRegistry;
+    private ContentAddressedStore contentAddressedStore;
+    private String savedName;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storageBackend = new LocalShardedStorageBackend(root);
+        fileRegistry = new FileRegistry(root.toString());
+        contentAddressedStore = new ContentAddressedStore(root.toString(), fileRegistry, storageBackend);
+
+        content = new byte[100];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + i % 26);
+        }
+        savedName = UUID.randomUUID() + ".txt";
+        storageBackend.write(savedName, new ByteArrayInputStream(content));
+        fileRegistry.record(List.of(new FileDTO(ORIGINAL_NAME, savedName,
+            storageBackend.location(savedName), "설명")));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileDownloadController(storageBackend, fileRegistry,
+            contentAddressedStore, DataSize.ofKilobytes(48), 1000, 1)).build();
+    }
+
+    @Test
+    void sendsWholeFileWithOriginalName() throws Exception {
+        MvcResult result = mockMvc.perform(get("/download/{savedName}", savedName))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length))
+            .andExpect(content().bytes(content))
+            .andReturn();
+
+        String disposition = result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION);
+        assertEquals(ORIGINAL_NAME, ContentDisposition.parse(disposition).getFilename());
+    }
+
+    @Test
+    void sendsSingleRange() throws Exception {
+        mockMvc.perform(get("/download/{savedName}", savedName).header(HttpHeaders.RANGE, "bytes=10-19"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/100"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+            .andExpect(content().bytes(Arrays.copyOfRange(content, 10, 20)));
+    }
+
+    @Test
+    void sendsSuffixRange() throws Exception {
+        mockMvc.perform(get("/download/{savedName}", savedName).header(HttpHeaders.RANGE, "bytes=-10"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 90-99/100"))
+            .andExpect(content().bytes(Arrays.copyOfRange(content, 90, 100)));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/download/{savedName}", savedName).header(HttpHeaders.RANGE, "bytes=200-300"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEtag() throws Exception {
+        String etag = mockMvc.perform(get("/download/{savedName}", savedName))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/download/{savedName}", savedName).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get("/download/{savedName}", savedName).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void bundlesFilesUnderOriginalNames() throws Exception {
+        String sameName = UUID.randomUUID() + ".txt";
+        storageBackend.write(sameName, new ByteArrayInputStream("두 번째".getBytes(StandardCharsets.UTF_8)));
+        fileRegistry.record(List.of(new FileDTO(ORIGINAL_NAME, sameName,
+            storageBackend.location(sameName), "설명")));
+
+        byte[] zip = mockMvc.perform(get("/download/bundle").param("names", savedName, sameName))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        List<String> entryNames = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entryNames.add(entry.getName());
+            }
+        }
+        assertEquals(List.of(ORIGINAL_NAME, "강의 자료-1.txt"), entryNames);
+    }
+
+    @Test
+    void sendsContentAddressedBlobWithOriginalName() throws Exception {
+        FileDTO stored = contentAddressedStore.store(new ByteArrayInputStream(content), "중복 자료.txt", null);
+        contentAddressedStore.store(new ByteArrayInputStream(content), "다른 이름.txt", null);
+
+        MvcResult result = mockMvc.perform(get("/download/{savedName}", stored.getSavedName())
+                .header(HttpHeaders.RANGE, "bytes=0-9"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + stored.getContentHash() + "\""))
+            .andExpect(content().bytes(Arrays.copyOfRange(content, 0, 10)))
+            .andReturn();
+
+        String disposition = result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION);
+        assertEquals("중복 자료.txt", ContentDisposition.parse(disposition).getFilename());
+    }
+
+    @Test
+    void answersNotFoundForUnknownFile() throws Exception {
+        mockMvc.perform(get("/download/{savedName}", UUID.randomUUID() + ".txt"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,174 @@
+package com.ohgiraffers.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MultipartException;
+
+class MultipartStreamParserTests {
+
+    private static final String BOUNDARY = "----lectureBoundary7MA4YWxk";
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    @Test
+    void readsFileWhoseBoundaryIsSplitAcrossReads() throws IOException {
+        byte[] content = new byte[BUFFER_SIZE * 3 + 17];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i % 251);
+        }
+        byte[] body = concat(
+            filePartHeader("singleFile", "data.bin"), content, ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        /* 7 바이트씩만 돌려주는 스트림이라 구분자가 여러 번의 read 에 나뉘어 도착한다. */
+        MultipartStreamParser parser = parser(new ChunkedInputStream(body, 7));
+
+        MultipartStreamParser.Part part = parser.nextPart();
+        assertEquals("singleFile", part.getName());
+        assertEquals("data.bin", part.getFileName());
+        assertArrayEquals(content, transfer(parser));
+        assertNull(parser.nextPart());
+    }
+
+    @Test
+    void keepsCrlfInsideContentAndParsesCrlfHeaders() throws IOException {
+        String content = "첫 줄\r\n\r\n--" + BOUNDARY.substring(0, 10) + "\r\n--\r\n마지막 줄\r\n";
+        String body = "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"singleFileDescription\"\r\n"
+            + "\r\n"
+            + "설명\r\n"
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"singleFile\"; filename=\"memo.txt\"\r\n"
+            + "Content-Type: text/plain\r\n"
+            + "\r\n"
+            + content + "\r\n"
+            + "--" + BOUNDARY + "--\r\n";
+
+        MultipartStreamParser parser = parser(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        MultipartStreamParser.Part field = parser.nextPart();
+        assertEquals("singleFileDescription", field.getName());
+        assertEquals("설명", parser.readString(1024, StandardCharsets.UTF_8));
+
+        MultipartStreamParser.Part file = parser.nextPart();
+        assertEquals("memo.txt", file.getFileName());
+        assertEquals("text/plain", file.getContentType());
+        assertEquals(content, new String(transfer(parser), StandardCharsets.UTF_8));
+        assertNull(parser.nextPart());
+    }
+
+    @Test
+    void failsWhenFinalBoundaryIsMissing() throws IOException {
+        byte[] body = concat(filePartHeader("singleFile", "cut.bin"),
+            "잘린 내용".getBytes(StandardCharsets.UTF_8));
+
+        MultipartStreamParser parser = parser(new ByteArrayInputStream(body));
+        parser.nextPart();
+
+        assertThrows(MultipartException.class, () -> transfer(parser));
+    }
+
+    @Test
+    void rejectsOversizedHeaderBlock() {
+        StringBuilder body = new StringBuilder("--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"singleFile\"; filename=\"a.txt\"\r\n");
+        for (int i = 0; i < 200; i++) {
+            body.append("X-Padding-").append(i).append(": ").append("p".repeat(60)).append("\r\n");
+        }
+        body.append("\r\n내용\r\n--").append(BOUNDARY).append("--\r\n");
+
+        MultipartStreamParser parser = parser(
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThrows(MultipartException.class, parser::nextPart);
+    }
+
+    @Test
+    void readsEmptyParts() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"singleFileDescription\"\r\n"
+            + "\r\n"
+            + "\r\n"
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"singleFile\"; filename=\"\"\r\n"
+            + "Content-Type: application/octet-stream\r\n"
+            + "\r\n"
+            + "\r\n"
+            + "--" + BOUNDARY + "--\r\n";
+
+        MultipartStreamParser parser = parser(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        parser.nextPart();
+        assertEquals("", parser.readString(1024, StandardCharsets.UTF_8));
+
+        MultipartStreamParser.Part file = parser.nextPart();
+        assertTrue(file.isFile());
+        assertEquals("", file.getFileName());
+        assertEquals(0, transfer(parser).length);
+        assertNull(parser.nextPart());
+    }
+
+    private static MultipartStreamParser parser(InputStream in) {
+        return new MultipartStreamParser(in, BOUNDARY, BUFFER_SIZE, -1);
+    }
+
+    private static byte[] transfer(MultipartStreamParser parser) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = parser.transferTo(Channels.newChannel(out));
+        assertEquals(out.size(), written);
+        return out.toByteArray();
+    }
+
+    private static byte[] filePartHeader(String name, String fileName) {
+        return ("--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: application/octet-stream\r\n"
+            + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    /* 한 번의 read 에 최대 chunkSize 바이트만 돌려주는 스트림 (네트워크에서 나뉘어 도착하는 본문 흉내) */
+    private static final class ChunkedInputStream extends InputStream {
+
+        private final byte[] data;
+        private final int chunkSize;
+        private int pos;
+
+        ChunkedInputStream(byte[] data, int chunkSize) {
+            this.data = data;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read() {
+            return pos < data.length ? data[pos++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (pos >= data.length) {
+                return -1;
+            }
+            int n = Math.min(Math.min(len, chunkSize), data.length - pos);
+            System.arraycopy(data, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+}
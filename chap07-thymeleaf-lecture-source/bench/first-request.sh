@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+#
+# 템플릿 warm-up 유무에 따른 화면별 첫 요청 지연 시간을 비교한다.
+# 애플리케이션을 thymeleaf.warm-up.enabled=true / false 로 한 번씩 새로 띄우고,
+# 기동과 warm-up 이 끝나면 각 URL 을 두 번씩 요청해 첫 요청과 두 번째 요청의 응답 시간을 출력한다.
+#
+# 사용법
+#   ./gradlew bootJar && bench/first-request.sh [URL 경로 ...]
+#
+# 환경 변수
+#   PORT      애플리케이션 포트 (기본 18007)
+#   APP_ARGS  애플리케이션에 추가로 넘길 인자
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-18007}
+APP_ARGS=${APP_ARGS:-}
+PATHS=("$@")
+if [[ ${#PATHS[@]} -eq 0 ]]; then
+  PATHS=(/lecture/expression /lecture/conditional /lecture/etc)
+fi
+
+JAR=$(ls build/libs/*.jar 2> /dev/null | grep -v -- '-plain.jar' | head -n 1 || true)
+if [[ -z "$JAR" ]]; then
+  echo "build/libs 에 실행 가능한 jar 가 없습니다. 먼저 ./gradlew bootJar 를 실행하세요." >&2
+  exit 1
+fi
+
+measure() {
+  local warm_up=$1 log pid ready
+  log=$(mktemp)
+  # shellcheck disable=SC2086
+  java -jar "$JAR" --server.port="$PORT" --thymeleaf.warm-up.enabled="$warm_up" $APP_ARGS > "$log" 2>&1 &
+  pid=$!
+
+  # "Started" 로그는 warm-up(ApplicationRunner)보다 먼저 찍히므로, warm-up 을 켠 경우에는 완료 로그까지 기다린다.
+  ready="Started "
+  if [[ $warm_up == true ]]; then
+    ready="템플릿 warm-up 완료"
+  fi
+  until grep -q "$ready" "$log"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "애플리케이션 기동 실패:" >&2
+      cat "$log" >&2
+      return 1
+    fi
+    sleep 0.2
+  done
+
+  for path in "${PATHS[@]}"; do
+    local first second
+    first=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PORT$path")
+    second=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PORT$path")
+    printf '%-8s %-20s %10.1f %10.1f\n' "$warm_up" "$path" \
+      "$(echo "$first * 1000" | bc)" "$(echo "$second * 1000" | bc)"
+  done
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  rm -f "$log"
+}
+
+printf '%-8s %-20s %10s %10s\n' warm-up path "first(ms)" "second(ms)"
+measure false
+measure true
@@ -0,0 +1,82 @@
+package com.ohgiraffers.thymeleaf.common.message;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+/**
+ * 여러 스레드가 동시에 메시지를 조회할 때 CompiledMessageSource 와 Spring 기본 ResourceBundleMessageSource 를 비교한다.
+ *
+ * 실행 : ./gradlew jmh  (동시 스레드 수는 @Threads 로 조정한다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class MessageSourceLookupBenchmark {
+
+    private static final Object[] ARGS = {"홍길동", 3};
+
+    @Param({"compiled", "resourceBundle"})
+    public String implementation;
+
+    private MessageSource messageSource;
+
+    @Setup
+    public void setUp() throws Exception {
+        if ("compiled".equals(implementation)) {
+            CompiledMessageSource compiled = new CompiledMessageSource(List.of("bench-messages"),
+                StandardCharsets.UTF_8, Duration.ZERO);
+            compiled.afterPropertiesSet();
+            messageSource = compiled;
+        } else {
+            ResourceBundleMessageSource resourceBundle = new ResourceBundleMessageSource();
+            resourceBundle.setBasename("bench-messages");
+            resourceBundle.setDefaultEncoding("UTF-8");
+            resourceBundle.setFallbackToSystemLocale(false);
+            messageSource = resourceBundle;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (messageSource instanceof CompiledMessageSource compiled) {
+            compiled.destroy();
+        }
+    }
+
+    @Benchmark
+    public String withoutArguments() {
+        return messageSource.getMessage("message.value", null, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String withArguments() {
+        return messageSource.getMessage("message.greeting", ARGS, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String fallbackToDefaultBundle() {
+        return messageSource.getMessage("message.greeting", ARGS, Locale.JAPAN);
+    }
+}
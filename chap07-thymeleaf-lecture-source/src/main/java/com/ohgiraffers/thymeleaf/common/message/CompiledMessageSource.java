@@ -0,0 +1,263 @@
+package com.ohgiraffers.thymeleaf.common.message;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StringUtils;
+
+/**
+ * messages*.properties 를 미리 읽어 로케일별 불변 Map 으로 만들어 두고, 조회는 락 없이 Map 만 읽는 MessageSource.
+ *
+ * - 로케일별 Map 에는 상위 로케일(ko_KR -> ko -> 기본 파일)의 메시지가 미리 합쳐져 있다.
+ * - 인자가 있는 메시지는 MessageFormat 을 미리 만들어 두고, 조회할 때마다 파싱 대신 복제해서 사용한다.
+ *   (MessageFormat 은 스레드에 안전하지 않아서 공유 인스턴스를 쓰면 동기화가 필요하다.)
+ * - 모든 Map 은 한 묶음(Snapshot)으로 AtomicReference 에 보관하고, 다시 읽을 때는 새 묶음으로 참조만 바꾼다.
+ * - reloadInterval 이 0 보다 크면 그 주기마다 파일 수정 시각을 확인해서 바뀌었으면 다시 읽는다.
+ *   jar 안의 파일처럼 수정 시각을 알 수 없는 경우에는 바뀌지 않은 것으로 본다.
+ */
+public class CompiledMessageSource extends AbstractMessageSource implements InitializingBean,
+    DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CompiledMessageSource.class);
+
+    private final List<String> basenames;
+    private final Charset encoding;
+    private final Duration reloadInterval;
+    private final ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private ScheduledExecutorService reloadScheduler;
+
+    /**
+     * @param basenames      classpath 기준 번들 이름들 (예: messages, i18n/errors)
+     * @param encoding       properties 파일 인코딩
+     * @param reloadInterval 파일 변경 확인 주기, 0 이면 다시 읽지 않는다
+     */
+    public CompiledMessageSource(List<String> basenames, Charset encoding, Duration reloadInterval) {
+        this.basenames = List.copyOf(basenames);
+        this.encoding = encoding;
+        this.reloadInterval = reloadInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        snapshot.set(load());
+        if (reloadInterval.isZero() || reloadInterval.isNegative()) {
+            return;
+        }
+
+        reloadScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "message-source-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = reloadInterval.toMillis();
+        reloadScheduler.scheduleWithFixedDelay(this::reloadIfModified, intervalMillis, intervalMillis,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (reloadScheduler != null) {
+            reloadScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 파일이 바뀌었는지와 상관없이 모든 번들을 지금 다시 읽는다.
+     */
+    public void reload() throws IOException {
+        snapshot.set(load());
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        Entry entry = snapshot.get().find(code, locale);
+        return entry == null ? null : entry.message;
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        Entry entry = snapshot.get().find(code, locale);
+        if (entry == null) {
+            return null;
+        }
+        /* 복제본은 이 호출에서만 사용되므로 상위 클래스의 synchronized 는 경합 없이 끝난다. */
+        return (MessageFormat) entry.format.clone();
+    }
+
+    private void reloadIfModified() {
+        try {
+            Snapshot current = snapshot.get();
+            if (current.lastModified == lastModified(findResources())) {
+                return;
+            }
+            snapshot.set(load());
+            log.info("메시지 번들이 변경되어 다시 읽었습니다: {}", basenames);
+        } catch (IOException | RuntimeException e) {
+            log.warn("메시지 번들 다시 읽기 실패, 이전 메시지를 계속 사용합니다: {}", e.getMessage());
+        }
+    }
+
+    private Map<Resource, Locale> findResources() throws IOException {
+        Map<Resource, Locale> resources = new LinkedHashMap<>();
+        for (String basename : basenames) {
+            String fileName = StringUtils.getFilename(basename);
+            for (Resource resource : resourcePatternResolver.getResources(
+                "classpath*:" + basename + "*.properties")) {
+                String name = resource.getFilename();
+                if (name == null) {
+                    continue;
+                }
+                String suffix = name.substring(fileName.length(), name.length() - ".properties".length());
+                if (suffix.isEmpty()) {
+                    resources.put(resource, Locale.ROOT);
+                } else if (suffix.startsWith("_")) {
+                    resources.put(resource, StringUtils.parseLocale(suffix.substring(1)));
+                }
+            }
+        }
+        return resources;
+    }
+
+    private Snapshot load() throws IOException {
+        Map<Resource, Locale> resources = findResources();
+
+        /* 1. 파일별 메시지를 로케일 단위로 모은다. 같은 로케일에서는 앞의 basename 이 우선한다. */
+        Map<Locale, Map<String, String>> raw = new HashMap<>();
+        for (Map.Entry<Resource, Locale> resource : resources.entrySet()) {
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(resource.getKey().getInputStream(), encoding)) {
+                properties.load(reader);
+            }
+            Map<String, String> messages = raw.computeIfAbsent(resource.getValue(), l -> new HashMap<>());
+            for (String key : properties.stringPropertyNames()) {
+                messages.putIfAbsent(key, properties.getProperty(key));
+            }
+        }
+
+        /* 2. 로케일마다 상위 로케일의 메시지를 합치고, MessageFormat 을 미리 만든다. */
+        Map<Locale, Map<String, Entry>> compiled = new HashMap<>();
+        for (Locale locale : raw.keySet()) {
+            Map<String, Entry> merged = new HashMap<>();
+            for (Locale candidate : candidates(locale)) {
+                Map<String, String> messages = raw.get(candidate);
+                if (messages == null) {
+                    continue;
+                }
+                for (Map.Entry<String, String> message : messages.entrySet()) {
+                    merged.computeIfAbsent(message.getKey(),
+                        key -> new Entry(message.getValue(), compile(message.getValue(), locale)));
+                }
+            }
+            compiled.put(locale, Map.copyOf(merged));
+        }
+        return new Snapshot(Map.copyOf(compiled), lastModified(resources));
+    }
+
+    /* 형식이 잘못된 메시지는 인자를 채우지 않고 원문 그대로 출력하는 MessageFormat 으로 만든다. */
+    private MessageFormat compile(String message, Locale locale) {
+        try {
+            return createMessageFormat(message, locale);
+        } catch (IllegalArgumentException e) {
+            log.warn("MessageFormat 으로 해석할 수 없는 메시지는 원문 그대로 사용합니다: {}", message);
+            return new MessageFormat("'" + message.replace("'", "''") + "'", locale);
+        }
+    }
+
+    private static long lastModified(Map<Resource, Locale> resources) {
+        long hash = resources.size();
+        for (Resource resource : resources.keySet()) {
+            long modified;
+            try {
+                modified = resource.lastModified();
+            } catch (IOException e) {
+                modified = 0;
+            }
+            hash = 31 * hash + modified;
+        }
+        return hash;
+    }
+
+    /* ko_KR_variant -> ko_KR -> ko -> ROOT 순서의 후보 로케일 */
+    private static List<Locale> candidates(Locale locale) {
+        List<Locale> candidates = new ArrayList<>(4);
+        if (!locale.getVariant().isEmpty()) {
+            candidates.add(locale);
+        }
+        if (!locale.getCountry().isEmpty()) {
+            candidates.add(new Locale(locale.getLanguage(), locale.getCountry()));
+        }
+        if (!locale.getLanguage().isEmpty()) {
+            candidates.add(new Locale(locale.getLanguage()));
+        }
+        candidates.add(Locale.ROOT);
+        return candidates;
+    }
+
+    private static final class Snapshot {
+
+        private final Map<Locale, Map<String, Entry>> messagesByLocale;
+        private final long lastModified;
+
+        private Snapshot(Map<Locale, Map<String, Entry>> messagesByLocale, long lastModified) {
+            this.messagesByLocale = messagesByLocale;
+            this.lastModified = lastModified;
+        }
+
+        /*
+         * 번들 파일이 있는 로케일이면 Map 조회 한 번으로 끝난다. 그 밖의 로케일은 매번 후보를 따라 찾는다.
+         * 요청 로케일은 Accept-Language 로 클라이언트가 마음대로 보낼 수 있으므로 결과를 로케일별로 보관하지 않는다.
+         */
+        private Entry find(String code, Locale locale) {
+            Map<String, Entry> messages = messagesByLocale.get(locale);
+            if (messages == null) {
+                messages = bundleFor(locale);
+            }
+            return messages.get(code);
+        }
+
+        private Map<String, Entry> bundleFor(Locale locale) {
+            for (Locale candidate : candidates(locale)) {
+                Map<String, Entry> messages = messagesByLocale.get(candidate);
+                if (messages != null) {
+                    return messages;
+                }
+            }
+            return Map.of();
+        }
+    }
+
+    private static final class Entry {
+
+        private final String message;
+        private final MessageFormat format;
+
+        private Entry(String message, MessageFormat format) {
+            this.message = message;
+            this.format = format;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ohgiraffers.thymeleaf.common.paging;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 페이징용 전체 건수를 키별로 캐시한다.
+ *
+ * - 처음 요청한 스레드만 건수를 구하고, 같은 키로 동시에 들어온 요청은 그 결과를 기다린다.
+ * - ttl 이 지나면 캐시된 건수를 그대로 돌려주면서 백그라운드에서 다시 센다.
+ * - 추정 건수가 estimateThreshold 이상이면 COUNT(*) 를 하지 않고 추정치를 사용한다.
+ */
+public class CountCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CountCache.class);
+
+    private final Duration ttl;
+    private final long estimateThreshold;
+    private final Executor refreshExecutor;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public CountCache(Duration ttl, long estimateThreshold, Executor refreshExecutor) {
+        this.ttl = ttl;
+        this.estimateThreshold = estimateThreshold;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * 키에 해당하는 전체 건수를 반환한다.
+     *
+     * @param key    캐시 키 (예: 목록 종류와 검색 조건)
+     * @param source 캐시에 없을 때 건수를 구하는 방법
+     * @return 전체 건수
+     */
+    public PageCount get(String key, CountSource source) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(load(source)));
+        if (System.nanoTime() - entry.loadedAt >= ttl.toNanos()) {
+            refreshAsync(key, source);
+        }
+        return entry.count;
+    }
+
+    /**
+     * 등록/삭제로 건수가 바뀌었을 때 호출한다. 다음 조회 때 백그라운드에서 다시 센다.
+     */
+    public void invalidate(String key) {
+        entries.computeIfPresent(key, (k, entry) -> new Entry(entry.count, System.nanoTime() - ttl.toNanos()));
+    }
+
+    private PageCount load(CountSource source) {
+        long estimate = source.estimate();
+        if (estimate >= 0 && estimate >= estimateThreshold) {
+            return PageCount.estimated(estimate);
+        }
+        return PageCount.exact(source.count());
+    }
+
+    private void refreshAsync(String key, CountSource source) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    entries.put(key, new Entry(load(source)));
+                } catch (RuntimeException e) {
+                    log.warn("[{}] 전체 건수 갱신 실패: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private static final class Entry {
+
+        private final PageCount count;
+        private final long loadedAt;
+
+        private Entry(PageCount count) {
+            this(count, System.nanoTime());
+        }
+
+        private Entry(PageCount count, long loadedAt) {
+            this.count = count;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ohgiraffers.thymeleaf.common.paging;
+
+/* 페이징 대상의 전체 건수를 구하는 방법. */
+public interface CountSource {
+
+    /**
+     * 정확한 전체 건수 (SELECT COUNT(*) 에 해당). 대상이 크면 오래 걸릴 수 있다.
+     */
+    long count();
+
+    /**
+     * 전체 건수를 빠르게 추정한다 (예: MySQL information_schema.TABLES.TABLE_ROWS).
+     *
+     * @return 추정 건수, 추정할 수 없으면 -1
+     */
+    default long estimate() {
+        return -1;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ohgiraffers.thymeleaf.common.paging;
+
+/**
+ * 페이징에 사용할 전체 건수.
+ * estimated 가 true 이면 COUNT(*) 대신 통계 값으로 구한 추정치이다.
+ */
+public class PageCount {
+
+    private final long total;
+    private final boolean estimated;
+
+    private PageCount(long total, boolean estimated) {
+        this.total = total;
+        this.estimated = estimated;
+    }
+
+    public static PageCount exact(long total) {
+        return new PageCount(total, false);
+    }
+
+    public static PageCount estimated(long total) {
+        return new PageCount(total, true);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isEstimated() {
+        return estimated;
+    }
+
+    @Override
+    public String toString() {
+        return "PageCount{" +
+            "total=" + total +
+            ", estimated=" + estimated +
+            '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.ohgiraffers.thymeleaf.common.paging;
+
+import com.ohgiraffers.thymeleaf.model.dto.SelectCriteria;
+
+/* 현재 페이지와 전체 건수로 페이지 버튼 구간을 계산한다. */
+public class Pagination {
+
+    private Pagination() {
+    }
+
+    /**
+     * @param pageNo       요청한 페이지 번호 (범위를 벗어나면 1 ~ 마지막 페이지로 맞춘다)
+     * @param count        전체 건수
+     * @param limit        한 페이지에 보여줄 행 수
+     * @param buttonAmount 한 번에 보여줄 페이지 버튼 수
+     * @return 페이지 구간이 계산된 SelectCriteria
+     */
+    public static SelectCriteria getSelectCriteria(int pageNo, PageCount count, int limit,
+        int buttonAmount) {
+        if (limit <= 0 || buttonAmount <= 0) {
+            throw new IllegalArgumentException("limit 과 buttonAmount 는 0 보다 커야 합니다.");
+        }
+
+        long pages = (count.getTotal() + limit - 1) / limit;
+        int maxPage = (int) Math.max(1, Math.min(pages, Integer.MAX_VALUE));
+        int currentPage = Math.min(Math.max(pageNo, 1), maxPage);
+
+        int startPage = (currentPage - 1) / buttonAmount * buttonAmount + 1;
+        int endPage = (int) Math.min((long) startPage + buttonAmount - 1, maxPage);
+
+        return new SelectCriteria(currentPage, maxPage, startPage, endPage, limit, buttonAmount,
+            count.getTotal(), count.isEstimated());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ohgiraffers.thymeleaf.common.warmup;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+/**
+ * 기동이 끝나기 전에 lecture 화면 템플릿을 모델 없이 한 번씩 처리해서 파싱 결과를 Thymeleaf 캐시에 올려 둔다.
+ * 표현식 평가는 모델이 없어 중간에 실패하지만, 파싱과 캐시 저장은 그 전에 끝나므로 실패는 무시한다.
+ *
+ * spring.thymeleaf.cache=false 이면 캐시에 남지 않으므로 건너뛴다.
+ */
+@Component
+@ConditionalOnProperty(name = "thymeleaf.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class TemplateWarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateWarmUpRunner.class);
+
+    /* LectureController 의 화면. 조각을 포함하는 템플릿이 없으므로 화면만 처리한다. */
+    private static final List<String> VIEWS = List.of(
+        "lecture/expression", "lecture/conditional", "lecture/etc");
+
+    private final TemplateEngine templateEngine;
+    private final ThymeleafProperties thymeleafProperties;
+
+    public TemplateWarmUpRunner(TemplateEngine templateEngine, ThymeleafProperties thymeleafProperties) {
+        this.templateEngine = templateEngine;
+        this.thymeleafProperties = thymeleafProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!thymeleafProperties.isCache()) {
+            log.info("spring.thymeleaf.cache=false 이므로 템플릿 warm-up 을 건너뜁니다.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        for (String view : VIEWS) {
+            try {
+                templateEngine.process(view, new Context(Locale.getDefault()), Writer.nullWriter());
+            } catch (RuntimeException e) {
+                log.debug("[{}] 모델 없이 처리하다 멈춤 (파싱 결과는 캐시됨): {}", view, e.getMessage());
+            }
+        }
+        log.info("템플릿 warm-up 완료 : {}, {}ms", VIEWS, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ohgiraffers.thymeleaf.config;
+
+import com.ohgiraffers.thymeleaf.common.message.CompiledMessageSource;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+public class MessageSourceConfiguration {
+
+    /**
+     * 빈 이름이 messageSource 이면 Spring Boot 의 기본 MessageSource 대신 이 빈이 사용된다.
+     * 번들 이름과 인코딩은 기본 MessageSource 와 같은 spring.messages.* 설정을 따른다.
+     */
+    @Bean(name = "messageSource")
+    public CompiledMessageSource messageSource(
+        @Value("${spring.messages.basename:messages}") String basename,
+        @Value("${spring.messages.encoding:UTF-8}") Charset encoding,
+        @Value("${spring.messages.use-code-as-default-message:false}") boolean useCodeAsDefaultMessage,
+        @Value("${lecture.messages.reload-interval:0s}") Duration reloadInterval) {
+
+        CompiledMessageSource messageSource = new CompiledMessageSource(
+            Arrays.stream(StringUtils.commaDelimitedListToStringArray(basename))
+                .map(String::trim)
+                .toList(),
+            encoding, reloadInterval);
+        messageSource.setUseCodeAsDefaultMessage(useCodeAsDefaultMessage);
+        return messageSource;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ohgiraffers.thymeleaf.config;
+
+import com.ohgiraffers.thymeleaf.common.paging.CountCache;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PagingConfiguration {
+
+    /* 전체 건수를 백그라운드에서 다시 셀 때 사용하는 스레드 풀. */
+    @Bean
+    public ThreadPoolTaskExecutor countRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("count-refresh-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(64);
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    @Bean
+    public CountCache countCache(ThreadPoolTaskExecutor countRefreshExecutor,
+        @Value("${lecture.paging.count-ttl:30s}") Duration countTtl,
+        @Value("${lecture.paging.count-estimate-threshold:1000000}") long estimateThreshold) {
+        return new CountCache(countTtl, estimateThreshold, countRefreshExecutor);
+    }
+}
@@ -2,9 +2,15 @@ package com.ohgiraffers.thymeleaf.controller;
 
 import com.ohgiraffers.thymeleaf.model.dto.MemberDTO;
 import com.ohgiraffers.thymeleaf.model.dto.SelectCriteria;
+import com.ohgiraffers.thymeleaf.model.service.MemberService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.util.ArrayList;
@@ -14,22 +20,41 @@ import java.util.List;
 @RequestMapping("lecture")
 public class LectureController {
 
+    private final MemberService memberService;
+    private final String conditionalRenderMode;
+
+    public LectureController(MemberService memberService,
+        @Value("${lecture.conditional.render-mode:buffered}") String conditionalRenderMode) {
+        this.memberService = memberService;
+        this.conditionalRenderMode = conditionalRenderMode;
+    }
+
     @GetMapping("expression")
     public ModelAndView expression(ModelAndView mv) {
 
         mv.addObject("member", new MemberDTO("홍길동", 20, '남', "서울시 서초구"));
         mv.addObject("hello", "hello!<h3>Thymeleaf</h3>");
 
-        mv.setViewName("/lecture/expression");
+        mv.setViewName("lecture/expression");
 
         return mv;
     }
 
     @GetMapping("conditional")
-    public ModelAndView conditional(ModelAndView mv) {
+    public ModelAndView conditional(ModelAndView mv, HttpServletResponse response) {
 
         mv.addObject("num", 1);
         mv.addObject("str", "바나나");
+        mv.setViewName("lecture/conditional");
+
+        /*
+         * streaming 모드에서는 회원 테이블 전체를 목록을 미리 만들지 않고 th:each 가 반복하는 동안 읽으며,
+         * 일정 행 수마다 응답을 flush 해서 이미 그린 부분을 먼저 내려보낸다.
+         */
+        if ("streaming".equals(conditionalRenderMode)) {
+            mv.addObject("memberList", memberService.streamMembers(() -> flush(response)));
+            return mv;
+        }
 
         List<MemberDTO> memberList = new ArrayList<>();
         memberList.add(new MemberDTO("홍길동", 20, '남', "서울시 서초구"));
@@ -39,18 +64,29 @@ public class LectureController {
 
         mv.addObject("memberList", memberList);
 
-        mv.setViewName("/lecture/conditional");
-
         return mv;
     }
 
     @GetMapping("etc")
-    public ModelAndView etc(ModelAndView mv) {
+    public ModelAndView etc(ModelAndView mv,
+        @RequestParam(value = "page", defaultValue = "1") int page,
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "before", required = false) Long before) {
 
-        SelectCriteria selectCriteria = new SelectCriteria(1, 10, 3);
+        SelectCriteria selectCriteria = memberService.getSelectCriteria(page, after, before);
+        List<MemberDTO> memberList = memberService.findMemberList(selectCriteria);
 
         mv.addObject(selectCriteria);
+        mv.addObject("memberList", memberList);
 
         return mv;
     }
-}
\ No newline at end of file
+
+    private static void flush(HttpServletResponse response) {
+        try {
+            response.flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
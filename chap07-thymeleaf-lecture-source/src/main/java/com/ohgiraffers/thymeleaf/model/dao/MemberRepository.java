@@ -0,0 +1,109 @@
+package com.ohgiraffers.thymeleaf.model.dao;
+
+import com.ohgiraffers.thymeleaf.common.paging.CountSource;
+import com.ohgiraffers.thymeleaf.model.dto.MemberDTO;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 페이징 예제용 회원 테이블. DB 없이 번호 순으로 정렬된 skip list 에 보관한다.
+ *
+ * 실제 테이블과 비용 구조가 비슷하다.
+ * - 전체 건수(count) 는 모든 행을 세어야 한다 (ConcurrentSkipListMap.size() 는 O(n)).
+ * - OFFSET 조회는 앞의 행을 하나씩 건너뛰어야 한다.
+ * - 번호(키)로 이어서 읽는 키셋 조회는 건너뛰는 행 없이 바로 시작 위치를 찾는다.
+ * - 추정 건수(estimate) 는 등록/삭제 때 함께 갱신하는 통계 값이라 바로 구할 수 있다.
+ */
+@Repository
+public class MemberRepository implements CountSource {
+
+    private static final String[] FAMILY_NAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임"};
+    private static final String[] GIVEN_NAMES = {"민준", "서연", "도윤", "하은", "시우", "지우", "주원", "서윤"};
+    private static final String[] DISTRICTS = {"서초구", "노원구", "종로구", "송파구", "마포구", "강남구"};
+
+    private final ConcurrentSkipListMap<Long, MemberDTO> members = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder rowStatistics = new LongAdder();
+
+    public MemberRepository(@Value("${lecture.member.sample-size:10000}") int sampleSize) {
+        for (int i = 0; i < sampleSize; i++) {
+            insert(new MemberDTO(
+                FAMILY_NAMES[i % FAMILY_NAMES.length] + GIVEN_NAMES[i / FAMILY_NAMES.length % GIVEN_NAMES.length],
+                20 + i % 40,
+                i % 2 == 0 ? '남' : '여',
+                "서울시 " + DISTRICTS[i % DISTRICTS.length]));
+        }
+    }
+
+    /**
+     * @return 새로 발급된 회원 번호
+     */
+    public long insert(MemberDTO member) {
+        long no = sequence.incrementAndGet();
+        member.setNo(no);
+        members.put(no, member);
+        rowStatistics.increment();
+        return no;
+    }
+
+    public boolean delete(long no) {
+        if (members.remove(no) == null) {
+            return false;
+        }
+        rowStatistics.decrement();
+        return true;
+    }
+
+    @Override
+    public long count() {
+        return members.size();
+    }
+
+    @Override
+    public long estimate() {
+        return rowStatistics.sum();
+    }
+
+    /* 전체 회원을 번호 오름차순으로 보여 주는 읽기 전용 뷰. 복사하지 않고 반복하는 동안 skip list 를 따라 읽는다. */
+    public Collection<MemberDTO> findAll() {
+        return Collections.unmodifiableCollection(members.values());
+    }
+
+    /* OFFSET 방식 : 앞의 offset 개를 건너뛴 뒤 limit 개를 읽는다. */
+    public List<MemberDTO> findPage(long offset, int limit) {
+        Iterator<MemberDTO> iterator = members.values().iterator();
+        for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        return take(iterator, limit);
+    }
+
+    /* 키셋 방식 : 번호가 after 보다 큰 회원을 번호 오름차순으로 limit 개 읽는다. */
+    public List<MemberDTO> findAfter(long after, int limit) {
+        return take(members.tailMap(after, false).values().iterator(), limit);
+    }
+
+    /* 키셋 방식 : 번호가 before 보다 작은 회원 중 가장 가까운 limit 개를 번호 오름차순으로 읽는다. */
+    public List<MemberDTO> findBefore(long before, int limit) {
+        List<MemberDTO> page = take(members.headMap(before, false).descendingMap().values().iterator(),
+            limit);
+        Collections.reverse(page);
+        return page;
+    }
+
+    private static List<MemberDTO> take(Iterator<MemberDTO> iterator, int limit) {
+        List<MemberDTO> page = new ArrayList<>(limit);
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+}
@@ -2,6 +2,7 @@ package com.ohgiraffers.thymeleaf.model.dto;
 
 public class MemberDTO {
 
+    private long no;
     private String name;
     private int age;
     private char gender;
@@ -17,6 +18,19 @@ public class MemberDTO {
         this.address = address;
     }
 
+    public MemberDTO(long no, String name, int age, char gender, String address) {
+        this(name, age, gender, address);
+        this.no = no;
+    }
+
+    public long getNo() {
+        return no;
+    }
+
+    public void setNo(long no) {
+        this.no = no;
+    }
+
     public String getName() {
         return name;
     }
@@ -52,7 +66,8 @@ public class MemberDTO {
     @Override
     public String toString() {
         return "MemberDTO{" +
-            "name='" + name + '\'' +
+            "no=" + no +
+            ", name='" + name + '\'' +
             ", age=" + age +
             ", gender=" + gender +
             ", address='" + address + '\'' +
@@ -1,11 +1,30 @@
 package com.ohgiraffers.thymeleaf.model.dto;
 
+/**
+ * 페이지 이동 버튼을 그리고 목록을 조회하는 데 필요한 값들.
+ * 보통은 {@link com.ohgiraffers.thymeleaf.common.paging.Pagination} 으로 전체 건수에서 계산해 만든다.
+ *
+ * 다음/이전 페이지는 OFFSET 대신 직전 목록의 마지막/처음 번호(키셋 커서)로 이어서 조회할 수 있다.
+ * - after  : 이 번호 다음부터 limit 개 (다음 페이지)
+ * - before : 이 번호 앞에서부터 limit 개 (이전 페이지)
+ */
 public class SelectCriteria {
 
     private int startPage;
     private int endPage;
     private int pageNo;
 
+    private int maxPage;
+    private int limit;
+    private int buttonAmount;
+    private long totalCount;
+    private boolean countEstimated;
+
+    private Long after;
+    private Long before;
+    private Long prevCursor;
+    private Long nextCursor;
+
     public SelectCriteria() {}
 
     public SelectCriteria(int startPage, int endPage, int pageNo) {
@@ -14,6 +33,21 @@ public class SelectCriteria {
         this.pageNo = pageNo;
     }
 
+    public SelectCriteria(int pageNo, int maxPage, int startPage, int endPage, int limit,
+        int buttonAmount, long totalCount, boolean countEstimated) {
+        this(startPage, endPage, pageNo);
+        this.maxPage = maxPage;
+        this.limit = limit;
+        this.buttonAmount = buttonAmount;
+        this.totalCount = totalCount;
+        this.countEstimated = countEstimated;
+    }
+
+    /** OFFSET 방식으로 조회할 때 건너뛸 행 수 */
+    public long getOffset() {
+        return (long) (pageNo - 1) * limit;
+    }
+
     public int getStartPage() {
         return startPage;
     }
@@ -38,12 +72,93 @@ public class SelectCriteria {
         this.pageNo = pageNo;
     }
 
+    public int getMaxPage() {
+        return maxPage;
+    }
+
+    public void setMaxPage(int maxPage) {
+        this.maxPage = maxPage;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public int getButtonAmount() {
+        return buttonAmount;
+    }
+
+    public void setButtonAmount(int buttonAmount) {
+        this.buttonAmount = buttonAmount;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public boolean isCountEstimated() {
+        return countEstimated;
+    }
+
+    public void setCountEstimated(boolean countEstimated) {
+        this.countEstimated = countEstimated;
+    }
+
+    public Long getAfter() {
+        return after;
+    }
+
+    public void setAfter(Long after) {
+        this.after = after;
+    }
+
+    public Long getBefore() {
+        return before;
+    }
+
+    public void setBefore(Long before) {
+        this.before = before;
+    }
+
+    public Long getPrevCursor() {
+        return prevCursor;
+    }
+
+    public void setPrevCursor(Long prevCursor) {
+        this.prevCursor = prevCursor;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     @Override
     public String toString() {
-        return "SearchCriteria{" +
+        return "SelectCriteria{" +
             "startPage=" + startPage +
             ", endPage=" + endPage +
             ", pageNo=" + pageNo +
+            ", maxPage=" + maxPage +
+            ", limit=" + limit +
+            ", buttonAmount=" + buttonAmount +
+            ", totalCount=" + totalCount +
+            ", countEstimated=" + countEstimated +
+            ", after=" + after +
+            ", before=" + before +
+            ", prevCursor=" + prevCursor +
+            ", nextCursor=" + nextCursor +
             '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.ohgiraffers.thymeleaf.model.service;
+
+import com.ohgiraffers.thymeleaf.common.paging.CountCache;
+import com.ohgiraffers.thymeleaf.common.paging.Pagination;
+import com.ohgiraffers.thymeleaf.model.dao.MemberRepository;
+import com.ohgiraffers.thymeleaf.model.dto.MemberDTO;
+import com.ohgiraffers.thymeleaf.model.dto.SelectCriteria;
+import java.util.Iterator;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MemberService {
+
+    private static final String COUNT_KEY = "member";
+
+    private final MemberRepository memberRepository;
+    private final CountCache countCache;
+    private final int limit;
+    private final int buttonAmount;
+    private final int streamPageSize;
+
+    public MemberService(MemberRepository memberRepository, CountCache countCache,
+        @Value("${lecture.paging.limit:10}") int limit,
+        @Value("${lecture.paging.button-amount:5}") int buttonAmount,
+        @Value("${lecture.stream.page-size:100}") int streamPageSize) {
+        this.memberRepository = memberRepository;
+        this.countCache = countCache;
+        this.limit = limit;
+        this.buttonAmount = buttonAmount;
+        this.streamPageSize = streamPageSize;
+    }
+
+    /**
+     * 요청한 페이지의 SelectCriteria 를 만든다. 전체 건수는 캐시된 값을 사용한다.
+     *
+     * @param pageNo 페이지 번호
+     * @param after  다음 페이지로 이동할 때 직전 페이지의 마지막 회원 번호 (없으면 null)
+     * @param before 이전 페이지로 이동할 때 직전 페이지의 첫 회원 번호 (없으면 null)
+     */
+    public SelectCriteria getSelectCriteria(int pageNo, Long after, Long before) {
+        SelectCriteria selectCriteria = Pagination.getSelectCriteria(pageNo,
+            countCache.get(COUNT_KEY, memberRepository), limit, buttonAmount);
+        selectCriteria.setAfter(after);
+        selectCriteria.setBefore(after == null ? before : null);
+        return selectCriteria;
+    }
+
+    /**
+     * 커서가 있으면 키셋 방식으로, 없으면 OFFSET 방식으로 한 페이지를 조회하고,
+     * 이전/다음 페이지로 이어서 읽을 커서를 selectCriteria 에 채운다.
+     */
+    public List<MemberDTO> findMemberList(SelectCriteria selectCriteria) {
+        List<MemberDTO> memberList;
+        if (selectCriteria.getAfter() != null) {
+            memberList = memberRepository.findAfter(selectCriteria.getAfter(), selectCriteria.getLimit());
+        } else if (selectCriteria.getBefore() != null) {
+            memberList = memberRepository.findBefore(selectCriteria.getBefore(), selectCriteria.getLimit());
+        } else {
+            memberList = memberRepository.findPage(selectCriteria.getOffset(), selectCriteria.getLimit());
+        }
+
+        if (!memberList.isEmpty()) {
+            selectCriteria.setPrevCursor(memberList.get(0).getNo());
+            selectCriteria.setNextCursor(memberList.get(memberList.size() - 1).getNo());
+        }
+        return memberList;
+    }
+
+    /**
+     * 전체 회원을 번호 오름차순으로, List 를 만들지 않고 반복하면서 읽는 Iterable 로 반환한다.
+     * 회원 테이블은 메모리의 skip list 라서 키셋 페이지 조회 없이 그대로 따라 읽고,
+     * streamPageSize 행을 읽을 때마다 beforeEachPage 를 실행한다.
+     *
+     * @param beforeEachPage 첫 행과 이후 streamPageSize 행마다, 해당 행을 읽기 직전에 실행할 작업 (예: 응답 flush)
+     * @return 회원 번호 오름차순 회원 목록
+     */
+    public Iterable<MemberDTO> streamMembers(Runnable beforeEachPage) {
+        return () -> new Iterator<>() {
+
+            private final Iterator<MemberDTO> rows = memberRepository.findAll().iterator();
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public MemberDTO next() {
+                if (read++ % streamPageSize == 0) {
+                    beforeEachPage.run();
+                }
+                return rows.next();
+            }
+        };
+    }
+
+    public long registMember(MemberDTO member) {
+        long no = memberRepository.insert(member);
+        countCache.invalidate(COUNT_KEY);
+        return no;
+    }
+
+    public boolean deleteMember(long no) {
+        boolean deleted = memberRepository.delete(no);
+        if (deleted) {
+            countCache.invalidate(COUNT_KEY);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,120 @@
+package com.ohgiraffers.crud.menu.view;
+
+import com.ohgiraffers.crud.common.fragmentcache.FragmentCache;
+import com.ohgiraffers.crud.common.fragmentcache.FragmentCacheDialect;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+/**
+ * 같은 모델로 menu/list, menu/detail 을 Thymeleaf 와 Java 렌더러로 각각 그려서 처리량을 비교한다.
+ * 두 방식 모두 MockHttpServletResponse 에 쓰고, 호출마다 응답 버퍼만 비운다.
+ *
+ * 실행 : ./gradlew jmh  (gc 프로파일러가 켜져 있어 gc.alloc.rate.norm 으로 호출당 할당 바이트도 함께 출력된다)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuViewRenderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private SpringTemplateEngine templateEngine;
+    private JakartaServletWebApplication webApplication;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    private Map<String, Object> listModel;
+    private Map<String, Object> detailModel;
+
+    private final MenuListView listView = new MenuListView();
+    private final MenuDetailView detailView = new MenuDetailView();
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateResolver.setCacheable(true);
+
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.addDialect(new FragmentCacheDialect(new FragmentCache(true, 16)));
+
+        MockServletContext servletContext = new MockServletContext();
+        webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+        request = new MockHttpServletRequest(servletContext, "GET", "/menu/list");
+        response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+
+        List<MenuDTO> menuList = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            menuList.add(new MenuDTO(i, "메뉴<" + i + "> & 세트", 1000 + i * 10, i % 12 + 1, i % 3 == 0 ? "N" : "Y"));
+        }
+        listModel = Map.of("menuList", menuList, "successMessage", "신규 메뉴 등록에 성공하셨습니다!");
+        detailModel = Map.of("menu", menuList.get(0));
+    }
+
+    @Benchmark
+    public void thymeleafList() throws Exception {
+        thymeleaf("menu/list", listModel);
+    }
+
+    @Benchmark
+    public void compiledList() throws Exception {
+        resetResponse();
+        listView.render(listModel, request, response);
+    }
+
+    @Benchmark
+    public void thymeleafDetail() throws Exception {
+        thymeleaf("menu/detail", detailModel);
+    }
+
+    @Benchmark
+    public void compiledDetail() throws Exception {
+        resetResponse();
+        detailView.render(detailModel, request, response);
+    }
+
+    private void thymeleaf(String viewName, Map<String, Object> model) throws Exception {
+        resetResponse();
+        WebContext context = new WebContext(webApplication.buildExchange(request, response), Locale.KOREA, model);
+        templateEngine.process(viewName, context, response.getWriter());
+        response.getWriter().flush();
+    }
+
+    /* 버퍼가 넘치거나 flush 되면 커밋 상태가 되므로, 내용을 비우기 전에 커밋 표시를 되돌린다. */
+    private void resetResponse() {
+        response.setCommitted(false);
+        response.resetBuffer();
+    }
+}
@@ -0,0 +1,49 @@
+package com.ohgiraffers.crud.common.compiledview;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import org.springframework.web.servlet.View;
+
+/**
+ * Thymeleaf 템플릿 하나를 손으로 옮겨 적은 Java 렌더러의 공통 부분.
+ * 템플릿을 해석하지 않고 고정 조각(byte[])과 모델 값을 순서대로 응답 스트림에 쓴다.
+ *
+ * 원본 템플릿을 고치면 같은 이름의 렌더러도 함께 고쳐야 한다.
+ * 두 결과가 같은지는 MenuCompiledViewParityTests 가 확인한다.
+ * (./gradlew test --tests '*MenuCompiledViewParityTests')
+ */
+public abstract class CompiledView implements View {
+
+    private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        response.setContentType(CONTENT_TYPE);
+        HtmlOutput out = new HtmlOutput(response.getOutputStream());
+        render(model == null ? Map.of() : model, request, response, out);
+    }
+
+    protected abstract void render(Map<String, ?> model, HttpServletRequest request,
+        HttpServletResponse response, HtmlOutput out) throws IOException;
+
+    /* th:href="@{/path}" 처럼 컨텍스트 경로를 붙이고 세션 ID URL 재작성을 적용한다. */
+    protected static String link(HttpServletRequest request, HttpServletResponse response, String path) {
+        return response.encodeURL(request.getContextPath() + path);
+    }
+
+    protected static <T> T required(Map<String, ?> model, String name, Class<T> type) {
+        Object value = model.get(name);
+        if (!type.isInstance(value)) {
+            throw new IllegalStateException("모델에 '" + name + "' (" + type.getSimpleName() + ") 가 없습니다.");
+        }
+        return type.cast(value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ohgiraffers.crud.common.compiledview;
+
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+/**
+ * 등록된 뷰 이름이면 미리 만든 {@link CompiledView} 를, 아니면 null 을 돌려 다음 ViewResolver(Thymeleaf) 에 넘긴다.
+ */
+public class CompiledViewResolver implements ViewResolver, Ordered {
+
+    private final Map<String, View> views;
+    private final int order;
+
+    public CompiledViewResolver(Map<String, View> views, int order) {
+        this.views = Map.copyOf(views);
+        this.order = order;
+    }
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) {
+        return views.get(viewName);
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,138 @@
+package com.ohgiraffers.crud.common.compiledview;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 미리 UTF-8 로 인코딩해 둔 고정 HTML 조각과, HTML 이스케이프가 필요한 값을 응답 스트림에 바로 쓴다.
+ *
+ * 값은 작은 작업 버퍼에서 이스케이프와 UTF-8 인코딩을 함께 처리하므로 String/byte[] 를 새로 만들지 않는다.
+ * 자체 출력 버퍼는 두지 않기 때문에 쓰기가 끝난 내용은 곧바로 서블릿 응답 버퍼에 들어가고,
+ * 렌더링 중에 response.flushBuffer() 를 호출하면 그때까지 쓴 내용이 모두 전송된다.
+ */
+public final class HtmlOutput {
+
+    private static final byte[] AMP = bytes("&amp;");
+    private static final byte[] LT = bytes("&lt;");
+    private static final byte[] GT = bytes("&gt;");
+    private static final byte[] QUOT = bytes("&quot;");
+    private static final byte[] APOS = bytes("&#39;");
+
+    private final OutputStream out;
+    private final byte[] scratch = new byte[512];
+    private int pos;
+
+    public HtmlOutput(OutputStream out) {
+        this.out = out;
+    }
+
+    /** 템플릿의 고정 부분을 정적 상수로 인코딩해 둘 때 사용한다. */
+    public static byte[] bytes(String html) {
+        return html.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** 미리 인코딩된 고정 조각을 그대로 쓴다. */
+    public HtmlOutput write(byte[] segment) throws IOException {
+        out.write(segment);
+        return this;
+    }
+
+    /** th:text 처럼 HTML 이스케이프해서 쓴다. null 은 빈 문자열로 쓴다. */
+    public HtmlOutput text(String value) throws IOException {
+        if (value == null) {
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> put(AMP);
+                case '<' -> put(LT);
+                case '>' -> put(GT);
+                case '"' -> put(QUOT);
+                case '\'' -> put(APOS);
+                default -> {
+                    if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        putCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+                    } else {
+                        putCodePoint(c);
+                    }
+                }
+            }
+        }
+        drain();
+        return this;
+    }
+
+    public HtmlOutput number(int value) throws IOException {
+        if (value == Integer.MIN_VALUE) {
+            return text(Integer.toString(value));
+        }
+        if (value < 0) {
+            putByte('-');
+            value = -value;
+        }
+        int start = pos;
+        do {
+            putByte('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = pos - 1; i < j; i++, j--) {
+            byte tmp = scratch[i];
+            scratch[i] = scratch[j];
+            scratch[j] = tmp;
+        }
+        drain();
+        return this;
+    }
+
+    private void putCodePoint(int cp) throws IOException {
+        if (cp < 0x80) {
+            putByte(cp);
+        } else if (cp < 0x800) {
+            ensure(2);
+            scratch[pos++] = (byte) (0xC0 | (cp >> 6));
+            scratch[pos++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (cp < 0x10000) {
+            if (Character.isSurrogate((char) cp)) {
+                putByte('?');
+                return;
+            }
+            ensure(3);
+            scratch[pos++] = (byte) (0xE0 | (cp >> 12));
+            scratch[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            scratch[pos++] = (byte) (0x80 | (cp & 0x3F));
+        } else {
+            ensure(4);
+            scratch[pos++] = (byte) (0xF0 | (cp >> 18));
+            scratch[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            scratch[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            scratch[pos++] = (byte) (0x80 | (cp & 0x3F));
+        }
+    }
+
+    private void put(byte[] entity) throws IOException {
+        ensure(entity.length);
+        System.arraycopy(entity, 0, scratch, pos, entity.length);
+        pos += entity.length;
+    }
+
+    private void putByte(int b) throws IOException {
+        ensure(1);
+        scratch[pos++] = (byte) b;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (pos + length > scratch.length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (pos > 0) {
+            out.write(scratch, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ohgiraffers.crud.common.fragmentcache;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * cache:replace 로 표시한 템플릿 조각의 렌더링 결과(HTML 문자열)를 보관한다.
+ *
+ * 키는 조각 이름, 로케일, 선언한 의존 대상(cache:deps), 추가 키(cache:key) 로 이루어진다.
+ * 조각이 의존하는 데이터가 바뀌면 {@link #invalidate(String)} 로 그 의존 대상을 선언한 조각들을 한 번에 비운다.
+ * 보관 개수가 maxEntries 를 넘으면 가장 오래 사용하지 않은 조각부터 버린다(LRU).
+ */
+public class FragmentCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+
+    /* 접근 순서로 정렬한 LinkedHashMap. get 도 순서를 바꾸므로 모든 접근은 entries 로 동기화한다. */
+    private final Map<Key, String> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public FragmentCache(boolean enabled, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries 는 0 보다 커야 합니다.");
+        }
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > FragmentCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 렌더링 결과를 반환하고, 없으면 renderer 로 렌더링해서 보관한다.
+     * 렌더링은 잠금 밖에서 하므로, 같은 조각을 동시에 처음 요청하면 여러 번 렌더링될 수 있다.
+     * 캐시가 꺼져 있으면 보관하지 않고 매번 렌더링한다.
+     *
+     * @param key      조각 키
+     * @param renderer 조각을 렌더링하는 함수
+     * @return 렌더링된 HTML
+     */
+    public String get(Key key, Supplier<String> renderer) {
+        if (!enabled) {
+            return renderer.get();
+        }
+
+        String cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        String rendered = renderer.get();
+        synchronized (entries) {
+            entries.putIfAbsent(key, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * dependency 를 cache:deps 에 선언했거나 이름이 dependency 인 조각을 모두 비운다.
+     *
+     * @param dependency 변경된 의존 대상 이름 (예: menu) 또는 조각 이름
+     */
+    public void invalidate(String dependency) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.fragment.equals(dependency)
+                || key.dependencies.contains(dependency));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public static final class Key {
+
+        private final String fragment;
+        private final Locale locale;
+        private final List<String> dependencies;
+        private final String extra;
+
+        public Key(String fragment, Locale locale, List<String> dependencies, String extra) {
+            this.fragment = fragment;
+            this.locale = locale;
+            this.dependencies = List.copyOf(dependencies);
+            this.extra = extra;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return fragment.equals(key.fragment)
+                && Objects.equals(locale, key.locale)
+                && dependencies.equals(key.dependencies)
+                && Objects.equals(extra, key.extra);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fragment, locale, dependencies, extra);
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" +
+                "fragment='" + fragment + '\'' +
+                ", locale=" + locale +
+                ", dependencies=" + dependencies +
+                ", extra='" + extra + '\'' +
+                '}';
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ohgiraffers.crud.common.fragmentcache;
+
+import java.util.Set;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.standard.StandardDialect;
+
+/**
+ * cache:replace 속성을 제공하는 Thymeleaf 방언.
+ *
+ * <pre>
+ * &lt;div cache:replace="common/header.html" cache:deps="layout"/&gt;
+ * &lt;div cache:replace="menu/fragments :: categories" cache:deps="category" cache:key="${categoryCode}"/&gt;
+ * </pre>
+ *
+ * th:replace 와 같이 요소를 조각으로 바꾸되, 렌더링 결과를 {@link FragmentCache} 에 보관했다가 다시 사용한다.
+ * - cache:deps : 쉼표로 구분한 의존 대상 이름. 키에 포함되고, FragmentCache.invalidate(이름) 으로 비운다.
+ *                운영 중에는 DELETE /actuator/fragmentcache/{이름} 으로 비운다. (FragmentCacheEndpoint)
+ * - 조각 이름은 "템플릿", "템플릿 :: 선택자" 또는 ~{템플릿 :: 선택자} 로 쓴다. 매개변수가 있는 조각과 현재 템플릿의 조각(~{:: 선택자}) 은 지원하지 않는다.
+ * - cache:key  : 조각 결과가 모델 값에 따라 달라질 때 그 값을 돌려주는 표현식. 결과가 키에 포함된다.
+ */
+public class FragmentCacheDialect extends AbstractProcessorDialect {
+
+    public static final String PREFIX = "cache";
+
+    private final FragmentCache fragmentCache;
+
+    public FragmentCacheDialect(FragmentCache fragmentCache) {
+        super("Fragment Cache", PREFIX, StandardDialect.PROCESSOR_PRECEDENCE);
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    public Set<IProcessor> getProcessors(String dialectPrefix) {
+        return Set.of(new FragmentCacheReplaceProcessor(dialectPrefix, fragmentCache));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ohgiraffers.crud.common.fragmentcache;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+/**
+ * 조각 캐시를 조회하고 비우는 actuator 엔드포인트.
+ *
+ * <pre>
+ * GET    /actuator/fragmentcache          보관 개수, 적중/미적중 횟수
+ * DELETE /actuator/fragmentcache/layout   cache:deps="layout" 을 선언한 조각(공통 헤더 등)만 비운다.
+ * DELETE /actuator/fragmentcache          모든 조각을 비운다.
+ * </pre>
+ *
+ * 템플릿 캐시를 켠 채 조각 템플릿(common/header.html 등)을 배포 없이 바꿨거나,
+ * 조각이 그리는 데이터가 바뀌었을 때 호출한다.
+ */
+@Endpoint(id = "fragmentcache")
+public class FragmentCacheEndpoint {
+
+    private final FragmentCache fragmentCache;
+
+    public FragmentCacheEndpoint(FragmentCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of(
+            "size", fragmentCache.size(),
+            "hits", fragmentCache.getHits(),
+            "misses", fragmentCache.getMisses());
+    }
+
+    @DeleteOperation
+    public void invalidate(@Selector String dependency) {
+        fragmentCache.invalidate(dependency);
+    }
+
+    @DeleteOperation
+    public void invalidateAll() {
+        fragmentCache.invalidateAll();
+    }
+}
@@ -0,0 +1,127 @@
+package com.ohgiraffers.crud.common.fragmentcache;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.standard.expression.StandardExpressions;
+import org.thymeleaf.templatemode.TemplateMode;
+
+/* cache:replace 를 처리한다. 사용법은 FragmentCacheDialect 참고. */
+public class FragmentCacheReplaceProcessor extends AbstractAttributeTagProcessor {
+
+    private static final String ATTR_NAME = "replace";
+    private static final String DEPS_ATTR_NAME = "deps";
+    private static final String KEY_ATTR_NAME = "key";
+    private static final int PRECEDENCE = 100;
+
+    private final FragmentCache fragmentCache;
+
+    public FragmentCacheReplaceProcessor(String dialectPrefix, FragmentCache fragmentCache) {
+        super(TemplateMode.HTML, dialectPrefix, null, false, ATTR_NAME, true, PRECEDENCE, true);
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    protected void doProcess(ITemplateContext context, IProcessableElementTag tag,
+        AttributeName attributeName, String attributeValue,
+        IElementTagStructureHandler structureHandler) {
+
+        String fragment = unwrapFragmentExpression(attributeValue.trim());
+        String prefix = attributeName.getPrefix();
+        FragmentCache.Key key = new FragmentCache.Key(fragment, context.getLocale(),
+            parseDependencies(tag.getAttributeValue(prefix, DEPS_ATTR_NAME)),
+            evaluateKey(context, tag.getAttributeValue(prefix, KEY_ATTR_NAME)));
+
+        String html = fragmentCache.get(key, () -> render(context, fragment));
+        structureHandler.replaceWith(html, false);
+    }
+
+    /*
+     * th:replace 처럼 ~{템플릿 :: 선택자} 형태도 받는다. 감싼 ~{ } 만 벗겨서 같은 키와 렌더링 경로를 사용한다.
+     * 현재 템플릿을 가리키는 ~{:: 선택자} 와 매개변수를 넘기는 조각은 다른 템플릿의 결과로 캐시할 수 없으므로 거부한다.
+     */
+    private static String unwrapFragmentExpression(String value) {
+        String fragment = value;
+        if (fragment.startsWith("~{")) {
+            if (!fragment.endsWith("}")) {
+                throw new TemplateProcessingException("cache:replace 의 조각 표현식이 닫히지 않았습니다: " + value);
+            }
+            fragment = fragment.substring(2, fragment.length() - 1).trim();
+        }
+        if (fragment.isEmpty() || fragment.startsWith("::")) {
+            throw new TemplateProcessingException(
+                "cache:replace 에는 템플릿 이름이 있어야 합니다 (현재 템플릿 조각은 지원하지 않음): " + value);
+        }
+        if (fragment.contains("(") || fragment.contains("${") || fragment.contains("~{")) {
+            throw new TemplateProcessingException(
+                "cache:replace 는 매개변수나 표현식이 없는 조각 이름만 지원합니다: " + value);
+        }
+        return fragment;
+    }
+
+    private static List<String> parseDependencies(String deps) {
+        if (deps == null || deps.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(deps.split(","))
+            .map(String::trim)
+            .filter(dep -> !dep.isEmpty())
+            .sorted()
+            .toList();
+    }
+
+    private static String evaluateKey(ITemplateContext context, String expression) {
+        if (expression == null || expression.isBlank()) {
+            return null;
+        }
+        Object value = StandardExpressions.getExpressionParser(context.getConfiguration())
+            .parseExpression(context, expression)
+            .execute(context);
+        return String.valueOf(value);
+    }
+
+    /*
+     * "템플릿" 또는 "템플릿 :: 선택자" 형태의 조각을 현재 모델 값으로 렌더링한다.
+     * 처리 중인 템플릿의 엔진 컨텍스트를 건드리지 않도록 변수만 복사한 새 컨텍스트를 사용한다.
+     */
+    private static String render(ITemplateContext context, String fragment) {
+        String template = fragment;
+        Set<String> selectors = null;
+        int separator = fragment.indexOf("::");
+        if (separator >= 0) {
+            template = fragment.substring(0, separator).trim();
+            selectors = Set.of(fragment.substring(separator + 2).trim());
+        }
+
+        StringWriter writer = new StringWriter();
+        context.getConfiguration().getTemplateManager().parseAndProcess(
+            new TemplateSpec(template, selectors, context.getTemplateMode(), null),
+            copyOf(context), writer);
+        return writer.toString();
+    }
+
+    private static IContext copyOf(ITemplateContext context) {
+        Map<String, Object> variables = new HashMap<>();
+        for (String name : context.getVariableNames()) {
+            variables.put(name, context.getVariable(name));
+        }
+        if (context instanceof IWebContext webContext) {
+            return new WebContext(webContext.getExchange(), context.getLocale(), variables);
+        }
+        return new Context(context.getLocale(), variables);
+    }
+}
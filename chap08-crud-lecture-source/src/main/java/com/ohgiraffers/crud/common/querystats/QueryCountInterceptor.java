@@ -0,0 +1,63 @@
+package com.ohgiraffers.crud.common.querystats;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 요청마다 실행된 SQL 문장 수와 DB 시간을 집계하는 인터셉터.
+ * chap05 의 StopWatchInterceptor 처럼 preHandle 에서 측정을 시작하고 afterCompletion 에서 정리한다.
+ *
+ * 집계 결과는 Server-Timing 응답 헤더(db;dur=..;desc="N queries")로 내보내며,
+ * 한 요청에서 같은 문장이 임계치보다 많이 실행되면 N+1 쿼리를 의심하는 경고 로그를 남긴다.
+ */
+@Component
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountInterceptor.class);
+
+    private final int repeatedStatementThreshold;
+
+    public QueryCountInterceptor(
+        @Value("${menu.query-stats.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    /**
+     * 핸들러 메소드가 호출되기 전에 현재 요청 스레드의 쿼리 집계를 시작한다.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+        Object handler) {
+        QueryStatistics.begin(response);
+        return true;
+    }
+
+    /**
+     * 뷰 렌더링까지 끝난 뒤 집계를 정리하고, 같은 문장이 반복 실행된 경우 경고를 남긴다.
+     * 예외가 발생해도 호출되므로 ThreadLocal 정리는 여기서 한다.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+        Object handler, Exception ex) {
+        QueryStatistics statistics = QueryStatistics.end();
+        if (statistics == null || statistics.getTotalCount() == 0) {
+            return;
+        }
+
+        for (Map.Entry<String, Integer> entry : statistics.getCountByStatement().entrySet()) {
+            if (entry.getValue() > repeatedStatementThreshold) {
+                log.warn("N+1 쿼리 의심: {} {} 요청에서 {} 가 {}번 실행되었습니다 (임계치 {})",
+                    request.getMethod(), request.getRequestURI(), entry.getKey(), entry.getValue(),
+                    repeatedStatementThreshold);
+            }
+        }
+        log.debug("{} {} : {}", request.getMethod(), request.getRequestURI(),
+            statistics.toServerTiming());
+    }
+}
@@ -0,0 +1,107 @@
+package com.ohgiraffers.crud.common.querystats;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * HTTP 요청 하나를 처리하는 동안 실행된 SQL 문장 수와 DB 시간을 모으는 요청 범위 통계.
+ * 요청 스레드의 ThreadLocal 에 보관되므로, 백그라운드 스레드에서 실행된 쿼리는 집계되지 않는다.
+ * 요청을 처리하려고 다른 스레드에 맡긴 쿼리(예: 샤드 병렬 질의)는 그 스레드에서 따로 모은 집계를
+ * 요청 스레드에서 {@link #merge(QueryStatistics)} 로 더한다.
+ */
+public class QueryStatistics {
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletResponse response;
+    private final Map<String, int[]> countByStatement = new LinkedHashMap<>();
+    private int totalCount;
+    private long totalNanos;
+
+    private QueryStatistics(HttpServletResponse response) {
+        this.response = response;
+    }
+
+    /**
+     * 현재 스레드에서 집계를 시작한다.
+     *
+     * @param response 집계 결과를 Server-Timing 헤더로 내보낼 응답 객체
+     */
+    public static QueryStatistics begin(HttpServletResponse response) {
+        QueryStatistics statistics = new QueryStatistics(response);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /** 현재 스레드의 집계를 반환한다. 집계 중이 아니면 null. */
+    public static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    /** 현재 스레드의 집계를 끝내고 반환한다. */
+    public static QueryStatistics end() {
+        QueryStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    /**
+     * 실행된 문장 하나를 기록하고, 응답이 아직 커밋되지 않았으면 Server-Timing 헤더를 최신 값으로 갱신한다.
+     * 뷰 렌더링 도중처럼 응답이 이미 나가기 시작한 뒤의 쿼리는 헤더에는 반영되지 않고 로그 집계에만 포함된다.
+     *
+     * @param statementId 실행된 매퍼 문장 id
+     * @param nanos       실행 시간(ns)
+     */
+    public void record(String statementId, long nanos) {
+        countByStatement.computeIfAbsent(statementId, id -> new int[1])[0]++;
+        totalCount++;
+        totalNanos += nanos;
+
+        if (response != null && !response.isCommitted()) {
+            response.setHeader("Server-Timing", toServerTiming());
+        }
+    }
+
+    /**
+     * 다른 스레드에서 모은 집계를 더한다. 요청 스레드에서 호출해야 한다.
+     * 병렬로 실행된 쿼리의 시간도 그대로 더하므로 DB 시간은 실제 경과 시간보다 길 수 있다.
+     *
+     * @param other 작업 스레드에서 begin(null) 로 시작해 end() 로 받은 집계
+     */
+    public void merge(QueryStatistics other) {
+        if (other == null || other.totalCount == 0) {
+            return;
+        }
+        other.countByStatement.forEach((id, count) ->
+            countByStatement.computeIfAbsent(id, key -> new int[1])[0] += count[0]);
+        totalCount += other.totalCount;
+        totalNanos += other.totalNanos;
+
+        if (response != null && !response.isCommitted()) {
+            response.setHeader("Server-Timing", toServerTiming());
+        }
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    /** 문장 id 별 실행 횟수. */
+    public Map<String, Integer> getCountByStatement() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        countByStatement.forEach((id, count) -> counts.put(id, count[0]));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d queries\"",
+            getTotalMillis(), totalCount);
+    }
+}
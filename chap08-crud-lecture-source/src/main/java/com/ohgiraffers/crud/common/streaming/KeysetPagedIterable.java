@@ -0,0 +1,81 @@
+package com.ohgiraffers.crud.common.streaming;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 목록 전체를 한 번에 읽지 않고, 반복하면서 필요할 때마다 키셋 방식으로 한 페이지씩 읽어 오는 Iterable.
+ * th:each 의 대상으로 넘기면 메모리에는 한 페이지만 남고, 페이지를 읽기 직전마다 beforeEachPage 가 호출된다.
+ * (화면 렌더링에서는 여기서 응답을 flush 해서 지금까지 그린 부분을 먼저 내려보낸다.)
+ *
+ * iterator() 를 호출할 때마다 처음부터 다시 읽는다.
+ *
+ * @param <K> 정렬 키 타입
+ * @param <T> 행 타입
+ */
+public class KeysetPagedIterable<T, K> implements Iterable<T> {
+
+    private final K initialKey;
+    private final int pageSize;
+    private final BiFunction<K, Integer, List<T>> pageAfter;
+    private final Function<T, K> keyOf;
+    private final Runnable beforeEachPage;
+
+    /**
+     * @param initialKey     첫 페이지를 읽을 때 사용할 키 (이 키보다 큰 행부터 읽는다)
+     * @param pageSize       한 번에 읽을 행 수
+     * @param pageAfter      (키, 행 수) 를 받아 키보다 큰 행을 키 오름차순으로 최대 행 수만큼 반환
+     * @param keyOf          행에서 정렬 키를 꺼내는 함수
+     * @param beforeEachPage 페이지를 읽기 직전마다 실행할 작업
+     */
+    public KeysetPagedIterable(K initialKey, int pageSize, BiFunction<K, Integer, List<T>> pageAfter,
+        Function<T, K> keyOf, Runnable beforeEachPage) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize 는 0 보다 커야 합니다.");
+        }
+        this.initialKey = initialKey;
+        this.pageSize = pageSize;
+        this.pageAfter = pageAfter;
+        this.keyOf = keyOf;
+        this.beforeEachPage = beforeEachPage;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private K lastKey = initialKey;
+            private Iterator<T> page = Collections.emptyIterator();
+            private boolean lastPage;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext()) {
+                    if (lastPage) {
+                        return false;
+                    }
+                    beforeEachPage.run();
+                    List<T> rows = pageAfter.apply(lastKey, pageSize);
+                    lastPage = rows.size() < pageSize;
+                    if (!rows.isEmpty()) {
+                        lastKey = keyOf.apply(rows.get(rows.size() - 1));
+                    }
+                    page = rows.iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+        };
+    }
+}
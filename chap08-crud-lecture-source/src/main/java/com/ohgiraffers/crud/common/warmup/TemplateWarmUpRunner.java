@@ -0,0 +1,70 @@
+package com.ohgiraffers.crud.common.warmup;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+/**
+ * 애플리케이션이 준비 완료(ApplicationReadyEvent)를 알리기 전에 메뉴 화면 템플릿을 한 번씩 처리해서
+ * 템플릿 파싱 결과와 표현식 파싱 결과를 Thymeleaf 캐시에 미리 올려 둔다.
+ * 그러면 각 화면의 첫 요청이 파싱 비용을 치르지 않는다.
+ *
+ * 모델 없이 처리하므로 대부분의 템플릿은 중간에 표현식 평가가 실패하지만,
+ * 템플릿 파싱과 캐시 저장은 처리 전에 끝나기 때문에 실패는 무시한다.
+ *
+ * spring.thymeleaf.cache 가 false 이면(devtools 사용 시 기본값) 캐시에 남지 않으므로 건너뛴다.
+ */
+@Component
+@ConditionalOnProperty(name = "thymeleaf.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class TemplateWarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateWarmUpRunner.class);
+
+    /*
+     * MenuController 가 돌려주는 뷰 이름과, 그 뷰들이 cache:replace 로 포함하는 조각.
+     * 조각은 템플릿에 적힌 이름 그대로 캐시 키가 되므로 같은 이름으로 처리한다.
+     * 화면이나 조각을 추가하면 여기에도 추가한다.
+     */
+    private static final List<String> TEMPLATES = List.of(
+        "menu/list", "menu/detail", "menu/edit", "menu/regist",
+        "common/header.html");
+
+    private final TemplateEngine templateEngine;
+    private final ThymeleafProperties thymeleafProperties;
+
+    public TemplateWarmUpRunner(TemplateEngine templateEngine, ThymeleafProperties thymeleafProperties) {
+        this.templateEngine = templateEngine;
+        this.thymeleafProperties = thymeleafProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!thymeleafProperties.isCache()) {
+            log.info("spring.thymeleaf.cache=false 이므로 템플릿 warm-up 을 건너뜁니다.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        int failed = 0;
+        for (String template : TEMPLATES) {
+            try {
+                templateEngine.process(template, new Context(Locale.getDefault()), Writer.nullWriter());
+            } catch (RuntimeException e) {
+                failed++;
+                log.debug("[{}] warm-up 중 처리 실패 (파싱 결과는 캐시됨): {}", template, e.getMessage());
+            }
+        }
+
+        log.info("템플릿 warm-up 완료 : {}개 처리 ({}개는 모델 없이 끝까지 처리하지 못함), {}ms",
+            TEMPLATES.size(), failed, (System.nanoTime() - start) / 1_000_000);
+    }
+}
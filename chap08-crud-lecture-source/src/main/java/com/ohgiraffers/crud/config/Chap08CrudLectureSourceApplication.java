@@ -5,10 +5,12 @@ import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.ohgiraffers.crud")
 @MapperScan(basePackages = "com.ohgiraffers.crud", annotationClass = Mapper.class)
+@EnableScheduling
 public class Chap08CrudLectureSourceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,27 @@
+package com.ohgiraffers.crud.config;
+
+import com.ohgiraffers.crud.common.compiledview.CompiledViewResolver;
+import com.ohgiraffers.crud.menu.view.MenuDetailView;
+import com.ohgiraffers.crud.menu.view.MenuListView;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * menu.view.compiled=true 이면 자주 호출되는 메뉴 화면을 Thymeleaf 대신 Java 렌더러로 그린다.
+ * ThymeleafViewResolver(LOWEST_PRECEDENCE - 5) 보다 먼저 조회되고, 등록되지 않은 뷰 이름은 Thymeleaf 가 처리한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "menu.view.compiled", havingValue = "true")
+public class CompiledViewConfiguration {
+
+    @Bean
+    public CompiledViewResolver compiledViewResolver() {
+        return new CompiledViewResolver(Map.of(
+            "menu/list", new MenuListView(),
+            "menu/detail", new MenuDetailView()
+        ), Ordered.LOWEST_PRECEDENCE - 10);
+    }
+}
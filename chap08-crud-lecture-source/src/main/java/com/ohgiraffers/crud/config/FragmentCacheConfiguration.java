@@ -0,0 +1,51 @@
+package com.ohgiraffers.crud.config;
+
+import com.ohgiraffers.crud.common.fragmentcache.FragmentCache;
+import com.ohgiraffers.crud.common.fragmentcache.FragmentCacheDialect;
+import com.ohgiraffers.crud.common.fragmentcache.FragmentCacheEndpoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/* 템플릿 조각 출력 캐시. IDialect 빈은 Spring Boot 가 SpringTemplateEngine 에 자동으로 등록한다. */
+@Configuration
+public class FragmentCacheConfiguration {
+
+    /*
+     * 템플릿 캐시를 끈 개발 환경(spring.thymeleaf.cache=false, devtools 기본값)에서는 조각 캐시도 끈다.
+     * 그래야 common/header.html 같은 조각을 고쳤을 때 템플릿처럼 바로 다시 읽힌다.
+     */
+    @Bean
+    public FragmentCache fragmentCache(MeterRegistry meterRegistry,
+        @Value("${thymeleaf.fragment-cache.enabled:true}") boolean enabled,
+        @Value("${thymeleaf.fragment-cache.max-entries:256}") int maxEntries,
+        @Value("${spring.thymeleaf.cache:true}") boolean templateCache) {
+        FragmentCache fragmentCache = new FragmentCache(enabled && templateCache, maxEntries);
+
+        FunctionCounter.builder("thymeleaf.fragment.cache", fragmentCache, FragmentCache::getHits)
+            .tag("result", "hit")
+            .description("조각 캐시 적중 횟수")
+            .register(meterRegistry);
+        FunctionCounter.builder("thymeleaf.fragment.cache", fragmentCache, FragmentCache::getMisses)
+            .tag("result", "miss")
+            .description("조각 캐시 미적중(렌더링) 횟수")
+            .register(meterRegistry);
+        Gauge.builder("thymeleaf.fragment.cache.size", fragmentCache, FragmentCache::size)
+            .description("캐시된 조각 수")
+            .register(meterRegistry);
+        return fragmentCache;
+    }
+
+    @Bean
+    public FragmentCacheEndpoint fragmentCacheEndpoint(FragmentCache fragmentCache) {
+        return new FragmentCacheEndpoint(fragmentCache);
+    }
+
+    @Bean
+    public FragmentCacheDialect fragmentCacheDialect(FragmentCache fragmentCache) {
+        return new FragmentCacheDialect(fragmentCache);
+    }
+}
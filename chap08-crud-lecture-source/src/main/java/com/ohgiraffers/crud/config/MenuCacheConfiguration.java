@@ -0,0 +1,116 @@
+package com.ohgiraffers.crud.config;
+
+import com.ohgiraffers.crud.menu.model.cache.InvalidationTransport;
+import com.ohgiraffers.crud.menu.model.cache.MulticastInvalidationTransport;
+import com.ohgiraffers.crud.menu.model.cache.NoopInvalidationTransport;
+import com.ohgiraffers.crud.menu.model.cache.RefreshingSnapshot;
+import com.ohgiraffers.crud.menu.model.dao.MenuMapper;
+import com.ohgiraffers.crud.menu.model.dto.CategoryDTO;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MenuCacheConfiguration {
+
+    /**
+     * 메뉴 캐시들을 백그라운드에서 갱신할 때 사용하는 전용 스레드 풀.
+     * 갱신 작업은 스냅샷마다 동시에 하나만 실행되므로 작은 풀로 충분하다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor menuCacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("menu-cache-refresh-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(256);
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    /**
+     * 판매 가능한 메뉴 목록(/menu/list) 스냅샷.
+     * DB 가 느려도 요청은 메모리에 있는 목록으로 바로 응답한다.
+     */
+    @Bean
+    public RefreshingSnapshot<List<MenuDTO>> menuListSnapshot(MenuMapper menuMapper,
+        ThreadPoolTaskExecutor menuCacheRefreshExecutor,
+        MeterRegistry meterRegistry,
+        @Value("${menu.snapshot.soft-ttl:5s}") Duration softTtl,
+        @Value("${menu.snapshot.hard-ttl:5m}") Duration hardTtl,
+        @Value("${menu.snapshot.serve-stale-on-error:true}") boolean serveStaleOnError) {
+
+        RefreshingSnapshot<List<MenuDTO>> snapshot = new RefreshingSnapshot<>("menuList",
+            () -> List.copyOf(menuMapper.findAllMenu()),
+            softTtl, hardTtl, serveStaleOnError, menuCacheRefreshExecutor);
+
+        registerMetrics(snapshot, meterRegistry);
+        return snapshot;
+    }
+
+    /**
+     * 카테고리 목록 스냅샷. 카테고리는 거의 바뀌지 않으므로 메뉴 목록과 같은 TTL 설정을 그대로 사용한다.
+     */
+    @Bean
+    public RefreshingSnapshot<List<CategoryDTO>> categoryListSnapshot(MenuMapper menuMapper,
+        ThreadPoolTaskExecutor menuCacheRefreshExecutor,
+        MeterRegistry meterRegistry,
+        @Value("${menu.snapshot.soft-ttl:5s}") Duration softTtl,
+        @Value("${menu.snapshot.hard-ttl:5m}") Duration hardTtl,
+        @Value("${menu.snapshot.serve-stale-on-error:true}") boolean serveStaleOnError) {
+
+        RefreshingSnapshot<List<CategoryDTO>> snapshot = new RefreshingSnapshot<>("categoryList",
+            () -> List.copyOf(menuMapper.findAllCategory()),
+            softTtl, hardTtl, serveStaleOnError, menuCacheRefreshExecutor);
+
+        registerMetrics(snapshot, meterRegistry);
+        return snapshot;
+    }
+
+    /**
+     * 인스턴스 사이 캐시 무효화에 UDP 멀티캐스트를 사용한다.
+     * 같은 머신에서 여러 JVM 을 띄워 시험할 때는 interface 를 비워 두거나 멀티캐스트가 가능한 인터페이스를 지정한다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "menu.cache.invalidation.transport", havingValue = "multicast")
+    public InvalidationTransport multicastInvalidationTransport(
+        @Value("${menu.cache.invalidation.multicast.group:239.255.27.1}") String group,
+        @Value("${menu.cache.invalidation.multicast.port:45678}") int port,
+        @Value("${menu.cache.invalidation.multicast.interface:}") String interfaceName,
+        @Value("${menu.cache.invalidation.multicast.ttl:1}") int timeToLive)
+        throws UnknownHostException {
+        return new MulticastInvalidationTransport(InetAddress.getByName(group), port, interfaceName,
+            timeToLive);
+    }
+
+    /* 인스턴스가 하나뿐이면 무효화 이벤트를 밖으로 내보낼 필요가 없다. */
+    @Bean
+    @ConditionalOnProperty(name = "menu.cache.invalidation.transport", havingValue = "none",
+        matchIfMissing = true)
+    public InvalidationTransport noopInvalidationTransport() {
+        return new NoopInvalidationTransport();
+    }
+
+    private static void registerMetrics(RefreshingSnapshot<?> snapshot, MeterRegistry meterRegistry) {
+        Gauge.builder("menu.snapshot.age", snapshot, s -> s.ageMillis() / 1000.0)
+            .tag("snapshot", snapshot.getName())
+            .baseUnit("seconds")
+            .description("스냅샷 값이 만들어진 뒤 지난 시간")
+            .register(meterRegistry);
+        FunctionCounter.builder("menu.snapshot.refresh.failures", snapshot,
+                s -> s.getRefreshFailures())
+            .tag("snapshot", snapshot.getName())
+            .description("스냅샷 적재/갱신 실패 횟수")
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ohgiraffers.crud.config;
+
+import com.ohgiraffers.crud.menu.model.shard.CategoryRangeShardStrategy;
+import com.ohgiraffers.crud.menu.model.shard.MenuCodeModuloShardStrategy;
+import com.ohgiraffers.crud.menu.model.shard.ShardProperties;
+import com.ohgiraffers.crud.menu.model.shard.ShardProperties.ShardDataSource;
+import com.ohgiraffers.crud.menu.model.shard.ShardRoutingDataSource;
+import com.ohgiraffers.crud.menu.model.shard.ShardStrategy;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * TBL_MENU 를 여러 DB 에 나누어 저장하는 샤드 구성.
+ * menu.shard.enabled 가 true 일 때만 적용되며, 이때는 spring.datasource 대신 menu.shard.datasources 를 사용한다.
+ *
+ * 트랜잭션이 시작될 때가 아니라 첫 SQL 이 실행될 때 커넥션을 얻도록 LazyConnectionDataSourceProxy 로 감싸서,
+ * ShardedMenuMapper 가 정한 샤드가 @Transactional 메소드 안에서도 반영되게 한다.
+ * 한 트랜잭션은 하나의 샤드 커넥션만 사용하므로 여러 샤드에 걸친 트랜잭션은 지원하지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "menu.shard.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardDataSourceConfiguration {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardProperties shardProperties) {
+        List<DataSource> shards = new ArrayList<>();
+        for (ShardDataSource spec : shardProperties.getDatasources()) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(spec.getUrl())
+                .username(spec.getUsername())
+                .password(spec.getPassword())
+                .driverClassName(spec.getDriverClassName())
+                .build();
+            shard.setPoolName("menu-shard-" + shards.size());
+            runInitScript(shard, spec.getInitScript());
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardStrategy shardStrategy(ShardProperties shardProperties,
+        ShardRoutingDataSource shardRoutingDataSource) {
+        int shardCount = shardRoutingDataSource.getShardCount();
+        return switch (shardProperties.getStrategy()) {
+            case "category-range" ->
+                new CategoryRangeShardStrategy(shardProperties.getCategoryUpperBounds(), shardCount);
+            case "code-modulo" -> new MenuCodeModuloShardStrategy(shardCount);
+            default -> throw new IllegalArgumentException(
+                "알 수 없는 샤드 전략입니다: " + shardProperties.getStrategy());
+        };
+    }
+
+    /* 모든 샤드에 동시에 질의(fan-out)할 때 사용하는 스레드 풀. */
+    @Bean
+    public ThreadPoolTaskExecutor shardQueryExecutor(ShardProperties shardProperties) {
+        int threads = shardProperties.getQueryThreads() > 0
+            ? shardProperties.getQueryThreads()
+            : Math.max(1, shardProperties.getDatasources().size());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("menu-shard-query-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 64);
+        return executor;
+    }
+
+    private static void runInitScript(DataSource shard, String initScript) {
+        if (initScript == null || initScript.isBlank()) {
+            return;
+        }
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+            new DefaultResourceLoader().getResource(initScript));
+        populator.setSqlScriptEncoding("UTF-8");
+        DatabasePopulatorUtils.execute(populator, shard);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ohgiraffers.crud.config;
+
+import com.ohgiraffers.crud.common.querystats.QueryCountInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final QueryCountInterceptor queryCountInterceptor;
+
+    public WebConfiguration(QueryCountInterceptor queryCountInterceptor) {
+        this.queryCountInterceptor = queryCountInterceptor;
+    }
+
+    /**
+     * 요청별 SQL 집계 인터셉터를 모든 경로에 등록한다.
+     * 정적 리소스와 /error 경로는 쿼리를 실행하지 않으므로 제외한다.
+     *
+     * @param registry 인터셉터를 등록할 수 있는 인터셉터 레지스트리 객체
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryCountInterceptor)
+            .addPathPatterns("/**")
+            .excludePathPatterns("/css/**")
+            .excludePathPatterns("/images/**")
+            .excludePathPatterns("/js/**")
+            .excludePathPatterns("/error");
+    }
+}
@@ -3,9 +3,15 @@ package com.ohgiraffers.crud.menu.controller;
 import static java.awt.SystemColor.menu;
 
 import com.ohgiraffers.crud.menu.model.dto.CategoryDTO;
+import com.ohgiraffers.crud.menu.model.dto.HotMenuDTO;
 import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import com.ohgiraffers.crud.menu.model.hotkey.HotMenuTracker;
 import com.ohgiraffers.crud.menu.model.service.MenuService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +19,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
@@ -21,13 +28,28 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class MenuController {
 
     private final MenuService menuService;
+    private final HotMenuTracker hotMenuTracker;
+    private final String listRenderMode;
 
-    public MenuController(MenuService menuService) {
+    public MenuController(MenuService menuService, HotMenuTracker hotMenuTracker,
+        @Value("${menu.list.render-mode:buffered}") String listRenderMode) {
         this.menuService = menuService;
+        this.hotMenuTracker = hotMenuTracker;
+        this.listRenderMode = listRenderMode;
     }
 
+    /*
+     * render-mode 가 streaming 이면 목록을 미리 만들지 않고, 템플릿이 th:each 로 반복하는 동안 한 페이지씩 읽는다.
+     * 페이지를 읽기 전마다 응답을 flush 하므로 첫 바이트는 목록 크기와 상관없이 바로 나간다.
+     * 대신 응답이 이미 커밋된 뒤에 오류가 나면 에러 페이지로 바꿀 수 없다.
+     */
     @GetMapping("/list")
-    public String findMenuList(Model model) {
+    public String findMenuList(Model model, HttpServletResponse response) {
+
+        if ("streaming".equals(listRenderMode)) {
+            model.addAttribute("menuList", menuService.streamAllMenu(() -> flush(response)));
+            return "menu/list";
+        }
 
         List<MenuDTO> menuList = menuService.findAllMenu();
         for (MenuDTO menus : menuList) {
@@ -51,6 +73,27 @@ public class MenuController {
         return menuService.findAllCategory();
     }
 
+    @GetMapping(value = "/top", produces = "application/json; charset=UTF-8")
+    @ResponseBody
+    public List<MenuDTO> findCheapestMenus(@RequestParam("category") int categoryCode,
+        @RequestParam(value = "n", defaultValue = "10") int n) {
+        return menuService.findCheapestMenus(categoryCode, n);
+    }
+
+    @GetMapping(value = "/range", produces = "application/json; charset=UTF-8")
+    @ResponseBody
+    public List<MenuDTO> findMenusByPriceRange(@RequestParam("min") int min,
+        @RequestParam("max") int max,
+        @RequestParam(value = "category", required = false) Integer categoryCode) {
+        return menuService.findMenusByPriceRange(categoryCode, min, max);
+    }
+
+    @GetMapping(value = "/hot", produces = "application/json; charset=UTF-8")
+    @ResponseBody
+    public List<HotMenuDTO> findHotMenus(@RequestParam(value = "n", defaultValue = "10") int n) {
+        return hotMenuTracker.findHotMenus(n);
+    }
+
     @PostMapping("/regist")
     public String registMenu(MenuDTO newMenu, RedirectAttributes rttr) {
         menuService.registNewMenu(newMenu);
@@ -60,6 +103,7 @@ public class MenuController {
 
     @GetMapping("/detail/{code}")
     public String showMenuDetail(@PathVariable("code") int code, Model model) {
+        hotMenuTracker.record(code);
         MenuDTO menu = menuService.findMenuByCode(code);
         model.addAttribute("menu", menu);
         return "menu/detail";
@@ -68,6 +112,7 @@ public class MenuController {
     @GetMapping("/edit/{code}")
     public String showEditForm(@PathVariable("code") int code, Model model) {
         // System.out.println("code = " + code);
+        hotMenuTracker.record(code);
         MenuDTO menu = menuService.findMenuByCode(code);
         model.addAttribute("menu", menu);
         return "menu/edit";
@@ -88,4 +133,11 @@ public class MenuController {
         return "redirect:/menu/list";
     }
 
+    private static void flush(HttpServletResponse response) {
+        try {
+            response.flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package com.ohgiraffers.crud.menu.model.audit;
+
+import com.ohgiraffers.crud.menu.model.dto.MenuAuditDTO;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 감사 큐가 가득 찼거나 DB 기록에 실패한 감사 이벤트를 잠시 보관하는 로컬 파일.
+ * 한 줄에 이벤트 하나를 탭으로 구분해 덧붙이고, 나중에 통째로 읽어 DB 로 다시 보낸다.
+ */
+public class AuditSpillFile {
+
+    private final Path path;
+    private final Path replayPath;
+
+    public AuditSpillFile(Path path) {
+        this.path = path;
+        this.replayPath = path.resolveSibling(path.getFileName() + ".replay");
+    }
+
+    /**
+     * 이벤트들을 파일 끝에 덧붙이고 디스크에 반영될 때까지 기다린다.
+     *
+     * @param auditList 보관할 감사 이벤트
+     * @throws IOException 파일을 쓸 수 없는 경우
+     */
+    public synchronized void append(List<MenuAuditDTO> auditList) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        StringBuilder lines = new StringBuilder(auditList.size() * 80);
+        for (MenuAuditDTO audit : auditList) {
+            lines.append(audit.getMenuCode()).append('\t')
+                .append(escape(audit.getAction())).append('\t')
+                .append(escape(audit.getMenuName())).append('\t')
+                .append(audit.getMenuPrice()).append('\t')
+                .append(audit.getCategoryCode()).append('\t')
+                .append(escape(audit.getOrderableStatus())).append('\t')
+                .append(audit.getAuditedAt()).append('\n');
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE,
+            StandardOpenOption.SYNC)) {
+            writer.write(lines.toString());
+        }
+    }
+
+    /**
+     * 재전송할 이벤트가 있으면 파일을 재전송용 이름으로 옮겨 반환한다.
+     * 이전 재전송이 끝나지 않고 남아 있으면 그 파일부터 다시 반환한다.
+     *
+     * @return 재전송할 파일, 없으면 null
+     * @throws IOException 파일을 옮길 수 없는 경우
+     */
+    public synchronized Path takeForReplay() throws IOException {
+        if (Files.exists(replayPath)) {
+            return replayPath;
+        }
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return null;
+        }
+        Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+        return replayPath;
+    }
+
+    public List<MenuAuditDTO> read(Path file) throws IOException {
+        List<MenuAuditDTO> auditList = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 7) {
+                    /* 기록 도중 중단되어 잘린 마지막 줄은 건너뛴다. */
+                    continue;
+                }
+                auditList.add(new MenuAuditDTO(Integer.parseInt(fields[0]), unescape(fields[1]),
+                    unescape(fields[2]), Integer.parseInt(fields[3]), Integer.parseInt(fields[4]),
+                    unescape(fields[5]), LocalDateTime.parse(fields[6])));
+            }
+        }
+        return auditList;
+    }
+
+    public void completeReplay(Path file) throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "\\0";
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+    }
+
+    private static String unescape(String value) {
+        if ("\\0".equals(value)) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 't' ? '\t' : next == 'n' ? '\n' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,236 @@
+package com.ohgiraffers.crud.menu.model.audit;
+
+import com.ohgiraffers.crud.menu.model.dao.MenuAuditMapper;
+import com.ohgiraffers.crud.menu.model.dto.MenuAuditDTO;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메뉴 등록/수정/삭제 감사 로그를 비동기로 모아서 기록하는 파이프라인.
+ *
+ * 요청 스레드는 제한된 크기의 큐에 이벤트를 넣기만 하고, 전용 writer 스레드가
+ * batch-size 만큼 모이거나 flush-interval 이 지나면 한 번의 다중 INSERT 로 기록한다.
+ *
+ * overflow 가 spill 이면 큐가 가득 찼을 때나 DB 기록에 실패했을 때 이벤트를 로컬 파일에 보관했다가,
+ * 큐가 한가해지면 다시 DB 로 보낸다. drop 이면 넘친 이벤트는 버리고 개수만 센다.
+ *
+ * 큐는 메모리에만 있다. 메뉴 변경이 커밋된 뒤 이벤트가 DB 에 기록되기 전에 프로세스가 비정상 종료되면
+ * (kill -9, OOM 등) 큐에 있던 이벤트는 사라진다. 정상 종료 때는 stop() 이 남은 이벤트를 모두 기록한다.
+ * 모든 변경이 반드시 남아야 한다면 메뉴 변경과 같은 트랜잭션에서 감사 행을 쓰는 방식(transactional outbox)을 써야 한다.
+ */
+@Component
+public class MenuAuditPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuAuditPipeline.class);
+
+    public static final String REGIST = "REGIST";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+
+    private final MenuAuditMapper menuAuditMapper;
+    private final BlockingQueue<MenuAuditDTO> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final boolean spillOnOverflow;
+    private final AuditSpillFile spillFile;
+
+    private final Timer flushLatency;
+    private final Counter written;
+    private final Counter spilled;
+    private final Counter dropped;
+
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public MenuAuditPipeline(MenuAuditMapper menuAuditMapper, MeterRegistry meterRegistry,
+        @Value("${menu.audit.queue-capacity:10000}") int queueCapacity,
+        @Value("${menu.audit.batch-size:100}") int batchSize,
+        @Value("${menu.audit.flush-interval:1s}") Duration flushInterval,
+        @Value("${menu.audit.overflow:spill}") String overflow,
+        @Value("${menu.audit.spill-path:./data/audit-spill.log}") Path spillPath) {
+        this.menuAuditMapper = menuAuditMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.spillOnOverflow = "spill".equalsIgnoreCase(overflow);
+        this.spillFile = new AuditSpillFile(spillPath);
+
+        Gauge.builder("menu.audit.queue.depth", queue, BlockingQueue::size)
+            .description("DB 기록을 기다리는 감사 이벤트 수")
+            .register(meterRegistry);
+        this.flushLatency = Timer.builder("menu.audit.flush")
+            .description("감사 이벤트 한 묶음을 DB 에 기록하는 데 걸린 시간")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        this.written = meterRegistry.counter("menu.audit.written");
+        this.spilled = meterRegistry.counter("menu.audit.spilled");
+        this.dropped = meterRegistry.counter("menu.audit.dropped");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::writeLoop, "menu-audit-writer");
+        writerThread.start();
+    }
+
+    /**
+     * 종료 시 writer 스레드를 멈추고, 큐에 남은 이벤트를 모두 기록한다.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<MenuAuditDTO> remaining = new ArrayList<>(queue.size());
+        queue.drainTo(remaining);
+        while (!remaining.isEmpty()) {
+            List<MenuAuditDTO> batch = remaining.subList(0, Math.min(batchSize, remaining.size()));
+            flush(new ArrayList<>(batch));
+            batch.clear();
+        }
+    }
+
+    public void auditRegist(MenuDTO menu) {
+        enqueue(toAudit(REGIST, menu));
+    }
+
+    public void auditUpdate(MenuDTO menu) {
+        enqueue(toAudit(UPDATE, menu));
+    }
+
+    /**
+     * @param deleted 삭제하기 직전에 읽은 메뉴. 삭제된 행의 가격과 카테고리가 그대로 기록된다.
+     */
+    public void auditDelete(MenuDTO deleted) {
+        enqueue(toAudit(DELETE, deleted));
+    }
+
+    /**
+     * 감사 이벤트를 큐에 넣는다. 요청 스레드를 막지 않으며, 큐가 가득 차면 overflow 설정에 따라 처리한다.
+     *
+     * @param audit 기록할 감사 이벤트
+     */
+    public void enqueue(MenuAuditDTO audit) {
+        if (queue.offer(audit)) {
+            return;
+        }
+        if (spillOnOverflow) {
+            spill(List.of(audit));
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop() {
+        List<MenuAuditDTO> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+
+        while (running) {
+            try {
+                long waitNanos = deadline - System.nanoTime();
+                MenuAuditDTO audit = waitNanos > 0 ? queue.poll(waitNanos, TimeUnit.NANOSECONDS) : null;
+                if (audit != null) {
+                    batch.add(audit);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                if (batch.size() >= batchSize || System.nanoTime() - deadline >= 0) {
+                    if (!batch.isEmpty()) {
+                        flush(batch);
+                        batch = new ArrayList<>(batchSize);
+                    } else if (spillOnOverflow) {
+                        replaySpilled();
+                    }
+                    deadline = System.nanoTime() + flushIntervalNanos;
+                }
+            } catch (InterruptedException e) {
+                /* 큐에 남은 이벤트는 stop() 이 마저 기록하므로, 모아 둔 묶음만 기록하고 끝낸다. */
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.error("감사 로그 writer 오류: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void flush(List<MenuAuditDTO> batch) {
+        long start = System.nanoTime();
+        try {
+            menuAuditMapper.insertAuditBatch(batch);
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            log.warn("감사 로그 {}건 기록 실패: {}", batch.size(), e.getMessage());
+            if (spillOnOverflow) {
+                spill(batch);
+            } else {
+                dropped.increment(batch.size());
+            }
+        } finally {
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /*
+     * 큐가 비어 있는 한가한 주기에 파일로 보관해 둔 이벤트를 DB 로 다시 보낸다.
+     * 중간에 실패하면 파일 전체를 다시 보내므로 일부 이벤트가 중복 기록될 수 있다(at-least-once).
+     */
+    private void replaySpilled() {
+        try {
+            Path replay = spillFile.takeForReplay();
+            if (replay == null) {
+                return;
+            }
+
+            List<MenuAuditDTO> spilledList = spillFile.read(replay);
+            for (int from = 0; from < spilledList.size(); from += batchSize) {
+                List<MenuAuditDTO> batch = spilledList.subList(from,
+                    Math.min(from + batchSize, spilledList.size()));
+                menuAuditMapper.insertAuditBatch(batch);
+                written.increment(batch.size());
+            }
+            spillFile.completeReplay(replay);
+            log.info("보관 파일에 있던 감사 로그 {}건을 기록했습니다.", spilledList.size());
+        } catch (IOException | DataAccessException e) {
+            /* 재전송 파일은 그대로 남겨 두고 다음 한가한 주기에 처음부터 다시 시도한다. */
+            log.warn("보관된 감사 로그 재전송 실패: {}", e.getMessage());
+        }
+    }
+
+    private void spill(List<MenuAuditDTO> auditList) {
+        try {
+            spillFile.append(auditList);
+            spilled.increment(auditList.size());
+        } catch (IOException e) {
+            dropped.increment(auditList.size());
+            log.error("감사 로그 {}건을 보관 파일에 쓰지 못해 버립니다: {}", auditList.size(), e.getMessage());
+        }
+    }
+
+    private static MenuAuditDTO toAudit(String action, MenuDTO menu) {
+        return new MenuAuditDTO(menu.getCode(), action, menu.getName(), menu.getPrice(),
+            menu.getCategoryCode(), menu.getOrderableStatus(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,40 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import com.ohgiraffers.crud.menu.model.dto.CategoryDTO;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import java.util.List;
+
+/* 특정 시점의 메뉴/카테고리 카탈로그 한 벌. 스냅샷 파일에 쓰고 읽는 단위이다. */
+public class CatalogImage {
+
+    private final List<MenuDTO> menuList;
+    private final List<CategoryDTO> categoryList;
+    private final long savedAt;
+
+    public CatalogImage(List<MenuDTO> menuList, List<CategoryDTO> categoryList, long savedAt) {
+        this.menuList = List.copyOf(menuList);
+        this.categoryList = List.copyOf(categoryList);
+        this.savedAt = savedAt;
+    }
+
+    public List<MenuDTO> getMenuList() {
+        return menuList;
+    }
+
+    public List<CategoryDTO> getCategoryList() {
+        return categoryList;
+    }
+
+    public long getSavedAt() {
+        return savedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogImage{" +
+            "menus=" + menuList.size() +
+            ", categories=" + categoryList.size() +
+            ", savedAt=" + savedAt +
+            '}';
+    }
+}
@@ -0,0 +1,190 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import com.ohgiraffers.crud.menu.model.dto.CategoryDTO;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 메뉴/카테고리 카탈로그를 메모리 매핑 파일로 저장하고 읽어 오는 바이너리 포맷.
+ *
+ * <pre>
+ * header (32 bytes, big-endian)
+ *   int   magic          'MCAT'
+ *   short formatVersion  1
+ *   short reserved       0
+ *   long  savedAt        epoch millis
+ *   int   menuCount
+ *   int   categoryCount
+ *   int   payloadLength
+ *   int   payloadCrc32
+ * payload
+ *   menu     : int code, int price, int categoryCode, byte orderable('Y' = 1), short nameLength, UTF-8 name
+ *   category : int code, int refCategoryCode, short nameLength, UTF-8 name
+ * </pre>
+ *
+ * 쓰기는 임시 파일에 끝까지 기록하고 force() 한 뒤 원자적으로 이름을 바꾸므로,
+ * 쓰는 도중 프로세스가 죽어도 이전 스냅샷 파일은 온전히 남는다.
+ */
+public class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x4D434154;  // "MCAT"
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+    private final Path path;
+
+    public CatalogSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 카탈로그를 스냅샷 파일로 저장한다.
+     *
+     * @param image 저장할 카탈로그
+     * @throws IOException 파일을 쓸 수 없는 경우
+     */
+    public void write(CatalogImage image) throws IOException {
+        byte[] payload = encodePayload(image);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, HEADER_SIZE + payload.length);
+            buffer.putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putShort((short) 0)
+                .putLong(image.getSavedAt())
+                .putInt(image.getMenuList().size())
+                .putInt(image.getCategoryList().size())
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload);
+            buffer.force();
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 스냅샷 파일을 메모리에 매핑해 카탈로그로 복원한다.
+     * 포맷 버전이 다르거나 길이/체크섬이 맞지 않으면 예외를 던진다.
+     *
+     * @return 복원한 카탈로그
+     * @throws IOException 파일이 없거나 손상된 경우
+     */
+    public CatalogImage read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("스냅샷 파일 크기가 올바르지 않습니다: " + size);
+            }
+
+            MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("카탈로그 스냅샷 파일이 아닙니다: " + path);
+            }
+            short version = buffer.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("지원하지 않는 스냅샷 포맷 버전입니다: " + version);
+            }
+            buffer.getShort();
+            long savedAt = buffer.getLong();
+            int menuCount = buffer.getInt();
+            int categoryCount = buffer.getInt();
+            int payloadLength = buffer.getInt();
+            int expectedCrc = buffer.getInt();
+
+            if (payloadLength != size - HEADER_SIZE) {
+                throw new IOException("스냅샷 파일이 잘려 있습니다: " + path);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_SIZE, payloadLength));
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("스냅샷 파일 체크섬이 일치하지 않습니다: " + path);
+            }
+
+            List<MenuDTO> menuList = new ArrayList<>(menuCount);
+            for (int i = 0; i < menuCount; i++) {
+                int code = buffer.getInt();
+                int price = buffer.getInt();
+                int categoryCode = buffer.getInt();
+                String orderableStatus = buffer.get() == 1 ? "Y" : "N";
+                menuList.add(new MenuDTO(code, readName(buffer), price, categoryCode, orderableStatus));
+            }
+
+            List<CategoryDTO> categoryList = new ArrayList<>(categoryCount);
+            for (int i = 0; i < categoryCount; i++) {
+                int code = buffer.getInt();
+                int refCategoryCode = buffer.getInt();
+                categoryList.add(new CategoryDTO(code, readName(buffer), refCategoryCode));
+            }
+
+            return new CatalogImage(menuList, categoryList, savedAt);
+        } catch (RuntimeException e) {
+            /* 헤더의 개수와 실제 내용이 어긋나면 BufferUnderflowException 등이 발생한다. */
+            throw new IOException("스냅샷 파일을 해석할 수 없습니다: " + path, e);
+        }
+    }
+
+    private static byte[] encodePayload(CatalogImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+            64 * (image.getMenuList().size() + image.getCategoryList().size()) + 16);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        for (MenuDTO menu : image.getMenuList()) {
+            out.writeInt(menu.getCode());
+            out.writeInt(menu.getPrice());
+            out.writeInt(menu.getCategoryCode());
+            out.writeByte("Y".equals(menu.getOrderableStatus()) ? 1 : 0);
+            writeName(out, menu.getName());
+        }
+        for (CategoryDTO category : image.getCategoryList()) {
+            out.writeInt(category.getCode());
+            out.writeInt(category.getRefCategoryCode());
+            writeName(out, category.getName());
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeName(DataOutputStream out, String name) throws IOException {
+        byte[] bytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("이름이 너무 깁니다: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readName(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,119 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import com.ohgiraffers.crud.menu.model.dto.CategoryDTO;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import com.ohgiraffers.crud.menu.model.index.MenuPriceIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메뉴/카테고리 카탈로그를 주기적으로, 그리고 종료 시점에 스냅샷 파일로 남겨 두었다가
+ * 다음 기동 때 그 파일로 캐시를 미리 채워 DB 를 기다리지 않고 바로 응답하게 한다.
+ *
+ * 파일로 채운 값은 곧바로 만료된 것으로 표시하므로, 첫 요청부터 백그라운드에서 DB 기준 갱신이 시작된다.
+ */
+@Component
+@ConditionalOnProperty(name = "menu.catalog-snapshot.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class CatalogSnapshotManager {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotManager.class);
+
+    private final RefreshingSnapshot<List<MenuDTO>> menuListSnapshot;
+    private final RefreshingSnapshot<List<CategoryDTO>> categoryListSnapshot;
+    private final MenuPriceIndex menuPriceIndex;
+    private final MenuByCodeCache menuByCodeCache;
+    private final CatalogSnapshotFile snapshotFile;
+
+    /* 마지막으로 파일에 쓴 목록. 같은 인스턴스면 내용이 바뀌지 않은 것이므로 다시 쓰지 않는다. */
+    private List<MenuDTO> lastSavedMenuList;
+    private List<CategoryDTO> lastSavedCategoryList;
+
+    public CatalogSnapshotManager(RefreshingSnapshot<List<MenuDTO>> menuListSnapshot,
+        RefreshingSnapshot<List<CategoryDTO>> categoryListSnapshot,
+        MenuPriceIndex menuPriceIndex,
+        MenuByCodeCache menuByCodeCache,
+        @Value("${menu.catalog-snapshot.path:./data/catalog-snapshot.bin}") Path path) {
+        this.menuListSnapshot = menuListSnapshot;
+        this.categoryListSnapshot = categoryListSnapshot;
+        this.menuPriceIndex = menuPriceIndex;
+        this.menuByCodeCache = menuByCodeCache;
+        this.snapshotFile = new CatalogSnapshotFile(path);
+    }
+
+    /**
+     * 기동 시 스냅샷 파일이 있으면 읽어서 메뉴 목록, 카테고리 목록, 가격 인덱스, 메뉴 상세 캐시를 채운다.
+     * 메뉴 상세 캐시에 채운 값은 기동 후 가격 인덱스를 DB 로 다시 적재할 때 DB 와 다른 항목만 비운다.
+     * 파일이 없거나 손상되었으면 평소처럼 DB 에서 처음 적재한다.
+     */
+    @PostConstruct
+    public void restore() {
+        if (!Files.exists(snapshotFile.getPath())) {
+            return;
+        }
+
+        CatalogImage image;
+        try {
+            image = snapshotFile.read();
+        } catch (IOException e) {
+            log.warn("카탈로그 스냅샷을 사용할 수 없어 무시합니다: {}", e.getMessage());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        menuListSnapshot.seed(image.getMenuList(), now);
+        categoryListSnapshot.seed(image.getCategoryList(), now);
+        menuListSnapshot.invalidate();
+        categoryListSnapshot.invalidate();
+        menuPriceIndex.rebuild(image::getMenuList);
+        menuByCodeCache.seed(image.getMenuList());
+
+        lastSavedMenuList = image.getMenuList();
+        lastSavedCategoryList = image.getCategoryList();
+        log.info("카탈로그 스냅샷으로 캐시를 채웠습니다: {} ({}ms 전에 저장)", image, now - image.getSavedAt());
+    }
+
+    @Scheduled(fixedDelayString = "${menu.catalog-snapshot.write-interval:5m}",
+        initialDelayString = "${menu.catalog-snapshot.write-interval:5m}")
+    public void savePeriodically() {
+        save();
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        save();
+    }
+
+    /**
+     * 지금 메모리에 있는 카탈로그를 스냅샷 파일로 저장한다.
+     * 캐시를 채우기 위해 DB 를 조회하지는 않으며, 아직 적재되지 않았거나 바뀐 것이 없으면 건너뛴다.
+     */
+    public synchronized void save() {
+        List<MenuDTO> menuList = menuListSnapshot.peek();
+        List<CategoryDTO> categoryList = categoryListSnapshot.peek();
+        if (menuList == null || categoryList == null) {
+            return;
+        }
+        if (menuList == lastSavedMenuList && categoryList == lastSavedCategoryList) {
+            return;
+        }
+
+        try {
+            snapshotFile.write(new CatalogImage(menuList, categoryList, System.currentTimeMillis()));
+            lastSavedMenuList = menuList;
+            lastSavedCategoryList = categoryList;
+        } catch (IOException e) {
+            log.warn("카탈로그 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * 캐시 무효화 이벤트를 다른 인스턴스로 실어 나르는 전송 계층.
+ * 메시지 내용은 바이트 배열로만 다루며, 직렬화는 {@link MenuCacheInvalidationEvent} 가 담당한다.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+    /**
+     * 수신을 시작한다. 이후 도착하는 모든 메시지는 receiver 로 전달된다.
+     * 자기 자신이 보낸 메시지가 되돌아올 수도 있으므로 걸러내는 것은 호출하는 쪽의 몫이다.
+     *
+     * @param receiver 수신한 메시지를 처리할 콜백
+     * @throws IOException 소켓을 열 수 없는 경우
+     */
+    void start(Consumer<byte[]> receiver) throws IOException;
+
+    /**
+     * 메시지를 다른 인스턴스들에게 보낸다. 전달은 보장되지 않는다(best-effort).
+     *
+     * @param payload 보낼 메시지
+     * @throws IOException 전송에 실패한 경우
+     */
+    void send(byte[] payload) throws IOException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,200 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * findMenuByCode 결과를 담아 두는 LRU 캐시.
+ * 고정(pin)된 메뉴 코드는 별도 영역에 보관되어 용량 초과로는 절대 밀려나지 않는다.
+ * 메뉴가 바뀌면 고정 여부와 관계없이 무효화된다.
+ */
+@Component
+public class MenuByCodeCache implements MenuCacheInvalidationListener {
+
+    private final Map<Integer, MenuDTO> lru;
+    private final Map<Integer, MenuDTO> pinned = new ConcurrentHashMap<>();
+    private volatile Set<Integer> pinnedCodes = Set.of();
+
+    /* 무효화가 일어날 때마다 증가한다. DB 조회 도중 무효화된 값을 캐시에 넣지 않기 위해 사용한다. */
+    private final AtomicLong generation = new AtomicLong();
+
+    public MenuByCodeCache(@Value("${menu.by-code-cache.capacity:500}") int capacity) {
+        this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, MenuDTO> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * 캐시에서 메뉴를 찾고, 없으면 loader 로 읽어 와 캐시에 넣는다.
+     * 존재하지 않는 메뉴(null)는 캐시하지 않는다.
+     *
+     * @param code   메뉴 코드
+     * @param loader 캐시에 없을 때 메뉴를 읽어 오는 함수
+     * @return 메뉴의 복사본, 없으면 null
+     */
+    public MenuDTO get(int code, IntFunction<MenuDTO> loader) {
+        MenuDTO menu = pinned.get(code);
+        if (menu == null) {
+            synchronized (lru) {
+                menu = lru.get(code);
+            }
+        }
+        if (menu != null) {
+            return copyOf(menu);
+        }
+
+        long observedGeneration = generation.get();
+        menu = loader.apply(code);
+        if (menu == null) {
+            return null;
+        }
+        store(code, copyOf(menu), observedGeneration);
+        return copyOf(menu);
+    }
+
+    /**
+     * 고정할 메뉴 코드 집합을 교체한다. 더 이상 고정 대상이 아닌 항목은 일반 LRU 영역으로 옮긴다.
+     *
+     * @param codes 새로 고정할 메뉴 코드들
+     */
+    public void pin(Collection<Integer> codes) {
+        Set<Integer> next = Set.copyOf(codes);
+        synchronized (lru) {
+            pinnedCodes = next;
+
+            Iterator<Map.Entry<Integer, MenuDTO>> unpinned = pinned.entrySet().iterator();
+            while (unpinned.hasNext()) {
+                Map.Entry<Integer, MenuDTO> entry = unpinned.next();
+                if (!next.contains(entry.getKey())) {
+                    lru.put(entry.getKey(), entry.getValue());
+                    unpinned.remove();
+                }
+            }
+            for (Integer code : next) {
+                MenuDTO menu = lru.remove(code);
+                if (menu != null) {
+                    pinned.put(code, menu);
+                }
+            }
+        }
+    }
+
+    /**
+     * 스냅샷 파일에서 읽은 메뉴들로 캐시를 미리 채운다. 이미 캐시에 있는 항목은 덮어쓰지 않는다.
+     * 파일의 값은 DB 와 다를 수 있으므로, DB 에서 목록을 다시 읽으면 {@link #evictChanged} 로 맞춰야 한다.
+     *
+     * @param menus 미리 채울 메뉴 목록
+     */
+    public void seed(Collection<MenuDTO> menus) {
+        long observedGeneration = generation.get();
+        for (MenuDTO menu : menus) {
+            synchronized (lru) {
+                if (pinned.containsKey(menu.getCode()) || lru.containsKey(menu.getCode())) {
+                    continue;
+                }
+            }
+            store(menu.getCode(), copyOf(menu), observedGeneration);
+        }
+    }
+
+    /**
+     * DB 에서 새로 읽은 판매 중 메뉴 목록과 다른 항목을 비운다.
+     * 목록에 없는 메뉴(판매 중지, 삭제)도 비우며, 다음 조회 때 DB 에서 다시 읽는다.
+     *
+     * @param current DB 에서 읽은 판매 가능한 전체 메뉴 목록
+     */
+    public void evictChanged(Collection<MenuDTO> current) {
+        Map<Integer, MenuDTO> byCode = new HashMap<>();
+        for (MenuDTO menu : current) {
+            byCode.put(menu.getCode(), menu);
+        }
+
+        Set<Integer> changed = new HashSet<>();
+        synchronized (lru) {
+            collectChanged(pinned, byCode, changed);
+            collectChanged(lru, byCode, changed);
+        }
+        for (Integer code : changed) {
+            evict(code);
+        }
+    }
+
+    public Set<Integer> getPinnedCodes() {
+        return new HashSet<>(pinnedCodes);
+    }
+
+    public void evict(int code) {
+        generation.incrementAndGet();
+        synchronized (lru) {
+            pinned.remove(code);
+            lru.remove(code);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        synchronized (lru) {
+            pinned.clear();
+            lru.clear();
+        }
+    }
+
+    @Override
+    public void onInvalidate(MenuCacheInvalidationEvent event) {
+        if (event.isWholeCatalog()) {
+            clear();
+        } else {
+            evict(event.getMenuCode());
+        }
+    }
+
+    private void store(int code, MenuDTO menu, long observedGeneration) {
+        synchronized (lru) {
+            if (generation.get() != observedGeneration) {
+                return;
+            }
+            if (pinnedCodes.contains(code)) {
+                pinned.put(code, menu);
+            } else {
+                lru.put(code, menu);
+            }
+        }
+    }
+
+    private static void collectChanged(Map<Integer, MenuDTO> cached, Map<Integer, MenuDTO> current,
+        Set<Integer> changed) {
+        for (Map.Entry<Integer, MenuDTO> entry : cached.entrySet()) {
+            if (!sameContent(entry.getValue(), current.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+    }
+
+    private static boolean sameContent(MenuDTO cached, MenuDTO current) {
+        return current != null
+            && cached.getPrice() == current.getPrice()
+            && cached.getCategoryCode() == current.getCategoryCode()
+            && Objects.equals(cached.getName(), current.getName())
+            && Objects.equals(cached.getOrderableStatus(), current.getOrderableStatus());
+    }
+
+    private static MenuDTO copyOf(MenuDTO menu) {
+        return new MenuDTO(menu.getCode(), menu.getName(), menu.getPrice(),
+            menu.getCategoryCode(), menu.getOrderableStatus());
+    }
+}
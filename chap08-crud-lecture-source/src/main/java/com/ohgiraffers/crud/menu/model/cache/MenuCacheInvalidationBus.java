@@ -0,0 +1,131 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메뉴 쓰기가 일어났음을 다른 인스턴스에 알리고, 다른 인스턴스의 알림을 받아 로컬 캐시를 비우는 버스.
+ *
+ * 이벤트에는 변경된 메뉴 코드(또는 카탈로그 전체)와 카탈로그 버전이 실린다.
+ * 카탈로그 버전은 Lamport 시계처럼 동작해서, 이미 반영한 버전 이하의 전체 무효화는 다시 처리하지 않는다.
+ *
+ * 발행에 실패한 이벤트는 다시 보내지 않는다. 대신 다음 발행을 카탈로그 전체 무효화로 바꿔 보내서,
+ * 놓친 메뉴가 무엇이든 다른 인스턴스의 캐시가 다시 맞춰지게 한다.
+ */
+@Component
+public class MenuCacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuCacheInvalidationBus.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicBoolean resyncPending = new AtomicBoolean();
+
+    private final InvalidationTransport transport;
+    private final List<MenuCacheInvalidationListener> listeners;
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter publishFailures;
+    private final Timer deliveryLag;
+
+    public MenuCacheInvalidationBus(InvalidationTransport transport,
+        List<MenuCacheInvalidationListener> listeners, MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.listeners = listeners;
+        this.published = meterRegistry.counter("menu.cache.invalidation.published");
+        this.received = meterRegistry.counter("menu.cache.invalidation.received");
+        this.publishFailures = meterRegistry.counter("menu.cache.invalidation.publish.failures");
+        this.deliveryLag = Timer.builder("menu.cache.invalidation.lag")
+            .description("이벤트 발행 시각부터 이 인스턴스가 수신할 때까지 걸린 시간")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 수신을 시작한다. 전송 계층을 열 수 없어도 애플리케이션은 단일 인스턴스처럼 계속 동작한다.
+     */
+    @PostConstruct
+    public void start() {
+        try {
+            transport.start(this::receive);
+        } catch (IOException e) {
+            log.warn("캐시 무효화 전송 계층을 시작하지 못했습니다. 다른 인스턴스와 캐시가 동기화되지 않습니다: {}",
+                e.getMessage());
+        }
+    }
+
+    /**
+     * 메뉴 하나가 등록/수정/삭제되었음을 알린다.
+     *
+     * @param menuCode 변경된 메뉴 코드
+     */
+    public void publishMenuChanged(int menuCode) {
+        publish(resyncPending.getAndSet(false) ? MenuCacheInvalidationEvent.ALL_MENUS : menuCode);
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private void publish(int menuCode) {
+        MenuCacheInvalidationEvent event = new MenuCacheInvalidationEvent(instanceId, menuCode,
+            catalogVersion.incrementAndGet(), System.currentTimeMillis());
+        try {
+            transport.send(event.toBytes());
+            published.increment();
+        } catch (IOException e) {
+            publishFailures.increment();
+            resyncPending.set(true);
+            log.warn("캐시 무효화 이벤트 발행 실패, 다음 발행 때 카탈로그 전체를 무효화합니다 {}: {}", event,
+                e.getMessage());
+        }
+    }
+
+    private void receive(byte[] payload) {
+        MenuCacheInvalidationEvent event;
+        try {
+            event = MenuCacheInvalidationEvent.fromBytes(payload);
+        } catch (IOException e) {
+            log.debug("해석할 수 없는 캐시 무효화 메시지를 무시합니다: {}", e.getMessage());
+            return;
+        }
+
+        /* 멀티캐스트 루프백으로 되돌아온 자기 이벤트는 이미 로컬에 반영되어 있다. */
+        if (instanceId.equals(event.getSourceId())) {
+            return;
+        }
+
+        received.increment();
+        deliveryLag.record(Duration.ofMillis(
+            Math.max(0, System.currentTimeMillis() - event.getPublishedAt())));
+
+        long previousVersion = catalogVersion.getAndAccumulate(event.getCatalogVersion(), Math::max);
+        if (event.isWholeCatalog() && event.getCatalogVersion() <= previousVersion) {
+            return;
+        }
+
+        for (MenuCacheInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidate(event);
+            } catch (RuntimeException e) {
+                log.warn("캐시 무효화 처리 실패 {}: {}", event, e.getMessage());
+            }
+        }
+    }
+}
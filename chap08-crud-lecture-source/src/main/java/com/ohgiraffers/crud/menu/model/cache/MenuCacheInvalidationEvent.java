@@ -0,0 +1,95 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * 인스턴스 사이에 주고받는 메뉴 캐시 무효화 이벤트.
+ * menuCode 가 {@link #ALL_MENUS} 이면 특정 메뉴가 아니라 카탈로그 전체가 바뀌었다는 뜻이다.
+ */
+public class MenuCacheInvalidationEvent {
+
+    public static final int ALL_MENUS = -1;
+
+    private static final short MAGIC = 0x4D43;  // "MC"
+    private static final byte FORMAT_VERSION = 1;
+
+    private final String sourceId;
+    private final int menuCode;
+    private final long catalogVersion;
+    private final long publishedAt;
+
+    public MenuCacheInvalidationEvent(String sourceId, int menuCode, long catalogVersion,
+        long publishedAt) {
+        this.sourceId = sourceId;
+        this.menuCode = menuCode;
+        this.catalogVersion = catalogVersion;
+        this.publishedAt = publishedAt;
+    }
+
+    public byte[] toBytes() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeShort(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(sourceId);
+            out.writeInt(menuCode);
+            out.writeLong(catalogVersion);
+            out.writeLong(publishedAt);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 수신한 바이트 배열을 이벤트로 복원한다.
+     *
+     * @param payload 수신한 메시지
+     * @return 복원한 이벤트
+     * @throws IOException 형식이 맞지 않는 메시지인 경우
+     */
+    public static MenuCacheInvalidationEvent fromBytes(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        if (in.readShort() != MAGIC || in.readByte() != FORMAT_VERSION) {
+            throw new IOException("알 수 없는 캐시 무효화 메시지 형식입니다.");
+        }
+        return new MenuCacheInvalidationEvent(in.readUTF(), in.readInt(), in.readLong(),
+            in.readLong());
+    }
+
+    public boolean isWholeCatalog() {
+        return menuCode == ALL_MENUS;
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public int getMenuCode() {
+        return menuCode;
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "MenuCacheInvalidationEvent{" +
+            "sourceId='" + sourceId + '\'' +
+            ", menuCode=" + menuCode +
+            ", catalogVersion=" + catalogVersion +
+            ", publishedAt=" + publishedAt +
+            '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import com.ohgiraffers.crud.menu.model.dao.MenuMapper;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import com.ohgiraffers.crud.menu.model.index.MenuPriceIndex;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다른 인스턴스의 무효화 이벤트를 받아 이 인스턴스의 메뉴 캐시들을 정리한다.
+ * DB 를 다시 읽는 작업은 수신 스레드를 막지 않도록 캐시 갱신용 스레드 풀에서 실행한다.
+ */
+@Component
+public class MenuCacheInvalidationHandler implements MenuCacheInvalidationListener {
+
+    private final MenuMapper menuMapper;
+    private final MenuPriceIndex menuPriceIndex;
+    private final RefreshingSnapshot<List<MenuDTO>> menuListSnapshot;
+    private final Executor refreshExecutor;
+
+    public MenuCacheInvalidationHandler(MenuMapper menuMapper, MenuPriceIndex menuPriceIndex,
+        RefreshingSnapshot<List<MenuDTO>> menuListSnapshot,
+        @Qualifier("menuCacheRefreshExecutor") Executor refreshExecutor) {
+        this.menuMapper = menuMapper;
+        this.menuPriceIndex = menuPriceIndex;
+        this.menuListSnapshot = menuListSnapshot;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public void onInvalidate(MenuCacheInvalidationEvent event) {
+        menuListSnapshot.invalidate();
+
+        if (event.isWholeCatalog()) {
+            refreshExecutor.execute(() -> menuPriceIndex.rebuild(menuMapper::findAllMenu));
+            return;
+        }
+
+        int code = event.getMenuCode();
+        refreshExecutor.execute(() -> {
+            MenuDTO menu = menuMapper.findMenuByCode(code);
+            if (menu == null) {
+                menuPriceIndex.remove(code);
+            } else {
+                menuPriceIndex.put(menu);
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+/* 다른 인스턴스에서 발생한 메뉴 변경을 통보받아 로컬 캐시를 정리하는 쪽이 구현한다. */
+public interface MenuCacheInvalidationListener {
+
+    void onInvalidate(MenuCacheInvalidationEvent event);
+}
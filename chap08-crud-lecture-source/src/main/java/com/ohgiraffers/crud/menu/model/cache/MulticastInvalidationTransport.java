@@ -0,0 +1,122 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * UDP 멀티캐스트로 무효화 메시지를 주고받는 전송 계층.
+ * IP_MULTICAST_LOOP 를 켜 두기 때문에 한 대의 리눅스 머신에서 여러 JVM 을 띄워도 서로의 메시지를 받는다.
+ * TTL 은 기본 1 로, 같은 서브넷 밖으로는 나가지 않는다.
+ */
+public class MulticastInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+    private static final int MAX_PACKET_SIZE = 1024;
+
+    private final InetAddress group;
+    private final int port;
+    private final String interfaceName;
+    private final int timeToLive;
+
+    private MulticastSocket socket;
+    private NetworkInterface networkInterface;
+    private Thread receiverThread;
+    private volatile boolean running;
+
+    public MulticastInvalidationTransport(InetAddress group, int port, String interfaceName,
+        int timeToLive) {
+        if (!group.isMulticastAddress()) {
+            throw new IllegalArgumentException("멀티캐스트 주소가 아닙니다: " + group);
+        }
+        this.group = group;
+        this.port = port;
+        this.interfaceName = interfaceName;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public synchronized void start(Consumer<byte[]> receiver) throws IOException {
+        if (running) {
+            return;
+        }
+
+        socket = new MulticastSocket(port);
+        socket.setTimeToLive(timeToLive);
+        socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+        networkInterface = resolveInterface();
+        if (networkInterface != null) {
+            socket.setNetworkInterface(networkInterface);
+        }
+        socket.joinGroup(new InetSocketAddress(group, port), networkInterface);
+        running = true;
+
+        receiverThread = new Thread(() -> receiveLoop(receiver), "menu-cache-invalidation-receiver");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+        log.info("캐시 무효화 멀티캐스트 수신 시작: {}:{} (interface={})", group.getHostAddress(), port,
+            networkInterface == null ? "default" : networkInterface.getName());
+    }
+
+    @Override
+    public void send(byte[] payload) throws IOException {
+        MulticastSocket current = socket;
+        if (current == null) {
+            throw new IOException("전송 계층이 시작되지 않았습니다.");
+        }
+        current.send(new DatagramPacket(payload, payload.length, group, port));
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (socket != null) {
+            try {
+                socket.leaveGroup(new InetSocketAddress(group, port), networkInterface);
+            } catch (IOException ignored) {
+                // 소켓을 닫으면서 그룹에서도 빠지므로 무시한다.
+            }
+            socket.close();
+            socket = null;
+        }
+    }
+
+    private void receiveLoop(Consumer<byte[]> receiver) {
+        byte[] buffer = new byte[MAX_PACKET_SIZE];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                receiver.accept(Arrays.copyOfRange(packet.getData(), packet.getOffset(),
+                    packet.getOffset() + packet.getLength()));
+            } catch (SocketException e) {
+                if (running) {
+                    log.warn("캐시 무효화 수신 소켓 오류: {}", e.getMessage());
+                }
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("캐시 무효화 메시지 처리 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private NetworkInterface resolveInterface() throws SocketException {
+        if (interfaceName == null || interfaceName.isBlank()) {
+            return null;
+        }
+        NetworkInterface found = NetworkInterface.getByName(interfaceName);
+        if (found == null) {
+            throw new SocketException("네트워크 인터페이스를 찾을 수 없습니다: " + interfaceName);
+        }
+        return found;
+    }
+}
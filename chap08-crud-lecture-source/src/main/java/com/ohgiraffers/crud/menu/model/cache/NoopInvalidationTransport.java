@@ -0,0 +1,19 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import java.util.function.Consumer;
+
+/* 인스턴스가 하나뿐일 때 사용하는 기본 전송 계층. 아무것도 보내거나 받지 않는다. */
+public class NoopInvalidationTransport implements InvalidationTransport {
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+    }
+
+    @Override
+    public void send(byte[] payload) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,198 @@
+package com.ohgiraffers.crud.menu.model.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 조회 결과 한 벌을 메모리에 들고 있다가 즉시 돌려주는 stale-while-revalidate 스냅샷.
+ *
+ * - soft TTL 이 지나면 현재 값을 그대로 돌려주면서 백그라운드에서 한 번만 갱신을 시작한다.
+ * - hard TTL 이 지나면 요청 스레드에서 직접 다시 읽어 온다.
+ * - 다시 읽기가 실패했을 때 serveStaleOnError 가 true 이면 오래된 값이라도 돌려준다.
+ *
+ * @param <T> 스냅샷으로 보관할 값의 타입
+ */
+public class RefreshingSnapshot<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshingSnapshot.class);
+
+    private final String name;
+    private final Supplier<T> loader;
+    private final long softTtlMillis;
+    private final long hardTtlMillis;
+    private final boolean serveStaleOnError;
+    private final Executor refreshExecutor;
+
+    private final Object loadLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicReference<Entry<T>> current = new AtomicReference<>();
+
+    public RefreshingSnapshot(String name, Supplier<T> loader, Duration softTtl, Duration hardTtl,
+        boolean serveStaleOnError, Executor refreshExecutor) {
+        if (softTtl.compareTo(hardTtl) > 0) {
+            throw new IllegalArgumentException("soft TTL 은 hard TTL 보다 길 수 없습니다: " + name);
+        }
+        this.name = name;
+        this.loader = loader;
+        this.softTtlMillis = softTtl.toMillis();
+        this.hardTtlMillis = hardTtl.toMillis();
+        this.serveStaleOnError = serveStaleOnError;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * 현재 스냅샷 값을 반환한다.
+     * 값이 아직 없거나 hard TTL 이 지난 경우에만 호출한 스레드가 직접 적재한다.
+     *
+     * @return 스냅샷 값
+     */
+    public T get() {
+        Entry<T> entry = current.get();
+        if (entry == null) {
+            return loadNow(null);
+        }
+
+        long age = System.currentTimeMillis() - entry.loadedAt;
+        if (age >= hardTtlMillis) {
+            return loadNow(entry);
+        }
+        if (age >= softTtlMillis) {
+            refreshAsync();
+        }
+        return entry.value;
+    }
+
+    /**
+     * 쓰기가 끝났거나 다른 곳에서 변경이 일어났음을 알게 되었을 때 호출한다.
+     * 현재 값은 계속 제공하되 soft TTL 이 지난 것으로 간주해 백그라운드 갱신을 시작한다.
+     * 이미 갱신이 진행 중이면 그 갱신이 변경 전에 읽었을 수 있으므로, 끝난 뒤 한 번 더 갱신한다.
+     */
+    public void invalidate() {
+        expire();
+        refreshRequested.set(true);
+        refreshAsync();
+    }
+
+    /**
+     * 외부(예: 디스크에 저장된 이전 스냅샷)에서 읽은 값으로 스냅샷을 미리 채운다.
+     * 이미 더 최신 값이 있으면 무시한다.
+     *
+     * @param value    미리 채울 값
+     * @param loadedAt 값이 만들어진 시각(epoch millis)
+     */
+    public void seed(T value, long loadedAt) {
+        current.updateAndGet(entry -> entry == null || entry.loadedAt < loadedAt
+            ? new Entry<>(value, loadedAt)
+            : entry);
+    }
+
+    /**
+     * 적재나 갱신을 일으키지 않고 지금 들고 있는 값을 그대로 반환한다.
+     *
+     * @return 현재 값, 아직 적재된 적이 없으면 null
+     */
+    public T peek() {
+        Entry<T> entry = current.get();
+        return entry == null ? null : entry.value;
+    }
+
+    /** 스냅샷 값이 만들어진 뒤 지난 시간(ms). 값이 없으면 -1. */
+    public long ageMillis() {
+        Entry<T> entry = current.get();
+        return entry == null ? -1 : System.currentTimeMillis() - entry.loadedAt;
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private T loadNow(Entry<T> stale) {
+        synchronized (loadLock) {
+            /* 락을 기다리는 동안 다른 스레드가 이미 새 값을 적재했으면 그 값을 사용한다. */
+            Entry<T> latest = current.get();
+            if (latest != null && latest != stale
+                && System.currentTimeMillis() - latest.loadedAt < hardTtlMillis) {
+                return latest.value;
+            }
+
+            try {
+                return store(loader.get());
+            } catch (RuntimeException e) {
+                refreshFailures.incrementAndGet();
+                if (stale != null && serveStaleOnError) {
+                    log.warn("[{}] 스냅샷 적재 실패, 오래된 값을 제공합니다 (age={}ms): {}",
+                        name, ageMillis(), e.getMessage());
+                    return stale.value;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshRequested.set(false);
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    synchronized (loadLock) {
+                        store(loader.get());
+                    }
+                } catch (RuntimeException e) {
+                    refreshFailures.incrementAndGet();
+                    log.warn("[{}] 스냅샷 백그라운드 갱신 실패: {}", name, e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                    /* 갱신하는 동안 invalidate() 가 불렸으면 그 변경까지 반영하도록 다시 갱신한다. */
+                    if (refreshRequested.get()) {
+                        refreshAsync();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private T store(T value) {
+        current.set(new Entry<>(value, System.currentTimeMillis()));
+        return value;
+    }
+
+    /*
+     * soft TTL 이 막 지난 것처럼 적재 시각을 앞당긴다. hard TTL 판정에는 영향을 주지 않는다.
+     * 진행 중인 적재를 기다리지 않도록 loadLock 대신 CAS 로 갱신한다.
+     */
+    private void expire() {
+        long expiredAt = System.currentTimeMillis() - softTtlMillis;
+        current.updateAndGet(entry -> entry == null
+            ? null
+            : new Entry<>(entry.value, Math.min(entry.loadedAt, expiredAt)));
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+        private final long loadedAt;
+
+        private Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ohgiraffers.crud.menu.model.dao;
+
+import com.ohgiraffers.crud.menu.model.dto.MenuAuditDTO;
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface MenuAuditMapper {
+
+    void insertAuditBatch(List<MenuAuditDTO> auditList);
+}
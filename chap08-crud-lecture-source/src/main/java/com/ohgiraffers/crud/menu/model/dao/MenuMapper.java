@@ -4,12 +4,15 @@ import com.ohgiraffers.crud.menu.model.dto.CategoryDTO;
 import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 @Mapper
 public interface MenuMapper {
 
     List<MenuDTO> findAllMenu();
 
+    List<MenuDTO> findMenuPageAfter(@Param("after") int after, @Param("limit") int limit);
+
     List<CategoryDTO> findAllCategory();
 
     void registNewMenu(MenuDTO newMenu);
@@ -0,0 +1,39 @@
+package com.ohgiraffers.crud.menu.model.dto;
+
+public class HotMenuDTO {
+
+    private int code;
+    private long estimatedHits;
+
+    public HotMenuDTO() {
+    }
+
+    public HotMenuDTO(int code, long estimatedHits) {
+        this.code = code;
+        this.estimatedHits = estimatedHits;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public void setCode(int code) {
+        this.code = code;
+    }
+
+    public long getEstimatedHits() {
+        return estimatedHits;
+    }
+
+    public void setEstimatedHits(long estimatedHits) {
+        this.estimatedHits = estimatedHits;
+    }
+
+    @Override
+    public String toString() {
+        return "HotMenuDTO{" +
+            "code=" + code +
+            ", estimatedHits=" + estimatedHits +
+            '}';
+    }
+}
@@ -0,0 +1,97 @@
+package com.ohgiraffers.crud.menu.model.dto;
+
+import java.time.LocalDateTime;
+
+public class MenuAuditDTO {
+
+    private int menuCode;
+    private String action;
+    private String menuName;
+    private int menuPrice;
+    private int categoryCode;
+    private String orderableStatus;
+    private LocalDateTime auditedAt;
+
+    public MenuAuditDTO() {
+    }
+
+    public MenuAuditDTO(int menuCode, String action, String menuName, int menuPrice,
+        int categoryCode, String orderableStatus, LocalDateTime auditedAt) {
+        this.menuCode = menuCode;
+        this.action = action;
+        this.menuName = menuName;
+        this.menuPrice = menuPrice;
+        this.categoryCode = categoryCode;
+        this.orderableStatus = orderableStatus;
+        this.auditedAt = auditedAt;
+    }
+
+    public int getMenuCode() {
+        return menuCode;
+    }
+
+    public void setMenuCode(int menuCode) {
+        this.menuCode = menuCode;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getMenuName() {
+        return menuName;
+    }
+
+    public void setMenuName(String menuName) {
+        this.menuName = menuName;
+    }
+
+    public int getMenuPrice() {
+        return menuPrice;
+    }
+
+    public void setMenuPrice(int menuPrice) {
+        this.menuPrice = menuPrice;
+    }
+
+    public int getCategoryCode() {
+        return categoryCode;
+    }
+
+    public void setCategoryCode(int categoryCode) {
+        this.categoryCode = categoryCode;
+    }
+
+    public String getOrderableStatus() {
+        return orderableStatus;
+    }
+
+    public void setOrderableStatus(String orderableStatus) {
+        this.orderableStatus = orderableStatus;
+    }
+
+    public LocalDateTime getAuditedAt() {
+        return auditedAt;
+    }
+
+    public void setAuditedAt(LocalDateTime auditedAt) {
+        this.auditedAt = auditedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "MenuAuditDTO{" +
+            "menuCode=" + menuCode +
+            ", action='" + action + '\'' +
+            ", menuName='" + menuName + '\'' +
+            ", menuPrice=" + menuPrice +
+            ", categoryCode=" + categoryCode +
+            ", orderableStatus='" + orderableStatus + '\'' +
+            ", auditedAt=" + auditedAt +
+            '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.ohgiraffers.crud.menu.model.hotkey;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 정수 키의 접근 빈도를 고정된 메모리로 근사하는 count-min sketch.
+ * 추정값은 실제 빈도보다 작아지지 않으며, 폭(width)이 넓을수록 과대 추정 오차가 줄어든다.
+ * 카운터는 원자적으로 증가하므로 여러 요청 스레드가 락 없이 동시에 기록할 수 있다.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth 해시 함수 개수(행 수)
+     * @param width 행마다의 카운터 수. 2의 거듭제곱으로 올림된다.
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("depth 와 width 는 0 보다 커야 합니다.");
+        }
+        int roundedWidth = Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.mask = Math.max(roundedWidth, 1) - 1;
+        this.counters = new AtomicLongArray(depth * (mask + 1));
+    }
+
+    /**
+     * 키의 접근 횟수를 1 증가시키고, 증가 후의 추정 빈도를 반환한다.
+     *
+     * @param key 접근한 키
+     * @return 증가 후 추정 빈도
+     */
+    public long increment(int key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(indexOf(row, key)));
+        }
+        return estimate;
+    }
+
+    public long estimate(int key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(row, key)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 모든 카운터를 절반으로 줄인다. 주기적으로 호출해 오래전의 접근이 점점 잊히도록 한다.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value;
+            do {
+                value = counters.get(i);
+            } while (value != 0 && !counters.compareAndSet(i, value, value >>> 1));
+        }
+    }
+
+    private int indexOf(int row, int key) {
+        return row * (mask + 1) + (hash(key, row) & mask);
+    }
+
+    /* 행마다 다른 시드를 섞은 murmur3 finalizer. */
+    private static int hash(int key, int row) {
+        int h = key + row * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
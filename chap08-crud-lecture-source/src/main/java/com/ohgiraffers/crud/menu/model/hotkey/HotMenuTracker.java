@@ -0,0 +1,76 @@
+package com.ohgiraffers.crud.menu.model.hotkey;
+
+import com.ohgiraffers.crud.menu.model.cache.MenuByCodeCache;
+import com.ohgiraffers.crud.menu.model.dto.HotMenuDTO;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메뉴 조회 빈도를 추적해 자주 조회되는 메뉴(hot key)를 찾아낸다.
+ *
+ * count-min sketch 로 모든 메뉴의 빈도를 근사하고, 상위 K 개만 힙으로 정확히 관리한다.
+ * 주기적으로 모든 카운트를 절반으로 줄여 최근 접근에 더 큰 비중을 두며,
+ * pin-enabled 이면 그 시점의 상위 메뉴들을 findMenuByCode 캐시에 고정한다.
+ */
+@Component
+public class HotMenuTracker {
+
+    private final CountMinSketch sketch;
+    private final TopKTracker topK;
+    private final MenuByCodeCache menuByCodeCache;
+    private final boolean pinEnabled;
+    private final int pinCount;
+
+    public HotMenuTracker(MenuByCodeCache menuByCodeCache,
+        @Value("${menu.hot-key.sketch-depth:4}") int sketchDepth,
+        @Value("${menu.hot-key.sketch-width:2048}") int sketchWidth,
+        @Value("${menu.hot-key.top-k:20}") int topK,
+        @Value("${menu.hot-key.pin-enabled:true}") boolean pinEnabled,
+        @Value("${menu.hot-key.pin-count:10}") int pinCount) {
+        this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+        this.topK = new TopKTracker(topK);
+        this.menuByCodeCache = menuByCodeCache;
+        this.pinEnabled = pinEnabled;
+        this.pinCount = pinCount;
+    }
+
+    /**
+     * 메뉴 한 건이 조회되었음을 기록한다.
+     *
+     * @param code 조회된 메뉴 코드
+     */
+    public void record(int code) {
+        topK.offer(code, sketch.increment(code));
+    }
+
+    /**
+     * 현재 가장 자주 조회되는 메뉴를 빈도 순으로 반환한다.
+     *
+     * @param n 조회할 최대 개수
+     * @return 메뉴 코드와 추정 조회수 목록
+     */
+    public List<HotMenuDTO> findHotMenus(int n) {
+        return topK.top(n);
+    }
+
+    /**
+     * 주기적으로 빈도를 감쇠시키고, 감쇠 전의 상위 메뉴들을 캐시에 고정한다.
+     */
+    @Scheduled(fixedDelayString = "${menu.hot-key.decay-interval:1m}",
+        initialDelayString = "${menu.hot-key.decay-interval:1m}")
+    public void decay() {
+        if (pinEnabled) {
+            List<Integer> hotCodes = new ArrayList<>(pinCount);
+            for (HotMenuDTO hotMenu : topK.top(pinCount)) {
+                hotCodes.add(hotMenu.getCode());
+            }
+            menuByCodeCache.pin(hotCodes);
+        }
+
+        sketch.decay();
+        topK.decay();
+    }
+}
@@ -0,0 +1,113 @@
+package com.ohgiraffers.crud.menu.model.hotkey;
+
+import com.ohgiraffers.crud.menu.model.dto.HotMenuDTO;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * count-min sketch 의 추정값을 받아 가장 자주 접근된 K 개의 키를 최소 힙으로 유지한다.
+ * 후보가 되지 못하는 대부분의 접근은 volatile 최소값 비교만으로 락 없이 걸러진다.
+ */
+public class TopKTracker {
+
+    private final int capacity;
+    private final Map<Integer, Candidate> members = new HashMap<>();
+    private final PriorityQueue<Candidate> heap =
+        new PriorityQueue<>(Comparator.comparingLong(c -> c.estimate));
+
+    /* 힙이 가득 찬 상태에서 새 후보가 넘어야 하는 추정값. 힙이 덜 찼으면 0. */
+    private volatile long admissionThreshold;
+
+    public TopKTracker(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity 는 0 보다 커야 합니다.");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * 키의 최신 추정 빈도를 반영한다.
+     *
+     * @param key      접근한 키
+     * @param estimate sketch 가 추정한 빈도
+     */
+    public void offer(int key, long estimate) {
+        if (estimate <= admissionThreshold) {
+            return;
+        }
+
+        synchronized (this) {
+            Candidate member = members.get(key);
+            if (member != null) {
+                heap.remove(member);
+                member.estimate = estimate;
+                heap.add(member);
+            } else if (members.size() < capacity) {
+                Candidate candidate = new Candidate(key, estimate);
+                members.put(key, candidate);
+                heap.add(candidate);
+            } else if (estimate > heap.peek().estimate) {
+                Candidate evicted = heap.poll();
+                members.remove(evicted.key);
+                Candidate candidate = new Candidate(key, estimate);
+                members.put(key, candidate);
+                heap.add(candidate);
+            }
+            updateThreshold();
+        }
+    }
+
+    /**
+     * 추정 빈도가 높은 순으로 최대 n 개의 메뉴 코드와 추정 빈도를 반환한다.
+     */
+    public synchronized List<HotMenuDTO> top(int n) {
+        List<Candidate> sorted = new ArrayList<>(members.values());
+        sorted.sort(Comparator.comparingLong((Candidate c) -> c.estimate).reversed());
+
+        List<HotMenuDTO> result = new ArrayList<>(Math.min(n, sorted.size()));
+        for (Candidate candidate : sorted.subList(0, Math.min(n, sorted.size()))) {
+            result.add(new HotMenuDTO(candidate.key, candidate.estimate));
+        }
+        return result;
+    }
+
+    /**
+     * sketch 와 같은 비율로 후보들의 추정값을 절반으로 줄이고, 0 이 된 후보는 내보낸다.
+     */
+    public synchronized void decay() {
+        List<Candidate> survivors = new ArrayList<>(members.size());
+        for (Candidate candidate : members.values()) {
+            candidate.estimate >>>= 1;
+            if (candidate.estimate > 0) {
+                survivors.add(candidate);
+            }
+        }
+
+        members.clear();
+        heap.clear();
+        for (Candidate candidate : survivors) {
+            members.put(candidate.key, candidate);
+            heap.add(candidate);
+        }
+        updateThreshold();
+    }
+
+    private void updateThreshold() {
+        admissionThreshold = members.size() < capacity ? 0 : heap.peek().estimate;
+    }
+
+    private static final class Candidate {
+
+        private final int key;
+        private long estimate;
+
+        private Candidate(int key, long estimate) {
+            this.key = key;
+            this.estimate = estimate;
+        }
+    }
+}
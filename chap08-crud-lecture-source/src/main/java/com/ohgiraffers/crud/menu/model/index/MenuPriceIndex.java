@@ -0,0 +1,202 @@
+package com.ohgiraffers.crud.menu.model.index;
+
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 판매 가능한 메뉴를 가격 순으로 정렬해 메모리에 보관하는 인덱스.
+ * 카테고리별 최저가 N개 조회와 가격 범위 조회를 DB 의 ORDER BY 없이 처리한다.
+ *
+ * 키는 (가격 << 32 | 메뉴코드) 형태의 long 값이라 같은 가격이면 메뉴코드 순으로 정렬된다.
+ * 조회는 락 없이 skip list 를 읽고, 쓰기는 드물기 때문에 하나의 락으로 직렬화한다.
+ *
+ * 재적재 중에는 DB 를 읽는 동안 락을 잡지 않는다. 대신 그 사이에 들어온 put/remove 를 변경 기록에 모아 두었다가
+ * 새 인덱스로 교체하기 직전에 다시 적용하므로, 읽기와 교체 사이에 커밋된 변경이 사라지지 않는다.
+ */
+@Component
+public class MenuPriceIndex {
+
+    private volatile Entries entries = new Entries();
+    private volatile boolean loaded;
+
+    /* 진행 중인 재적재가 있을 때만 쌓는 변경 기록. 모든 재적재가 끝나면 비운다. (this 로 보호) */
+    private final List<Consumer<Entries>> changeLog = new ArrayList<>();
+    private int rebuildsInProgress;
+
+    /**
+     * 전체 메뉴 목록으로 인덱스를 새로 만든다.
+     * 새 인덱스를 모두 채운 뒤 참조만 교체하므로 조회 중인 요청은 이전 인덱스를 끝까지 읽는다.
+     *
+     * loader 는 락 밖에서 호출한다. 호출 중에 반영된 put/remove 는 교체 직전에 새 인덱스에 다시 적용한다.
+     *
+     * @param loader 판매 가능한 전체 메뉴 목록을 읽어 오는 함수 (예: DB 조회)
+     */
+    public void rebuild(Supplier<? extends Collection<MenuDTO>> loader) {
+        int from;
+        synchronized (this) {
+            rebuildsInProgress++;
+            from = changeLog.size();
+        }
+        try {
+            Entries rebuilt = new Entries();
+            for (MenuDTO menu : loader.get()) {
+                rebuilt.add(copyOf(menu));
+            }
+            synchronized (this) {
+                for (Consumer<Entries> change : changeLog.subList(from, changeLog.size())) {
+                    change.accept(rebuilt);
+                }
+                this.entries = rebuilt;
+                this.loaded = true;
+            }
+        } finally {
+            synchronized (this) {
+                if (--rebuildsInProgress == 0) {
+                    changeLog.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * 메뉴 등록/수정 내용을 인덱스에 반영한다.
+     * 판매 상태가 'Y' 가 아닌 메뉴는 인덱스에서 제거된다.
+     *
+     * @param menu 등록 또는 수정된 메뉴
+     */
+    public synchronized void put(MenuDTO menu) {
+        MenuDTO copy = copyOf(menu);
+        apply(entries -> {
+            entries.remove(copy.getCode());
+            if ("Y".equals(copy.getOrderableStatus())) {
+                entries.add(copy);
+            }
+        });
+    }
+
+    /**
+     * 삭제된 메뉴를 인덱스에서 제거한다.
+     *
+     * @param code 삭제된 메뉴 코드
+     */
+    public synchronized void remove(int code) {
+        apply(entries -> entries.remove(code));
+    }
+
+    /* 현재 인덱스에 변경을 적용하고, 재적재 중이면 교체될 새 인덱스에도 적용되도록 기록해 둔다. (this 락 안에서 호출) */
+    private void apply(Consumer<Entries> change) {
+        change.accept(this.entries);
+        if (rebuildsInProgress > 0) {
+            changeLog.add(change);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 카테고리 안에서 가격이 낮은 순으로 최대 n 개의 메뉴를 반환한다.
+     *
+     * @param categoryCode 카테고리 코드
+     * @param n            조회할 최대 개수
+     * @return 가격 오름차순 메뉴 목록
+     */
+    public List<MenuDTO> findCheapest(int categoryCode, int n) {
+        NavigableMap<Long, MenuDTO> category = entries.byCategory.get(categoryCode);
+        if (category == null || n <= 0) {
+            return Collections.emptyList();
+        }
+        List<MenuDTO> result = new ArrayList<>(Math.min(n, 64));
+        for (MenuDTO menu : category.values()) {
+            if (result.size() == n) {
+                break;
+            }
+            result.add(copyOf(menu));
+        }
+        return result;
+    }
+
+    /**
+     * 가격이 min 이상 max 이하인 메뉴를 가격 오름차순으로 반환한다.
+     *
+     * @param categoryCode 카테고리 코드 (null 이면 전체 카테고리)
+     * @param min          최소 가격
+     * @param max          최대 가격
+     * @return 가격 오름차순 메뉴 목록
+     */
+    public List<MenuDTO> findByPriceRange(Integer categoryCode, int min, int max) {
+        if (min > max) {
+            return Collections.emptyList();
+        }
+        NavigableMap<Long, MenuDTO> source = categoryCode == null
+            ? entries.all
+            : entries.byCategory.get(categoryCode);
+        if (source == null) {
+            return Collections.emptyList();
+        }
+
+        List<MenuDTO> result = new ArrayList<>();
+        for (MenuDTO menu : source.subMap(lowerKey(min), true, upperKey(max), true).values()) {
+            result.add(copyOf(menu));
+        }
+        return result;
+    }
+
+    private static long key(MenuDTO menu) {
+        return ((long) menu.getPrice() << 32) | (menu.getCode() & 0xFFFFFFFFL);
+    }
+
+    private static long lowerKey(int price) {
+        return (long) price << 32;
+    }
+
+    private static long upperKey(int price) {
+        return ((long) price << 32) | 0xFFFFFFFFL;
+    }
+
+    /* 인덱스 밖에서 DTO 를 수정해도 정렬 키가 어긋나지 않도록 항상 복사본을 주고받는다. */
+    private static MenuDTO copyOf(MenuDTO menu) {
+        return new MenuDTO(menu.getCode(), menu.getName(), menu.getPrice(),
+            menu.getCategoryCode(), menu.getOrderableStatus());
+    }
+
+    /* 전체/카테고리별 정렬 맵과 메뉴코드 역참조 맵을 한 묶음으로 관리한다. */
+    private static class Entries {
+
+        private final ConcurrentSkipListMap<Long, MenuDTO> all = new ConcurrentSkipListMap<>();
+        private final Map<Integer, ConcurrentSkipListMap<Long, MenuDTO>> byCategory = new ConcurrentHashMap<>();
+        private final Map<Integer, MenuDTO> byCode = new ConcurrentHashMap<>();
+
+        private void add(MenuDTO menu) {
+            long key = key(menu);
+            all.put(key, menu);
+            byCategory.computeIfAbsent(menu.getCategoryCode(), c -> new ConcurrentSkipListMap<>())
+                .put(key, menu);
+            byCode.put(menu.getCode(), menu);
+        }
+
+        private void remove(int code) {
+            MenuDTO previous = byCode.remove(code);
+            if (previous == null) {
+                return;
+            }
+            long key = key(previous);
+            all.remove(key);
+            ConcurrentSkipListMap<Long, MenuDTO> category = byCategory.get(previous.getCategoryCode());
+            if (category != null) {
+                category.remove(key);
+            }
+        }
+    }
+}
@@ -1,44 +1,183 @@
 package com.ohgiraffers.crud.menu.model.service;
 
+import com.ohgiraffers.crud.common.streaming.KeysetPagedIterable;
+import com.ohgiraffers.crud.menu.model.audit.MenuAuditPipeline;
+import com.ohgiraffers.crud.menu.model.cache.MenuByCodeCache;
+import com.ohgiraffers.crud.menu.model.cache.MenuCacheInvalidationBus;
+import com.ohgiraffers.crud.menu.model.cache.RefreshingSnapshot;
 import com.ohgiraffers.crud.menu.model.dao.MenuMapper;
 import com.ohgiraffers.crud.menu.model.dto.CategoryDTO;
 import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import com.ohgiraffers.crud.menu.model.index.MenuPriceIndex;
 import java.util.List;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class MenuService {
 
+    private static final Logger log = LoggerFactory.getLogger(MenuService.class);
+
     private final MenuMapper menuMapper;
+    private final MenuPriceIndex menuPriceIndex;
+    private final RefreshingSnapshot<List<MenuDTO>> menuListSnapshot;
+    private final RefreshingSnapshot<List<CategoryDTO>> categoryListSnapshot;
+    private final MenuByCodeCache menuByCodeCache;
+    private final MenuCacheInvalidationBus invalidationBus;
+    private final MenuAuditPipeline auditPipeline;
+    private final Executor refreshExecutor;
+    private final int streamPageSize;
 
-    public MenuService(MenuMapper menuMapper) {
+    public MenuService(MenuMapper menuMapper, MenuPriceIndex menuPriceIndex,
+        RefreshingSnapshot<List<MenuDTO>> menuListSnapshot,
+        RefreshingSnapshot<List<CategoryDTO>> categoryListSnapshot,
+        MenuByCodeCache menuByCodeCache,
+        MenuCacheInvalidationBus invalidationBus,
+        MenuAuditPipeline auditPipeline,
+        @Qualifier("menuCacheRefreshExecutor") Executor refreshExecutor,
+        @Value("${menu.list.stream-page-size:100}") int streamPageSize) {
         this.menuMapper = menuMapper;
+        this.menuPriceIndex = menuPriceIndex;
+        this.menuListSnapshot = menuListSnapshot;
+        this.categoryListSnapshot = categoryListSnapshot;
+        this.menuByCodeCache = menuByCodeCache;
+        this.invalidationBus = invalidationBus;
+        this.auditPipeline = auditPipeline;
+        this.refreshExecutor = refreshExecutor;
+        this.streamPageSize = streamPageSize;
+    }
+
+    /**
+     * 애플리케이션 기동이 끝나면 가격 인덱스를 DB 기준으로 채운다.
+     * 카탈로그 스냅샷 파일로 이미 채워져 있으면 응답을 막지 않도록 백그라운드에서 다시 적재하고,
+     * 스냅샷으로 채운 메뉴 상세 캐시 중 DB 와 다른 항목을 비운다.
+     * DB 에 연결할 수 없으면 기동은 계속하고, 첫 가격 조회 때 다시 적재한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPriceIndex() {
+        if (menuPriceIndex.isLoaded()) {
+            refreshExecutor.execute(this::rebuildPriceIndex);
+        } else {
+            rebuildPriceIndex();
+        }
+    }
+
+    private void rebuildPriceIndex() {
+        try {
+            menuPriceIndex.rebuild(() -> {
+                List<MenuDTO> menuList = menuMapper.findAllMenu();
+                menuByCodeCache.evictChanged(menuList);
+                return menuList;
+            });
+        } catch (DataAccessException e) {
+            log.warn("가격 인덱스 적재 실패, 첫 조회 시 다시 시도합니다: {}", e.getMessage());
+        }
     }
 
     public List<MenuDTO> findAllMenu() {
-        return menuMapper.findAllMenu();
+        return menuListSnapshot.get();
+    }
+
+    /**
+     * 판매 가능한 메뉴를 스냅샷 대신 DB 에서 직접, 반복하는 동안 한 페이지씩 읽어 오는 Iterable 로 반환한다.
+     * 목록이 아무리 커도 메모리에는 한 페이지만 올라온다.
+     *
+     * @param beforeEachPage 다음 페이지를 읽기 직전마다 실행할 작업 (예: 응답 flush)
+     * @return 메뉴 코드 오름차순 메뉴 목록
+     */
+    public Iterable<MenuDTO> streamAllMenu(Runnable beforeEachPage) {
+        return new KeysetPagedIterable<>(0, streamPageSize, menuMapper::findMenuPageAfter,
+            MenuDTO::getCode, beforeEachPage);
     }
 
 
     public List<CategoryDTO> findAllCategory() {
-        return menuMapper.findAllCategory();
+        return categoryListSnapshot.get();
     }
 
     @Transactional
     public void registNewMenu(MenuDTO newMenu) {
         menuMapper.registNewMenu(newMenu);
+        afterCommit(() -> {
+            menuPriceIndex.put(newMenu);
+            onMenuChanged(newMenu.getCode());
+            auditPipeline.auditRegist(newMenu);
+        });
     }
 
     public MenuDTO findMenuByCode(int code) {
-        return menuMapper.findMenuByCode(code);
+        return menuByCodeCache.get(code, menuMapper::findMenuByCode);
     }
 
     public void updateMenu(MenuDTO menu) {
         menuMapper.updateMenu(menu);
+        afterCommit(() -> {
+            menuPriceIndex.put(menu);
+            onMenuChanged(menu.getCode());
+            auditPipeline.auditUpdate(menu);
+        });
     }
 
     public void deleteMenuByCode(int code) {
+        /* 감사 로그에 삭제된 행의 값을 남기기 위해 지우기 전에 읽어 둔다. */
+        MenuDTO deleted = menuMapper.findMenuByCode(code);
         menuMapper.deleteMenuByCode(code);
+        afterCommit(() -> {
+            menuPriceIndex.remove(code);
+            onMenuChanged(code);
+            if (deleted != null) {
+                auditPipeline.auditDelete(deleted);
+            }
+        });
+    }
+
+    public List<MenuDTO> findCheapestMenus(int categoryCode, int n) {
+        ensurePriceIndexLoaded();
+        return menuPriceIndex.findCheapest(categoryCode, n);
+    }
+
+    public List<MenuDTO> findMenusByPriceRange(Integer categoryCode, int min, int max) {
+        ensurePriceIndexLoaded();
+        return menuPriceIndex.findByPriceRange(categoryCode, min, max);
+    }
+
+    private void ensurePriceIndexLoaded() {
+        if (!menuPriceIndex.isLoaded()) {
+            menuPriceIndex.rebuild(menuMapper::findAllMenu);
+        }
+    }
+
+    /*
+     * 로컬 캐시를 정리하고 다른 인스턴스에도 변경을 알린다.
+     * 목록 스냅샷은 요청 스레드에서 다시 읽지 않고 갱신용 스레드 풀에서 다시 적재한다.
+     */
+    private void onMenuChanged(int code) {
+        menuByCodeCache.evict(code);
+        menuListSnapshot.invalidate();
+        invalidationBus.publishMenuChanged(code);
+    }
+
+    /* 트랜잭션 안에서 호출되면 커밋이 끝난 뒤에, 아니면 즉시 메모리 상태를 갱신한다. */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 }
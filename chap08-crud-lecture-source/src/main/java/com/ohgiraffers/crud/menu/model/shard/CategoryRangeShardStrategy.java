@@ -0,0 +1,50 @@
+package com.ohgiraffers.crud.menu.model.shard;
+
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import java.util.List;
+
+/**
+ * CATEGORY_CODE 구간으로 샤드를 나눈다.
+ * upperBounds 가 [4, 8] 이면 카테고리 ~4 는 0번, 5~8 은 1번, 9~ 는 2번 샤드에 등록된다.
+ *
+ * 메뉴 코드만으로는 샤드를 알 수 없으므로 코드 기준 조회/수정/삭제는 모든 샤드에 질의한다.
+ * 수정으로 카테고리가 바뀌어도 행은 처음 등록된 샤드에 그대로 남는다(재배치는 하지 않는다).
+ */
+public class CategoryRangeShardStrategy implements ShardStrategy {
+
+    private final int[] upperBounds;
+
+    public CategoryRangeShardStrategy(List<Integer> upperBounds, int shardCount) {
+        if (upperBounds.size() != shardCount - 1) {
+            throw new IllegalArgumentException(
+                "category-upper-bounds 는 샤드 수보다 하나 적어야 합니다: " + upperBounds);
+        }
+        this.upperBounds = upperBounds.stream().mapToInt(Integer::intValue).toArray();
+        for (int i = 1; i < this.upperBounds.length; i++) {
+            if (this.upperBounds[i] <= this.upperBounds[i - 1]) {
+                throw new IllegalArgumentException(
+                    "category-upper-bounds 는 오름차순이어야 합니다: " + upperBounds);
+            }
+        }
+    }
+
+    @Override
+    public int getShardCount() {
+        return upperBounds.length + 1;
+    }
+
+    @Override
+    public int shardForNewMenu(MenuDTO newMenu) {
+        for (int shard = 0; shard < upperBounds.length; shard++) {
+            if (newMenu.getCategoryCode() <= upperBounds[shard]) {
+                return shard;
+            }
+        }
+        return upperBounds.length;
+    }
+
+    @Override
+    public int shardForCode(int menuCode) {
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ohgiraffers.crud.menu.model.shard;
+
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MENU_CODE 를 샤드 수로 나눈 나머지로 샤드를 정한다.
+ *
+ * MENU_CODE 는 DB 가 발급하므로, 각 샤드의 AUTO_INCREMENT 를
+ * 증가폭 = 샤드 수, 시작값 = 샤드 번호 + 1 로 설정해야 한다.
+ * (MySQL: auto_increment_increment / auto_increment_offset)
+ * 그러면 i 번 샤드가 발급하는 코드는 항상 (code - 1) % 샤드 수 == i 를 만족하고,
+ * 새 메뉴는 샤드를 돌아가며 등록해 쓰기 부하를 고르게 나눈다.
+ */
+public class MenuCodeModuloShardStrategy implements ShardStrategy {
+
+    private final int shardCount;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public MenuCodeModuloShardStrategy(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("샤드 수는 0 보다 커야 합니다.");
+        }
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public int shardForNewMenu(MenuDTO newMenu) {
+        return Math.floorMod(nextShard.getAndIncrement(), shardCount);
+    }
+
+    @Override
+    public int shardForCode(int menuCode) {
+        return Math.floorMod(menuCode - 1, shardCount);
+    }
+}
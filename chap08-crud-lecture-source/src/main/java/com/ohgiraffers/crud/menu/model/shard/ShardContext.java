@@ -0,0 +1,48 @@
+package com.ohgiraffers.crud.menu.model.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 어느 샤드의 DB 를 사용해야 하는지 보관한다.
+ * {@link ShardRoutingDataSource} 가 커넥션을 얻는 시점에 이 값을 읽어 대상 DB 를 고른다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /** 현재 스레드에 지정된 샤드 번호. 지정되지 않았으면 null (기본 샤드 0 사용). */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 지정한 샤드에서 action 을 실행하고, 끝나면 이전 샤드 지정을 복원한다.
+     *
+     * @param shard  사용할 샤드 번호
+     * @param action 실행할 작업
+     * @return action 의 결과
+     */
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(int shard, Runnable action) {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
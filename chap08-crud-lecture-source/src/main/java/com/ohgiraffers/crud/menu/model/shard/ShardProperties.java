@@ -0,0 +1,114 @@
+package com.ohgiraffers.crud.menu.model.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/* menu.shard.* 설정 값. */
+@ConfigurationProperties(prefix = "menu.shard")
+public class ShardProperties {
+
+    private boolean enabled;
+
+    /** category-range 또는 code-modulo */
+    private String strategy = "code-modulo";
+
+    /** category-range 전략에서 0번부터 n-2번 샤드까지 각 샤드가 담는 CATEGORY_CODE 의 상한 */
+    private List<Integer> categoryUpperBounds = new ArrayList<>();
+
+    /** 모든 샤드에 동시에 질의할 때 사용하는 스레드 수. 0 이면 샤드 수와 같다. */
+    private int queryThreads;
+
+    private List<ShardDataSource> datasources = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public List<Integer> getCategoryUpperBounds() {
+        return categoryUpperBounds;
+    }
+
+    public void setCategoryUpperBounds(List<Integer> categoryUpperBounds) {
+        this.categoryUpperBounds = categoryUpperBounds;
+    }
+
+    public int getQueryThreads() {
+        return queryThreads;
+    }
+
+    public void setQueryThreads(int queryThreads) {
+        this.queryThreads = queryThreads;
+    }
+
+    public List<ShardDataSource> getDatasources() {
+        return datasources;
+    }
+
+    public void setDatasources(List<ShardDataSource> datasources) {
+        this.datasources = datasources;
+    }
+
+    public static class ShardDataSource {
+
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+
+        /** 기동 시 이 샤드에 실행할 SQL 스크립트 (예: classpath:shard/menu-shard-0.sql). 비우면 실행하지 않는다. */
+        private String initScript;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+        public String getInitScript() {
+            return initScript;
+        }
+
+        public void setInitScript(String initScript) {
+            this.initScript = initScript;
+        }
+    }
+}
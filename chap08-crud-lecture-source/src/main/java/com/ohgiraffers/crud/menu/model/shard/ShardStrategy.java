@@ -0,0 +1,27 @@
+package com.ohgiraffers.crud.menu.model.shard;
+
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+
+/* TBL_MENU 의 행이 어느 샤드에 있어야 하는지 정하는 규칙. */
+public interface ShardStrategy {
+
+    int UNKNOWN = -1;
+
+    int getShardCount();
+
+    /**
+     * 새 메뉴를 등록할 샤드를 고른다.
+     *
+     * @param newMenu 등록할 메뉴
+     * @return 샤드 번호
+     */
+    int shardForNewMenu(MenuDTO newMenu);
+
+    /**
+     * 메뉴 코드만으로 메뉴가 있는 샤드를 알 수 있으면 그 번호를 반환한다.
+     *
+     * @param menuCode 메뉴 코드
+     * @return 샤드 번호, 코드만으로는 알 수 없으면 {@link #UNKNOWN} (모든 샤드를 조회해야 함)
+     */
+    int shardForCode(int menuCode);
+}
@@ -0,0 +1,226 @@
+package com.ohgiraffers.crud.menu.model.shard;
+
+import com.ohgiraffers.crud.common.querystats.QueryStatistics;
+import com.ohgiraffers.crud.menu.model.dao.MenuMapper;
+import com.ohgiraffers.crud.menu.model.dto.CategoryDTO;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * MyBatis 가 만든 MenuMapper 앞에서 샤드를 골라 주는 MenuMapper 구현체.
+ * menu.shard.enabled 가 true 일 때만 등록되며, @Primary 이므로 MenuService 와 캐시들은 이 구현체를 주입받는다.
+ *
+ * - 등록 : ShardStrategy 가 고른 샤드 하나에 INSERT
+ * - 코드 기준 조회/수정/삭제 : 코드로 샤드를 알 수 있으면 그 샤드만, 아니면 모든 샤드에 병렬 질의
+ * - 목록 조회 : 모든 샤드에 병렬 질의한 뒤 MENU_CODE 순으로 병합
+ * - 카테고리 : 모든 샤드에 같은 기준 정보가 있다고 보고 0번 샤드에서 조회
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "menu.shard.enabled", havingValue = "true")
+public class ShardedMenuMapper implements MenuMapper {
+
+    private static final Comparator<MenuDTO> BY_CODE = Comparator.comparingInt(MenuDTO::getCode);
+
+    private final MenuMapper delegate;
+    private final ShardStrategy shardStrategy;
+    private final Executor shardQueryExecutor;
+
+    public ShardedMenuMapper(@Qualifier("menuMapper") MenuMapper delegate,
+        ShardStrategy shardStrategy,
+        @Qualifier("shardQueryExecutor") Executor shardQueryExecutor) {
+        this.delegate = delegate;
+        this.shardStrategy = shardStrategy;
+        this.shardQueryExecutor = shardQueryExecutor;
+    }
+
+    @Override
+    public List<MenuDTO> findAllMenu() {
+        return mergeByCode(fanOut(delegate::findAllMenu));
+    }
+
+    /* 샤드마다 after 다음 limit 개를 읽어 병합한 뒤, 전체에서 앞의 limit 개만 남긴다. */
+    @Override
+    public List<MenuDTO> findMenuPageAfter(int after, int limit) {
+        List<MenuDTO> merged = mergeByCode(fanOut(() -> delegate.findMenuPageAfter(after, limit)));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    @Override
+    public List<CategoryDTO> findAllCategory() {
+        return ShardContext.callOn(0, delegate::findAllCategory);
+    }
+
+    @Override
+    public void registNewMenu(MenuDTO newMenu) {
+        ShardContext.runOn(shardStrategy.shardForNewMenu(newMenu),
+            () -> delegate.registNewMenu(newMenu));
+    }
+
+    @Override
+    public MenuDTO findMenuByCode(int code) {
+        int shard = shardStrategy.shardForCode(code);
+        if (shard != ShardStrategy.UNKNOWN) {
+            return ShardContext.callOn(shard, () -> delegate.findMenuByCode(code));
+        }
+
+        for (MenuDTO menu : fanOut(() -> delegate.findMenuByCode(code))) {
+            if (menu != null) {
+                return menu;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void updateMenu(MenuDTO menu) {
+        int shard = locate(menu.getCode());
+        if (shard != ShardStrategy.UNKNOWN) {
+            ShardContext.runOn(shard, () -> delegate.updateMenu(menu));
+        }
+    }
+
+    @Override
+    public void deleteMenuByCode(int code) {
+        int shard = locate(code);
+        if (shard != ShardStrategy.UNKNOWN) {
+            ShardContext.runOn(shard, () -> delegate.deleteMenuByCode(code));
+        }
+    }
+
+    /* 코드로 샤드를 알 수 없으면 모든 샤드에서 찾아 실제로 행이 있는 샤드를 반환한다. */
+    private int locate(int code) {
+        int shard = shardStrategy.shardForCode(code);
+        if (shard != ShardStrategy.UNKNOWN) {
+            return shard;
+        }
+
+        List<MenuDTO> found = fanOut(() -> delegate.findMenuByCode(code));
+        for (int i = 0; i < found.size(); i++) {
+            if (found.get(i) != null) {
+                return i;
+            }
+        }
+        return ShardStrategy.UNKNOWN;
+    }
+
+    /**
+     * 모든 샤드에서 같은 질의를 병렬로 실행하고, 샤드 번호 순서대로 결과를 모은다.
+     * 하나라도 실패하면 그 예외를 그대로 던진다.
+     *
+     * 요청 스레드에서 쿼리를 집계 중이면(QueryStatistics) 샤드 작업마다 따로 집계한 뒤 요청 스레드의 집계에 더한다.
+     * QueryStatistics 는 스레드 사이에서 공유하지 않으므로 작업 스레드가 요청의 집계를 직접 건드리지 않는다.
+     */
+    private <T> List<T> fanOut(Supplier<T> query) {
+        QueryStatistics statistics = QueryStatistics.current();
+        int shardCount = shardStrategy.getShardCount();
+        List<CompletableFuture<ShardResult<T>>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> query(target, query, statistics != null),
+                shardQueryExecutor));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<ShardResult<T>> future : futures) {
+                ShardResult<T> result = future.join();
+                if (statistics != null) {
+                    statistics.merge(result.statistics);
+                }
+                results.add(result.value);
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /* 작업 스레드에서 샤드 하나에 질의한다. collect 이면 이 작업에서 실행한 쿼리를 따로 집계해 함께 돌려준다. */
+    private static <T> ShardResult<T> query(int shard, Supplier<T> query, boolean collect) {
+        if (!collect) {
+            return new ShardResult<>(ShardContext.callOn(shard, query), null);
+        }
+        QueryStatistics.begin(null);
+        try {
+            T value = ShardContext.callOn(shard, query);
+            return new ShardResult<>(value, QueryStatistics.current());
+        } finally {
+            QueryStatistics.end();
+        }
+    }
+
+    /* 샤드별로 MENU_CODE 순 정렬된 목록들을 k-way 병합한다. */
+    static List<MenuDTO> mergeByCode(List<List<MenuDTO>> sortedLists) {
+        int total = 0;
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(
+            Comparator.comparing(PeekingIterator::peek, BY_CODE));
+        for (List<MenuDTO> list : sortedLists) {
+            total += list.size();
+            if (!list.isEmpty()) {
+                heads.add(new PeekingIterator(list.iterator()));
+            }
+        }
+
+        List<MenuDTO> merged = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            PeekingIterator head = heads.poll();
+            merged.add(head.next());
+            if (head.hasNext()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private static final class ShardResult<T> {
+
+        private final T value;
+        private final QueryStatistics statistics;
+
+        private ShardResult(T value, QueryStatistics statistics) {
+            this.value = value;
+            this.statistics = statistics;
+        }
+    }
+
+    private static final class PeekingIterator {
+
+        private final Iterator<MenuDTO> iterator;
+        private MenuDTO next;
+
+        private PeekingIterator(Iterator<MenuDTO> iterator) {
+            this.iterator = iterator;
+            this.next = iterator.next();
+        }
+
+        private MenuDTO peek() {
+            return next;
+        }
+
+        private boolean hasNext() {
+            return next != null;
+        }
+
+        private MenuDTO next() {
+            MenuDTO current = next;
+            next = iterator.hasNext() ? iterator.next() : null;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ohgiraffers.crud.menu.view;
+
+import static com.ohgiraffers.crud.common.compiledview.HtmlOutput.bytes;
+
+import com.ohgiraffers.crud.common.compiledview.CompiledView;
+import com.ohgiraffers.crud.common.compiledview.HtmlOutput;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/* templates/menu/detail.html 을 옮겨 적은 렌더러 */
+public class MenuDetailView extends CompiledView {
+
+    private static final byte[] BEFORE_CODE = bytes("<!DOCTYPE html>\n"
+        + "<html lang=\"en\">\n"
+        + "<head>\n"
+        + "  <meta charset=\"UTF-8\">\n"
+        + "  <title>메뉴 상세</title>\n"
+        + "</head>\n"
+        + "<body>\n"
+        + "  "
+        + MenuViewFragments.HEADER
+        + "\n"
+        + "  <div align=\"center\">\n"
+        + "    <h2>메뉴 상세 정보</h2>\n"
+        + "    <table border=\"1\" align=\"center\">\n"
+        + "      <tr>\n"
+        + "        <th>메뉴번호</th>\n"
+        + "        <td>");
+
+    private static final byte[] BEFORE_NAME = bytes("</td>\n"
+        + "      </tr>\n"
+        + "      <tr>\n"
+        + "        <th>메뉴이름</th>\n"
+        + "        <td>");
+
+    private static final byte[] BEFORE_PRICE = bytes("</td>\n"
+        + "      </tr>\n"
+        + "      <tr>\n"
+        + "        <th>메뉴가격</th>\n"
+        + "        <td>");
+
+    private static final byte[] BEFORE_CATEGORY = bytes("</td>\n"
+        + "      </tr>\n"
+        + "      <tr>\n"
+        + "        <th>카테고리</th>\n"
+        + "        <td>\n"
+        + "          ");
+
+    /* th:switch / th:case : 인덱스가 카테고리 코드, 범위를 벗어나면 th:case="*" */
+    private static final byte[][] CATEGORY_CASES = {
+        null,
+        bytes("<span>식사</span>"),
+        bytes("<span>음료</span>"),
+        bytes("<span>디저트</span>"),
+        bytes("<span>한식</span>"),
+        bytes("<span>중식</span>"),
+        bytes("<span>일식</span>"),
+        bytes("<span>퓨전</span>"),
+        bytes("<span>커파</span>"),
+        bytes("<span>쥬스</span>"),
+        bytes("<span>기타</span>"),
+        bytes("<span>동양</span>"),
+        bytes("<span>서양</span>")
+    };
+    private static final byte[] CATEGORY_DEFAULT = bytes("<span>잘못된값</span>");
+
+    private static final byte[] BEFORE_STATUS = bytes("\n"
+        + "        </td>\n"
+        + "      </tr>\n"
+        + "      <tr>\n"
+        + "        <th>판매상태</th>\n"
+        + "        <td>");
+
+    private static final byte[] BEFORE_EDIT_HREF = bytes("</td>\n"
+        + "      </tr>\n"
+        + "    </table>\n"
+        + "\n"
+        + "    <br>\n"
+        + "    <button onclick=\"location.href='/menu/list'\">목록으로</button>\n"
+        + "    <button>\n"
+        + "      <a href=\"");
+
+    private static final byte[] BEFORE_DELETE_HREF = bytes("\">수정</a>\n"
+        + "    </button>\n"
+        + "\n"
+        + "    <button>\n"
+        + "      <a href=\"");
+
+    private static final byte[] TAIL = bytes("\">\n"
+        + "        삭제\n"
+        + "      </a>\n"
+        + "    </button>\n"
+        + "  </div>\n"
+        + "\n"
+        + "</body>\n"
+        + "</html>");
+
+    @Override
+    protected void render(Map<String, ?> model, HttpServletRequest request,
+        HttpServletResponse response, HtmlOutput out) throws IOException {
+
+        MenuDTO menu = required(model, "menu", MenuDTO.class);
+        int categoryCode = menu.getCategoryCode();
+
+        out.write(BEFORE_CODE)
+            .number(menu.getCode())
+            .write(BEFORE_NAME)
+            .text(menu.getName())
+            .write(BEFORE_PRICE)
+            .number(menu.getPrice())
+            .write(BEFORE_CATEGORY)
+            .write(categoryCode > 0 && categoryCode < CATEGORY_CASES.length
+                ? CATEGORY_CASES[categoryCode]
+                : CATEGORY_DEFAULT)
+            .write(BEFORE_STATUS)
+            .text(menu.getOrderableStatus())
+            .write(BEFORE_EDIT_HREF)
+            .text(link(request, response, "/menu/edit/" + menu.getCode()))
+            .write(BEFORE_DELETE_HREF)
+            .text(link(request, response, "/menu/delete/" + menu.getCode()))
+            .write(TAIL);
+    }
+}
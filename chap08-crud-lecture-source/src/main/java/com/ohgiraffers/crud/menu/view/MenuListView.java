@@ -0,0 +1,98 @@
+package com.ohgiraffers.crud.menu.view;
+
+import static com.ohgiraffers.crud.common.compiledview.HtmlOutput.bytes;
+
+import com.ohgiraffers.crud.common.compiledview.CompiledView;
+import com.ohgiraffers.crud.common.compiledview.HtmlOutput;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/* templates/menu/list.html 을 옮겨 적은 렌더러 */
+public class MenuListView extends CompiledView {
+
+    private static final byte[] BEFORE_MESSAGE = bytes("<!DOCTYPE html>\n"
+        + "<html lang=\"en\">\n"
+        + "<head>\n"
+        + "  <meta charset=\"UTF-8\">\n"
+        + "  <title>Title</title>\n"
+        + "  <script>\n"
+        + "    const successMessage = `");
+
+    private static final byte[] AFTER_MESSAGE = bytes("`;\n"
+        + "    if (successMessage) {\n"
+        + "      alert(successMessage)\n"
+        + "    }\n"
+        + "  </script>\n"
+        + "</head>\n"
+        + "<body>\n"
+        + "  "
+        + MenuViewFragments.HEADER
+        + "\n"
+        + "  <table align=\"center\" border=\"1\">\n"
+        + "    <tr>\n"
+        + "      <th>메뉴번호</th>\n"
+        + "      <th>메뉴이룸</th>\n"
+        + "      <th>메뉴가격</th>\n"
+        + "      <th>카테고리코드</th>\n"
+        + "      <th>판메상태</th>\n"
+        + "    </tr>\n");
+
+    private static final byte[] ROW_BEFORE_HREF = bytes("    <tr>\n"
+        + "      <td>\n"
+        + "        <a href=\"");
+
+    private static final byte[] ROW_AFTER_HREF = bytes("\">");
+
+    private static final byte[] ROW_AFTER_CODE = bytes("</a>\n"
+        + "      </td>\n"
+        + "      <td>");
+
+    private static final byte[] CELL_SEPARATOR = bytes("</td>\n"
+        + "      <td>");
+
+    private static final byte[] ROW_END = bytes("</td>\n"
+        + "    </tr>\n");
+
+    private static final byte[] TAIL = bytes("  </table>\n"
+        + "  <br>\n"
+        + "\n"
+        + "  <div align=\"center\">\n"
+        + "    <button onclick=\"location.href='/menu/regist'\">신규 메뉴 등록</button>\n"
+        + "  </div>\n"
+        + "</body>\n"
+        + "</html>");
+
+    @Override
+    protected void render(Map<String, ?> model, HttpServletRequest request,
+        HttpServletResponse response, HtmlOutput out) throws IOException {
+
+        Object successMessage = model.get("successMessage");
+        out.write(BEFORE_MESSAGE)
+            .text(successMessage == null ? null : successMessage.toString())
+            .write(AFTER_MESSAGE);
+
+        /* menuList 는 List 또는 menu.list.render-mode=streaming 일 때의 지연 Iterable 이다. */
+        @SuppressWarnings("unchecked")
+        Iterable<MenuDTO> menuList = required(model, "menuList", Iterable.class);
+        for (MenuDTO menu : menuList) {
+            out.write(ROW_BEFORE_HREF)
+                .text(link(request, response, "/menu/detail/" + menu.getCode()))
+                .write(ROW_AFTER_HREF)
+                .number(menu.getCode())
+                .write(ROW_AFTER_CODE)
+                .text(menu.getName())
+                .write(CELL_SEPARATOR)
+                .number(menu.getPrice())
+                .write(CELL_SEPARATOR)
+                .number(menu.getCategoryCode())
+                .write(CELL_SEPARATOR)
+                .text(menu.getOrderableStatus())
+                .write(ROW_END);
+        }
+
+        out.write(TAIL);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ohgiraffers.crud.menu.view;
+
+/* 메뉴 렌더러들이 함께 쓰는 고정 조각 */
+final class MenuViewFragments {
+
+    /* templates/common/header.html (cache:replace 로 포함되는 내용 그대로) */
+    static final String HEADER = "<!DOCTYPE html>\n"
+        + "<html lang=\"en\">\n"
+        + "<head>\n"
+        + "  <meta charset=\"UTF-8\">\n"
+        + "  <title>Title</title>\n"
+        + "</head>\n"
+        + "<body>\n"
+        + "  <h1 align=\"center\" style=\"color: olivedrab\">Ohgiraffers MENU</h1>\n"
+        + "  <hr>\n"
+        + "\n"
+        + "</body>\n"
+        + "</html>";
+
+    private MenuViewFragments() {
+    }
+}
@@ -0,0 +1,47 @@
+-- 샤드 1 : MENU_CODE 가 (MENU_CODE - 1) % 3 = 1 인 메뉴를 보관한다.
+-- 카테고리는 모든 샤드에 같은 내용을 둔다.
+
+CREATE TABLE IF NOT EXISTS TBL_CATEGORY
+(
+    CATEGORY_CODE     INT PRIMARY KEY,
+    CATEGORY_NAME     VARCHAR(30) NOT NULL,
+    REF_CATEGORY_CODE INT
+);
+
+CREATE TABLE IF NOT EXISTS TBL_MENU
+(
+    MENU_CODE        INT GENERATED BY DEFAULT AS IDENTITY (START WITH 11 INCREMENT BY 3) PRIMARY KEY,
+    MENU_NAME        VARCHAR(30) NOT NULL,
+    MENU_PRICE       INT NOT NULL,
+    CATEGORY_CODE    INT NOT NULL,
+    ORDERABLE_STATUS CHAR(1) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS TBL_MENU_AUDIT
+(
+    AUDIT_CODE       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    MENU_CODE        INT NOT NULL,
+    AUDIT_ACTION     VARCHAR(10) NOT NULL,
+    MENU_NAME        VARCHAR(30),
+    MENU_PRICE       INT,
+    CATEGORY_CODE    INT,
+    ORDERABLE_STATUS CHAR(1),
+    AUDITED_AT       TIMESTAMP(3) NOT NULL
+);
+
+INSERT INTO TBL_CATEGORY VALUES (1, '식사', NULL);
+INSERT INTO TBL_CATEGORY VALUES (2, '음료', NULL);
+INSERT INTO TBL_CATEGORY VALUES (3, '디저트', NULL);
+INSERT INTO TBL_CATEGORY VALUES (4, '한식', 1);
+INSERT INTO TBL_CATEGORY VALUES (5, '중식', 1);
+INSERT INTO TBL_CATEGORY VALUES (6, '일식', 1);
+INSERT INTO TBL_CATEGORY VALUES (7, '퓨전', 1);
+INSERT INTO TBL_CATEGORY VALUES (8, '커피', 2);
+INSERT INTO TBL_CATEGORY VALUES (9, '쥬스', 2);
+INSERT INTO TBL_CATEGORY VALUES (10, '기타', 2);
+INSERT INTO TBL_CATEGORY VALUES (11, '동양', 3);
+INSERT INTO TBL_CATEGORY VALUES (12, '서양', 3);
+
+INSERT INTO TBL_MENU VALUES (2, '우럭스무디', 5000, 10, 'Y');
+INSERT INTO TBL_MENU VALUES (5, '앙버터김치찜', 13000, 4, 'Y');
+INSERT INTO TBL_MENU VALUES (8, '한우딸기국밥', 20000, 4, 'Y');
@@ -0,0 +1,105 @@
+package com.ohgiraffers.crud.menu.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.ohgiraffers.crud.common.compiledview.CompiledView;
+import com.ohgiraffers.crud.common.fragmentcache.FragmentCache;
+import com.ohgiraffers.crud.common.fragmentcache.FragmentCacheDialect;
+import com.ohgiraffers.crud.menu.model.dto.MenuDTO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+/**
+ * menu.view 의 Java 렌더러가 원본 템플릿과 같은 HTML 을 만드는지 확인한다.
+ * 같은 모델로 Thymeleaf 와 Java 렌더러를 각각 실행하고, 공백을 정규화한 결과를 비교한다.
+ * list.html, detail.html, common/header.html 을 고치고 렌더러를 고치지 않으면 이 테스트가 실패한다.
+ */
+class MenuCompiledViewParityTests {
+
+    private SpringTemplateEngine templateEngine;
+    private MockServletContext servletContext;
+    private JakartaServletWebApplication webApplication;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.addDialect(new FragmentCacheDialect(new FragmentCache(false, 1)));
+
+        servletContext = new MockServletContext();
+        webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+    }
+
+    @Test
+    void listMatchesTemplate() throws Exception {
+        List<MenuDTO> menuList = new ArrayList<>();
+        menuList.add(new MenuDTO(1, "열무김치라떼", 4500, 8, "Y"));
+        menuList.add(new MenuDTO(2, "<b>\"우럭\" & '스무디'</b>", 5000, 10, "N"));
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("menuList", menuList);
+        model.put("successMessage", "신규 메뉴 등록에 성공하셨습니다!");
+
+        assertSameHtml("menu/list", new MenuListView(), model);
+    }
+
+    @Test
+    void emptyListWithoutMessageMatchesTemplate() throws Exception {
+        assertSameHtml("menu/list", new MenuListView(), Map.of("menuList", List.of()));
+    }
+
+    @Test
+    void detailMatchesTemplateForEveryCategory() throws Exception {
+        for (int categoryCode = 0; categoryCode <= 13; categoryCode++) {
+            MenuDTO menu = new MenuDTO(7, "<생갈치> & '쉐이크'", 6000, categoryCode, "Y");
+            assertSameHtml("menu/detail", new MenuDetailView(), Map.of("menu", menu));
+        }
+    }
+
+    private void assertSameHtml(String viewName, CompiledView compiledView, Map<String, Object> model)
+        throws Exception {
+        assertEquals(normalize(renderThymeleaf(viewName, model)),
+            normalize(renderCompiled(compiledView, model)), viewName + " " + model);
+    }
+
+    private String renderThymeleaf(String viewName, Map<String, Object> model) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/" + viewName);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebContext context = new WebContext(webApplication.buildExchange(request, response), Locale.KOREA, model);
+        return templateEngine.process(viewName, context);
+    }
+
+    private String renderCompiled(CompiledView view, Map<String, Object> model) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response.getContentAsString();
+    }
+
+    /* 태그 사이 공백을 없애고 나머지 연속 공백은 하나로 줄인다. (th:each, th:case 가 남기는 줄바꿈 차이를 무시) */
+    private static String normalize(String html) {
+        return html.replaceAll("\\s+", " ")
+            .replaceAll(">\\s+<", "><")
+            .replaceAll("\\s+>", ">")
+            .trim();
+    }
+}
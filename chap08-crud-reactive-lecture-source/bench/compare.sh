@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+#
+# 블로킹(chap08-crud-lecture-source, 8001) 과 리액티브(chap08-crud-reactive-lecture-source, 8002)
+# 메뉴 API 의 처리량과 메모리 사용량을 같은 조건에서 비교한다.
+#
+# 준비
+#   - 두 애플리케이션이 같은 menudb 를 바라보도록 띄운다.
+#       (cd ../chap08-crud-lecture-source && ./gradlew bootRun)
+#       ./gradlew bootRun
+#   - wrk (https://github.com/wg/wrk) 가 PATH 에 있어야 한다.
+#
+# 사용법
+#   bench/compare.sh [동시 연결 수 ...]       예) bench/compare.sh 64 256 1024
+#
+# 환경 변수
+#   BLOCKING_URL   블로킹 앱 주소 (기본 http://localhost:8001)
+#   REACTIVE_URL   리액티브 앱 주소 (기본 http://localhost:8002)
+#   DURATION       부하 시간 (기본 30s)
+#   THREADS        wrk 스레드 수 (기본 4)
+#   MENU_CODE      상세 조회에 사용할 메뉴 코드 (기본 1)
+#
+# 결과는 엔드포인트/동시 연결 수마다 초당 요청 수, p99 지연, 부하 중 서버 프로세스의 최대 RSS 와 스레드 수를 출력한다.
+# 블로킹 앱의 /menu/list 는 HTML 을, 리액티브 앱은 NDJSON 을 내려주므로 목록은 응답 형식이 다르다는 점에 유의한다.
+
+set -euo pipefail
+
+BLOCKING_URL=${BLOCKING_URL:-http://localhost:8001}
+REACTIVE_URL=${REACTIVE_URL:-http://localhost:8002}
+DURATION=${DURATION:-30s}
+THREADS=${THREADS:-4}
+MENU_CODE=${MENU_CODE:-1}
+CONNECTIONS=("$@")
+if [[ ${#CONNECTIONS[@]} -eq 0 ]]; then
+  CONNECTIONS=(64 256 1024)
+fi
+
+command -v wrk > /dev/null || { echo "wrk 를 찾을 수 없습니다." >&2; exit 1; }
+
+# 포트를 점유한 프로세스 PID
+pid_of_port() {
+  local port=${1##*:}
+  port=${port%%/*}
+  lsof -t -iTCP:"$port" -sTCP:LISTEN 2> /dev/null | head -n 1
+}
+
+# 부하가 끝날 때까지 1초마다 RSS(KB) 와 스레드 수를 기록하고 최댓값을 출력한다.
+sample_process() {
+  local pid=$1 until_pid=$2 max_rss=0 max_threads=0 rss threads
+  while kill -0 "$until_pid" 2> /dev/null; do
+    read -r rss threads < <(ps -o rss=,nlwp= -p "$pid" || echo "0 0")
+    (( rss > max_rss )) && max_rss=$rss
+    (( threads > max_threads )) && max_threads=$threads
+    sleep 1
+  done
+  echo "$((max_rss / 1024)) $max_threads"
+}
+
+run() {
+  local name=$1 base=$2 path=$3 accept=$4 connections=$5
+  local pid out sample rps p99
+  pid=$(pid_of_port "$base")
+  if [[ -z "$pid" ]]; then
+    echo "$name: $base 에서 실행 중인 애플리케이션이 없습니다." >&2
+    return
+  fi
+
+  out=$(mktemp)
+  wrk -t"$THREADS" -c"$connections" -d"$DURATION" --latency -H "Accept: $accept" \
+    "$base$path" > "$out" &
+  local wrk_pid=$!
+  sample=$(sample_process "$pid" "$wrk_pid")
+  wait "$wrk_pid"
+
+  rps=$(awk '/Requests\/sec/ {print $2}' "$out")
+  p99=$(awk '$1 == "99%" {print $2}' "$out")
+  read -r rss threads <<< "$sample"
+  printf '%-9s %-16s %6s %12s %10s %10s %8s\n' \
+    "$name" "$path" "$connections" "$rps" "$p99" "${rss}MB" "$threads"
+  rm -f "$out"
+}
+
+printf '%-9s %-16s %6s %12s %10s %10s %8s\n' stack endpoint conns req/s p99 maxRSS threads
+for connections in "${CONNECTIONS[@]}"; do
+  run blocking "$BLOCKING_URL" /menu/category application/json "$connections"
+  run reactive "$REACTIVE_URL" /menu/category application/json "$connections"
+  run blocking "$BLOCKING_URL" "/menu/detail/$MENU_CODE" text/html "$connections"
+  run reactive "$REACTIVE_URL" "/menu/$MENU_CODE" application/json "$connections"
+  run blocking "$BLOCKING_URL" /menu/list text/html "$connections"
+  run reactive "$REACTIVE_URL" /menu/list application/x-ndjson "$connections"
+done
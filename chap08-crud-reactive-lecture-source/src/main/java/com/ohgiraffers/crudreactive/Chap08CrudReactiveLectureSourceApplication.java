@@ -0,0 +1,13 @@
+package com.ohgiraffers.crudreactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class Chap08CrudReactiveLectureSourceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(Chap08CrudReactiveLectureSourceApplication.class, args);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.ohgiraffers.crudreactive.menu.controller;
+
+import com.ohgiraffers.crudreactive.menu.model.dto.CategoryDTO;
+import com.ohgiraffers.crudreactive.menu.model.dto.MenuDTO;
+import com.ohgiraffers.crudreactive.menu.model.service.MenuService;
+import java.net.URI;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * chap08-crud-lecture-source 의 MenuController 와 같은 기능을 논블로킹으로 제공하는 REST API.
+ *
+ * /menu/list 는 Accept 헤더에 따라
+ * - application/x-ndjson : 한 줄에 메뉴 하나씩, 읽는 대로 바로 내려보낸다.
+ * - application/json     : JSON 배열로 내려보낸다 (이 역시 전체를 모으지 않고 원소 단위로 쓴다).
+ */
+@RestController
+@RequestMapping("/menu")
+public class MenuController {
+
+    private final MenuService menuService;
+
+    public MenuController(MenuService menuService) {
+        this.menuService = menuService;
+    }
+
+    @GetMapping(value = "/list",
+        produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<MenuDTO> findMenuList() {
+        return menuService.findAllMenu();
+    }
+
+    @GetMapping(value = "/category", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<CategoryDTO> findCategoryList() {
+        return menuService.findAllCategory();
+    }
+
+    @GetMapping("/{code}")
+    public Mono<ResponseEntity<MenuDTO>> findMenuByCode(@PathVariable("code") int code) {
+        return menuService.findMenuByCode(code)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<MenuDTO>> registMenu(@RequestBody MenuDTO newMenu) {
+        return menuService.registNewMenu(newMenu)
+            .map(menu -> ResponseEntity.created(URI.create("/menu/" + menu.getCode())).body(menu));
+    }
+
+    @PutMapping("/{code}")
+    public Mono<ResponseEntity<MenuDTO>> updateMenu(@PathVariable("code") int code,
+        @RequestBody MenuDTO updateMenu) {
+        updateMenu.setCode(code);
+        return menuService.updateMenu(updateMenu)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{code}")
+    public Mono<ResponseEntity<Void>> deleteMenu(@PathVariable("code") int code) {
+        return menuService.deleteMenuByCode(code)
+            .map(deleted -> deleted
+                ? ResponseEntity.noContent().<Void>build()
+                : ResponseEntity.notFound().<Void>build());
+    }
+}
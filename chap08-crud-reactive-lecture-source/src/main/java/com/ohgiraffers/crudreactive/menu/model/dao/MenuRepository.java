@@ -0,0 +1,150 @@
+package com.ohgiraffers.crudreactive.menu.model.dao;
+
+import com.ohgiraffers.crudreactive.menu.model.dto.CategoryDTO;
+import com.ohgiraffers.crudreactive.menu.model.dto.MenuDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * chap08-crud-lecture-source 의 MenuMapper.xml 과 같은 SQL 을 R2DBC 로 실행한다.
+ * 결과는 행 단위로 흘려보내므로, 구독자가 요청한 만큼만 DB 에서 읽어 온다.
+ */
+@Repository
+public class MenuRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public MenuRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<MenuDTO> findAllMenu() {
+        return databaseClient.sql("""
+                SELECT MENU_CODE
+                , MENU_NAME
+                , MENU_PRICE
+                , CATEGORY_CODE
+                , ORDERABLE_STATUS
+                FROM TBL_MENU
+                WHERE ORDERABLE_STATUS = 'Y'
+                ORDER BY MENU_CODE
+                """)
+            .map(MenuRepository::toMenu)
+            .all();
+    }
+
+    public Flux<CategoryDTO> findAllCategory() {
+        return databaseClient.sql("""
+                SELECT CATEGORY_CODE
+                , CATEGORY_NAME
+                , REF_CATEGORY_CODE
+                FROM TBL_CATEGORY
+                ORDER BY CATEGORY_CODE
+                """)
+            .map(MenuRepository::toCategory)
+            .all();
+    }
+
+    /**
+     * 새 메뉴를 등록하고 DB 가 발급한 MENU_CODE 를 반환한다.
+     *
+     * @param newMenu 등록할 메뉴
+     * @return 발급된 메뉴 코드
+     */
+    public Mono<Integer> registNewMenu(MenuDTO newMenu) {
+        return databaseClient.sql("""
+                INSERT INTO TBL_MENU
+                (
+                MENU_NAME
+                , MENU_PRICE
+                , CATEGORY_CODE
+                , ORDERABLE_STATUS
+                )
+                VALUES
+                (
+                :name
+                , :price
+                , :categoryCode
+                , :orderableStatus
+                )
+                """)
+            .bind("name", newMenu.getName())
+            .bind("price", newMenu.getPrice())
+            .bind("categoryCode", newMenu.getCategoryCode())
+            .bind("orderableStatus", newMenu.getOrderableStatus())
+            .filter(statement -> statement.returnGeneratedValues("MENU_CODE"))
+            .map(row -> row.get("MENU_CODE", Integer.class))
+            .one();
+    }
+
+    public Mono<MenuDTO> findMenuByCode(int code) {
+        return databaseClient.sql("""
+                SELECT MENU_CODE,
+                MENU_NAME,
+                MENU_PRICE,
+                CATEGORY_CODE,
+                ORDERABLE_STATUS
+                FROM TBL_MENU
+                WHERE MENU_CODE = :code
+                """)
+            .bind("code", code)
+            .map(MenuRepository::toMenu)
+            .one();
+    }
+
+    /**
+     * @return 수정된 행 수
+     */
+    public Mono<Long> updateMenu(MenuDTO menu) {
+        return databaseClient.sql("""
+                UPDATE TBL_MENU
+                SET
+                MENU_NAME = :name,
+                MENU_PRICE = :price,
+                CATEGORY_CODE = :categoryCode,
+                ORDERABLE_STATUS = :orderableStatus
+                WHERE
+                MENU_CODE = :code
+                """)
+            .bind("name", menu.getName())
+            .bind("price", menu.getPrice())
+            .bind("categoryCode", menu.getCategoryCode())
+            .bind("orderableStatus", menu.getOrderableStatus())
+            .bind("code", menu.getCode())
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * @return 삭제된 행 수
+     */
+    public Mono<Long> deleteMenuByCode(int code) {
+        return databaseClient.sql("""
+                DELETE FROM TBL_MENU
+                WHERE MENU_CODE = :code
+                """)
+            .bind("code", code)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    private static MenuDTO toMenu(Readable row) {
+        return new MenuDTO(
+            row.get("MENU_CODE", Integer.class),
+            row.get("MENU_NAME", String.class),
+            row.get("MENU_PRICE", Integer.class),
+            row.get("CATEGORY_CODE", Integer.class),
+            row.get("ORDERABLE_STATUS", String.class));
+    }
+
+    private static CategoryDTO toCategory(Readable row) {
+        Integer refCategoryCode = row.get("REF_CATEGORY_CODE", Integer.class);
+        return new CategoryDTO(
+            row.get("CATEGORY_CODE", Integer.class),
+            row.get("CATEGORY_NAME", String.class),
+            refCategoryCode == null ? 0 : refCategoryCode);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ohgiraffers.crudreactive.menu.model.service;
+
+import com.ohgiraffers.crudreactive.menu.model.dao.MenuRepository;
+import com.ohgiraffers.crudreactive.menu.model.dto.CategoryDTO;
+import com.ohgiraffers.crudreactive.menu.model.dto.MenuDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class MenuService {
+
+    private final MenuRepository menuRepository;
+    private final int listPrefetch;
+
+    public MenuService(MenuRepository menuRepository,
+        @Value("${menu.list.prefetch:64}") int listPrefetch) {
+        this.menuRepository = menuRepository;
+        this.listPrefetch = listPrefetch;
+    }
+
+    /**
+     * 판매 가능한 메뉴를 한 행씩 흘려보낸다.
+     * 클라이언트가 느리면 응답 쓰기가 밀리면서 요청량이 줄고, DB 에서도 prefetch 개수 이상은 미리 읽지 않는다.
+     */
+    public Flux<MenuDTO> findAllMenu() {
+        return menuRepository.findAllMenu().limitRate(listPrefetch);
+    }
+
+    public Flux<CategoryDTO> findAllCategory() {
+        return menuRepository.findAllCategory();
+    }
+
+    public Mono<MenuDTO> findMenuByCode(int code) {
+        return menuRepository.findMenuByCode(code);
+    }
+
+    @Transactional
+    public Mono<MenuDTO> registNewMenu(MenuDTO newMenu) {
+        return menuRepository.registNewMenu(newMenu)
+            .map(code -> {
+                newMenu.setCode(code);
+                return newMenu;
+            });
+    }
+
+    /**
+     * @return 수정된 메뉴, 해당 코드의 메뉴가 없으면 비어 있는 Mono
+     */
+    @Transactional
+    public Mono<MenuDTO> updateMenu(MenuDTO menu) {
+        return menuRepository.updateMenu(menu)
+            .filter(updated -> updated > 0)
+            .map(updated -> menu);
+    }
+
+    /**
+     * @return 삭제되었으면 true, 해당 코드의 메뉴가 없으면 false
+     */
+    @Transactional
+    public Mono<Boolean> deleteMenuByCode(int code) {
+        return menuRepository.deleteMenuByCode(code)
+            .map(deleted -> deleted > 0);
+    }
+}
@@ -0,0 +1,22 @@
+INSERT INTO TBL_CATEGORY VALUES (1, '식사', NULL);
+INSERT INTO TBL_CATEGORY VALUES (2, '음료', NULL);
+INSERT INTO TBL_CATEGORY VALUES (3, '디저트', NULL);
+INSERT INTO TBL_CATEGORY VALUES (4, '한식', 1);
+INSERT INTO TBL_CATEGORY VALUES (5, '중식', 1);
+INSERT INTO TBL_CATEGORY VALUES (6, '일식', 1);
+INSERT INTO TBL_CATEGORY VALUES (7, '퓨전', 1);
+INSERT INTO TBL_CATEGORY VALUES (8, '커피', 2);
+INSERT INTO TBL_CATEGORY VALUES (9, '쥬스', 2);
+INSERT INTO TBL_CATEGORY VALUES (10, '기타', 2);
+INSERT INTO TBL_CATEGORY VALUES (11, '동양', 3);
+INSERT INTO TBL_CATEGORY VALUES (12, '서양', 3);
+
+INSERT INTO TBL_MENU (MENU_NAME, MENU_PRICE, CATEGORY_CODE, ORDERABLE_STATUS) VALUES ('열무김치라떼', 4500, 8, 'Y');
+INSERT INTO TBL_MENU (MENU_NAME, MENU_PRICE, CATEGORY_CODE, ORDERABLE_STATUS) VALUES ('우럭스무디', 5000, 10, 'Y');
+INSERT INTO TBL_MENU (MENU_NAME, MENU_PRICE, CATEGORY_CODE, ORDERABLE_STATUS) VALUES ('생갈치쉐이크', 6000, 10, 'Y');
+INSERT INTO TBL_MENU (MENU_NAME, MENU_PRICE, CATEGORY_CODE, ORDERABLE_STATUS) VALUES ('갈릭미역파르페', 7000, 10, 'Y');
+INSERT INTO TBL_MENU (MENU_NAME, MENU_PRICE, CATEGORY_CODE, ORDERABLE_STATUS) VALUES ('앙버터김치찜', 13000, 4, 'Y');
+INSERT INTO TBL_MENU (MENU_NAME, MENU_PRICE, CATEGORY_CODE, ORDERABLE_STATUS) VALUES ('생마늘샐러드', 12000, 4, 'Y');
+INSERT INTO TBL_MENU (MENU_NAME, MENU_PRICE, CATEGORY_CODE, ORDERABLE_STATUS) VALUES ('민트미역국', 15000, 4, 'Y');
+INSERT INTO TBL_MENU (MENU_NAME, MENU_PRICE, CATEGORY_CODE, ORDERABLE_STATUS) VALUES ('한우딸기국밥', 20000, 4, 'Y');
+INSERT INTO TBL_MENU (MENU_NAME, MENU_PRICE, CATEGORY_CODE, ORDERABLE_STATUS) VALUES ('홍어마카롱', 9000, 6, 'Y');
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS TBL_CATEGORY
+(
+    CATEGORY_CODE     INT AUTO_INCREMENT PRIMARY KEY,
+    CATEGORY_NAME     VARCHAR(30) NOT NULL,
+    REF_CATEGORY_CODE INT
+);
+
+CREATE TABLE IF NOT EXISTS TBL_MENU
+(
+    MENU_CODE        INT AUTO_INCREMENT PRIMARY KEY,
+    MENU_NAME        VARCHAR(30) NOT NULL,
+    MENU_PRICE       INT NOT NULL,
+    CATEGORY_CODE    INT NOT NULL,
+    ORDERABLE_STATUS CHAR(1) NOT NULL
+);
@@ -0,0 +1,13 @@
+package com.ohgiraffers.crudreactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class Chap08CrudReactiveLectureSourceApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+
+}